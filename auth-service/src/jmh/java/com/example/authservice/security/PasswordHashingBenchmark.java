@@ -0,0 +1,73 @@
+package com.example.authservice.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt cost 별 로그인(비밀번호 검증) 처리량. password-hashing.strength 를 정할 때의 기준값이다.
+ * <ul>
+ *   <li>loginPerCore: 스레드 하나의 ops/s, 곧 코어당 초당 로그인 수</li>
+ *   <li>loginThroughPool: 코어 수만큼의 호출 스레드가 {@link BoundedPasswordEncoder} 를 거칠 때 전체 ops/s.
+ *       코어 수로 나눈 값이 loginPerCore 와 비슷하면 풀 전달 비용은 무시할 만하다</li>
+ * </ul>
+ * <pre>
+ * ./gradlew :auth-service:jmh
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10", "11", "12", "13"})
+    public int cost;
+
+    private BCryptPasswordEncoder encoder;
+    private BoundedPasswordEncoder pool;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(cost);
+        int cores = Runtime.getRuntime().availableProcessors();
+        pool = new BoundedPasswordEncoder(cost, cores, cores * 4, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean loginPerCore() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean loginThroughPool() {
+        return pool.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.authservice.cleanup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * job_leases 테이블 기반 리스. 만료 시각이 지났거나 이미 자신이 가진 리스만 조건부 UPDATE 로 가져가므로
+ * 여러 인스턴스 중 하나만 작업을 실행한다. 시각 비교는 DB 시계를 사용해 인스턴스 간 시계 차이의 영향을 받지 않는다.
+ */
+@RequiredArgsConstructor
+public class JobLease {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void createTableIfNotExists() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS job_leases (" +
+                "name VARCHAR(100) PRIMARY KEY, " +
+                "owner VARCHAR(255), " +
+                "lease_until TIMESTAMP NULL)");
+    }
+
+    /**
+     * @return 리스를 얻었으면 true
+     */
+    public boolean tryAcquire(String name, String owner, Duration duration) {
+        jdbcTemplate.update("INSERT IGNORE INTO job_leases (name, owner, lease_until) VALUES (?, NULL, NULL)", name);
+        return renew(name, owner, duration);
+    }
+
+    /**
+     * @return 아직 자신이 리스를 갖고 있어 연장했으면 true (만료되어 다른 인스턴스가 가져갔으면 false)
+     */
+    public boolean renew(String name, String owner, Duration duration) {
+        return jdbcTemplate.update(
+                "UPDATE job_leases SET owner = ?, lease_until = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP) " +
+                "WHERE name = ? AND (owner = ? OR lease_until IS NULL OR lease_until < CURRENT_TIMESTAMP)",
+                owner, duration.getSeconds(), name, owner) == 1;
+    }
+
+    /**
+     * 작업이 끝나도 리스를 hold 동안 더 잡아 둔다. 바로 비우면 실행이 짧을 때 스케줄 시각이 조금 늦은 다른 인스턴스가
+     * 같은 회차를 다시 실행한다. hold 가 0 이면 즉시 다른 인스턴스가 가져갈 수 있다.
+     */
+    public void release(String name, String owner, Duration hold) {
+        jdbcTemplate.update(
+                "UPDATE job_leases SET lease_until = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP) WHERE name = ? AND owner = ?",
+                Math.max(0, hold.getSeconds()), name, owner);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.authservice.cleanup;
+
+import com.example.authservice.config.RefreshTokenProperties;
+import com.example.authservice.config.TokenCleanupProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 만료 세션 정리 작업. 엔티티를 메모리에 올리지 않고 LIMIT 을 건 UPDATE/DELETE 를 청크 단위로 반복하며,
+ * 각 청크는 자동 커밋되어 락을 짧게 잡는다. 여러 인스턴스 중 job_leases 리스를 얻은 하나만 실행한다.
+ * <ol>
+ *   <li>refresh token 이 만료된 ACTIVE 세션 → EXPIRED</li>
+ *   <li>보관 기간이 지난 교체된 refresh token digest 삭제</li>
+ *   <li>refresh token 만료 후 보관 기간이 지난 종료 세션 삭제</li>
+ * </ol>
+ */
+@Slf4j
+@Component
+public class TokenCleanupJob {
+    public static final String METRIC_NAME = "auth.cleanup";
+
+    private static final String LEASE_NAME = "auth-token-cleanup";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLease jobLease;
+    private final TokenCleanupProperties properties;
+    private final RefreshTokenProperties refreshTokenProperties;
+    private final String owner;
+    private final CronExpression schedule;
+    private final Counter expiredSessions;
+    private final Counter deletedHistory;
+    private final Counter deletedSessions;
+    private final Counter chunks;
+    private final Timer duration;
+    private final AtomicLong lastSuccessEpochSeconds = new AtomicLong();
+
+    public TokenCleanupJob(JdbcTemplate jdbcTemplate, TokenCleanupProperties properties,
+                           RefreshTokenProperties refreshTokenProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobLease = new JobLease(jdbcTemplate);
+        this.properties = properties;
+        this.refreshTokenProperties = refreshTokenProperties;
+        this.owner = hostName() + "-" + UUID.randomUUID();
+        this.schedule = CronExpression.parse(properties.getCron());
+        this.expiredSessions = Counter.builder(METRIC_NAME + ".rows").tag("step", "expire-sessions").register(meterRegistry);
+        this.deletedHistory = Counter.builder(METRIC_NAME + ".rows").tag("step", "delete-token-history").register(meterRegistry);
+        this.deletedSessions = Counter.builder(METRIC_NAME + ".rows").tag("step", "delete-sessions").register(meterRegistry);
+        this.chunks = Counter.builder(METRIC_NAME + ".chunks").register(meterRegistry);
+        this.duration = Timer.builder(METRIC_NAME + ".duration").register(meterRegistry);
+        meterRegistry.gauge(METRIC_NAME + ".last.success", lastSuccessEpochSeconds);
+        jobLease.createTableIfNotExists();
+    }
+
+    @Scheduled(cron = "${auth.cleanup.cron:0 0 0 * * *}") // Run at midnight every day
+    public void run() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!jobLease.tryAcquire(LEASE_NAME, owner, properties.getLeaseDuration())) {
+            log.debug("Token cleanup is running on another instance");
+            return;
+        }
+        log.info("Starting expired tokens cleanup");
+        Timer.Sample sample = Timer.start();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Timestamp nowTs = Timestamp.valueOf(now);
+            long expired = runChunks("expire-sessions", expiredSessions,
+                    "UPDATE auth SET status = 'EXPIRED' WHERE status = 'ACTIVE' AND token_expiry_date < ? LIMIT ?", nowTs);
+            long history = runChunks("delete-token-history", deletedHistory,
+                    "DELETE FROM refresh_token_history WHERE rotated_at < ? LIMIT ?",
+                    Timestamp.valueOf(now.minus(refreshTokenProperties.getHistoryRetention())));
+            long sessions = runChunks("delete-sessions", deletedSessions,
+                    "DELETE FROM auth WHERE status IN ('LOGGED_OUT', 'EXPIRED', 'REVOKED') AND token_expiry_date < ? LIMIT ?",
+                    Timestamp.valueOf(now.minus(properties.getDeadSessionRetention())));
+            lastSuccessEpochSeconds.set(System.currentTimeMillis() / 1000);
+            log.info("Expired tokens cleanup completed. {} sessions expired, {} rotated token hashes and {} ended sessions deleted",
+                    expired, history, sessions);
+        } catch (CleanupAbortedException e) {
+            log.warn("Token cleanup stopped: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error during expired tokens cleanup", e);
+        } finally {
+            sample.stop(duration);
+            jobLease.release(LEASE_NAME, owner, holdUntilNextRun(schedule, LocalDateTime.now(), properties.getReleaseMargin()));
+        }
+    }
+
+    /**
+     * 영향받은 행이 청크 크기보다 적을 때까지 같은 문장을 반복한다. 청크마다 리스를 연장하고 잠시 쉰다.
+     */
+    private long runChunks(String step, Counter counter, String sql, Timestamp threshold) {
+        long total = 0;
+        while (true) {
+            int affected = jdbcTemplate.update(sql, threshold, properties.getChunkSize());
+            total += affected;
+            counter.increment(affected);
+            chunks.increment();
+            if (affected < properties.getChunkSize()) {
+                return total;
+            }
+            log.debug("Token cleanup {}: {} rows so far", step, total);
+            if (!jobLease.renew(LEASE_NAME, owner, properties.getLeaseDuration())) {
+                throw new CleanupAbortedException("lease taken over during " + step + " after " + total + " rows");
+            }
+            pause();
+        }
+    }
+
+    /**
+     * 이번 회차를 늦게 시작한 인스턴스가 다시 실행하지 않도록, 다음 실행 시각에서 margin 을 뺀 때까지 리스를 유지한다.
+     */
+    static Duration holdUntilNextRun(CronExpression schedule, LocalDateTime now, Duration margin) {
+        LocalDateTime next = schedule.next(now);
+        if (next == null) {
+            return Duration.ZERO;
+        }
+        Duration hold = Duration.between(now, next).minus(margin);
+        return hold.isNegative() ? Duration.ZERO : hold;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.getPause().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CleanupAbortedException("interrupted");
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+
+    private static class CleanupAbortedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        CleanupAbortedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.authservice.config;
+
+import com.example.authservice.service.FileStorageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(FileStorageProperties.class)
+public class FileStorageConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public FileStorageService fileStorageService(FileStorageProperties properties, MeterRegistry meterRegistry) {
+        return new FileStorageService(properties, meterRegistry);
+    }
+}
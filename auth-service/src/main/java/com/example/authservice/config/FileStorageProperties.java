@@ -0,0 +1,20 @@
+package com.example.authservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "file")
+public class FileStorageProperties {
+    private String uploadDir = "./uploads";
+    private List<String> allowedExtensions = List.of("jpg", "jpeg", "png", "gif");
+    private List<Integer> thumbnailSizes = List.of(64, 256);   // 긴 변 기준 픽셀
+    private int thumbnailThreads = 2;
+    private int thumbnailQueueCapacity = 100;                   // 가득 차면 썸네일 생성을 건너뛰고 원본을 제공
+    private Duration cacheMaxAge = Duration.ofDays(365);        // 내용 주소 파일은 바뀌지 않으므로 길게 캐시
+}
@@ -0,0 +1,18 @@
+package com.example.authservice.config;
+
+import com.example.authservice.throttle.LoginAttemptStore;
+import com.example.authservice.throttle.LoginThrottle;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@EnableConfigurationProperties(LoginThrottleProperties.class)
+public class LoginThrottleConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public LoginThrottle loginThrottle(LoginThrottleProperties properties, JdbcTemplate jdbcTemplate) {
+        return new LoginThrottle(properties, new LoginAttemptStore(jdbcTemplate));
+    }
+}
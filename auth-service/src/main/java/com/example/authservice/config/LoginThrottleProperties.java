@@ -0,0 +1,21 @@
+package com.example.authservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "auth.login-throttle")
+public class LoginThrottleProperties {
+    private int emailMaxFailures = 5;
+    private Duration emailWindow = Duration.ofMinutes(15);
+    private int ipMaxFailures = 50;                    // 한 IP 에서 여러 계정을 시도하는 credential stuffing 차단
+    private Duration ipWindow = Duration.ofMinutes(5);
+    private int maxTrackedKeys = 100_000;              // 이메일, IP 각각. 넘치면 가장 오래 전에 실패한 키부터 내보낸다
+    private Duration flushInterval = Duration.ofSeconds(5);
+    private int flushBatchSize = 500;
+    private int trustedProxies = 1;                    // X-Forwarded-For 를 덧붙이는 신뢰 프록시 수 (게이트웨이, LB). 0 이면 헤더를 무시한다
+}
@@ -0,0 +1,22 @@
+package com.example.authservice.config;
+
+import com.example.authservice.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PasswordHashingProperties.class)
+public class PasswordHashingConfig {
+
+    /**
+     * common-lib 의 기본 BCryptPasswordEncoder 대신 사용된다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(properties.getStrength(), threads, properties.getQueueCapacity(),
+                properties.getTimeout(), meterRegistry);
+    }
+}
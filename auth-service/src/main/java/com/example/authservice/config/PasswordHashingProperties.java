@@ -0,0 +1,17 @@
+package com.example.authservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "auth.password-hashing")
+public class PasswordHashingProperties {
+    private int strength = 10;                      // BCrypt cost, 바꾸면 다음 로그인 시 재해시된다
+    private int threads = 0;                        // 0 이면 CPU 코어 수
+    private int queueCapacity = 64;                 // 가득 차면 기다리지 않고 503 으로 거절
+    private Duration timeout = Duration.ofSeconds(5);
+}
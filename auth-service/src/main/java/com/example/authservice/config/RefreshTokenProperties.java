@@ -0,0 +1,16 @@
+package com.example.authservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "auth.refresh-token")
+public class RefreshTokenProperties {
+    private Duration historyRetention = Duration.ofDays(1);   // 교체된 토큰 digest 를 재사용 탐지용으로 보관하는 기간
+}
@@ -0,0 +1,22 @@
+package com.example.authservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "auth.cleanup")
+public class TokenCleanupProperties {
+    private boolean enabled = true;
+    private String cron = "0 0 0 * * *";                        // @Scheduled 와 같은 값, 끝난 뒤 리스를 잡아 둘 시간 계산용
+    private int chunkSize = 1_000;                              // UPDATE/DELETE 한 번에 처리하는 최대 행 수
+    private Duration pause = Duration.ofMillis(100);            // 청크 사이 대기, 다른 트랜잭션에 락과 I/O 를 양보
+    private Duration leaseDuration = Duration.ofMinutes(10);    // 청크마다 연장, 실행 인스턴스가 죽으면 이 시간 후 다른 인스턴스가 가져감
+    private Duration releaseMargin = Duration.ofMinutes(1);     // 끝난 뒤 다음 실행 시각보다 이만큼 앞까지 리스 유지 (인스턴스 간 시계 차이 흡수)
+    private Duration deadSessionRetention = Duration.ofDays(30); // 종료된 세션 행을 refresh token 만료 후 보관하는 기간
+}
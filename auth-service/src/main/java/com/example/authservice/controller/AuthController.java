@@ -1,5 +1,6 @@
 package com.example.authservice.controller;
 
+import com.example.authservice.config.LoginThrottleProperties;
 import com.example.authservice.dto.LoginRequest;
 import com.example.authservice.dto.RefreshTokenRequest;
 import com.example.authservice.dto.TokenResponse;
@@ -9,8 +10,11 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -18,11 +22,25 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginThrottleProperties loginThrottleProperties;
 
     @Operation(summary = "로그인", description = "사용자 로그인을 수행합니다.")
     @PostMapping("/login")
-    public ResponseEntity<TokenResponse> login(@RequestBody LoginRequest loginRequest) {
-        return ResponseEntity.ok(authService.login(loginRequest));
+    public ResponseEntity<TokenResponse> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        return ResponseEntity.ok(authService.login(loginRequest, clientIp(request, loginThrottleProperties.getTrustedProxies())));
+    }
+
+    /**
+     * 신뢰 프록시는 각자 직접 본 주소를 X-Forwarded-For 끝에 덧붙이므로, 뒤에서 trustedProxies 번째 값이 클라이언트 주소다.
+     * 그보다 앞쪽 값은 클라이언트가 임의로 넣을 수 있으므로 신뢰하지 않는다. 헤더가 더 짧으면 가장 앞 값을 쓴다.
+     */
+    static String clientIp(HttpServletRequest request, int trustedProxies) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (trustedProxies <= 0 || !StringUtils.hasText(forwardedFor)) {
+            return request.getRemoteAddr();
+        }
+        String[] hops = forwardedFor.split(",");
+        return hops[Math.max(0, hops.length - trustedProxies)].trim();
     }
 
     @Operation(summary = "토큰 갱신", description = "Refresh 토큰을 사용하여 새로운 Access 토큰을 발급받습니다.")
@@ -0,0 +1,172 @@
+package com.example.authservice.controller;
+
+import com.example.authservice.config.FileStorageProperties;
+import com.example.authservice.service.FileStorageService;
+import com.example.authservice.service.StoredFile;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 저장된 파일 다운로드. 파일 이름이 내용 해시라 내용이 바뀌지 않으므로 강한 ETag 와 긴 캐시 수명을 준다.
+ * 본문은 힙을 거치지 않고 Tomcat sendfile 로, 지원되지 않으면 FileChannel.transferTo 로 보낸다.
+ */
+@RestController
+@RequestMapping("/api/files")
+@RequiredArgsConstructor
+@Tag(name = "File", description = "파일 다운로드 API")
+public class FileController {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String BYTES_UNIT = "bytes=";
+    static final long[] UNSATISFIABLE = new long[0];
+
+    private final FileStorageService fileStorageService;
+    private final FileStorageProperties properties;
+
+    @Operation(summary = "파일 다운로드", description = "저장된 파일을 내려받습니다. 단일 Range 요청과 ETag 조건부 요청을 지원합니다.")
+    @GetMapping("/{fileName:.+}")
+    public void download(
+            @Parameter(description = "저장된 파일 이름") @PathVariable String fileName,
+            @Parameter(description = "썸네일 크기 (긴 변 픽셀)") @RequestParam(required = false) Integer size,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StoredFile file = fileStorageService.resolve(fileName, size)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found: " + fileName));
+
+        response.setHeader(HttpHeaders.ETAG, file.getEtag());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, file.isImmutable()
+                ? "public, max-age=" + properties.getCacheMaxAge().getSeconds() + ", immutable"
+                : "public, no-cache");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), file.getEtag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long length = file.getLength();
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // If-Range 가 현재 ETag 와 다르면 Range 를 무시하고 전체를 보낸다
+        if (range != null && (ifRange == null || ifRange.trim().equals(file.getEtag()))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == UNSATISFIABLE) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            if (bounds != null) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        response.setContentType(file.getContentType());
+        response.setContentLengthLong(end - start + 1);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        send(file, start, end - start + 1, request, response);
+    }
+
+    private static void send(StoredFile file, long position, long count,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (count <= 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 핸들러가 끝나면 Tomcat 이 커널 sendfile 로 파일을 소켓에 직접 쓴다 (end 는 배타적)
+            request.setAttribute(SENDFILE_FILENAME, file.getPath().toString());
+            request.setAttribute(SENDFILE_START, position);
+            request.setAttribute(SENDFILE_END, position + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long sent = 0;
+            while (sent < count) {
+                long transferred = channel.transferTo(position + sent, count - sent, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                sent += transferred;
+            }
+        }
+    }
+
+    /**
+     * 단일 범위만 지원한다. 여러 범위나 해석할 수 없는 헤더는 null 을 돌려 전체 응답으로 처리한다.
+     *
+     * @return {start, end} (end 포함), 만족할 수 없는 범위면 UNSATISFIABLE
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith(BYTES_UNIT) || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring(BYTES_UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(spec.substring(0, dash));
+            long end = dash == spec.length() - 1 ? length - 1 : Long.parseLong(spec.substring(dash + 1));
+            if (start >= length) {
+                return UNSATISFIABLE;
+            }
+            if (end < start) {
+                return null;
+            }
+            return new long[]{start, Math.min(end, length - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // If-None-Match 는 약한 비교를 쓴다
+    private static boolean etagMatches(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.authservice.controller;
+
+import com.example.commonlib.security.JwtSigningKeys;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "JWKS", description = "JWT 검증 공개 키 API")
+public class JwksController {
+
+    private final JwtSigningKeys jwtSigningKeys;
+
+    @Operation(summary = "JWKS 조회", description = "RS256 토큰 검증에 사용하는 공개 키 목록을 반환합니다.")
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                .body(jwtSigningKeys.toJwks());
+    }
+}
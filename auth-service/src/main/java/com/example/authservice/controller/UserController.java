@@ -3,7 +3,10 @@ package com.example.authservice.controller;
 import com.example.authservice.dto.PasswordChangeRequest;
 import com.example.authservice.dto.UserCreateRequest;
 import com.example.authservice.dto.UserDto;
+import com.example.authservice.dto.UserPageResponse;
+import com.example.authservice.dto.UserSearchCondition;
 import com.example.authservice.dto.UserUpdateRequest;
+import com.example.authservice.service.UserImportService;
 import com.example.authservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,12 +14,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/users")
@@ -24,13 +31,41 @@ import java.util.List;
 @Tag(name = "User Management", description = "사용자 관리 API")
 @SecurityRequirement(name = "bearerAuth")
 public class UserController {
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
     private final UserService userService;
+    private final UserImportService userImportService;
 
-    @Operation(summary = "전체 사용자 조회", description = "모든 사용자 정보를 조회합니다. (관리자 전용)")
+    @Operation(summary = "사용자 목록 조회", description = "조건에 맞는 사용자를 id 순으로 페이지 조회합니다. 다음 페이지는 nextCursor 를 after 로 전달합니다. (관리자 전용)")
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<UserPageResponse> getAllUsers(
+            UserSearchCondition condition,
+            @Parameter(description = "이전 페이지의 nextCursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "페이지 크기 (최대 200)") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.getUsers(condition, after, size));
+    }
+
+    @Operation(summary = "사용자 일괄 가져오기", description = "CSV(text/csv, 헤더 행 필요) 또는 NDJSON 본문의 사용자를 일괄 생성하고 행별 결과를 NDJSON 으로 스트리밍합니다. (관리자 전용)")
+    @PostMapping(value = "/import", consumes = {CSV, NDJSON}, produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        response.setContentType(NDJSON);
+        userImportService.importUsers(request.getInputStream(), format, response.getOutputStream());
+    }
+
+    @Operation(summary = "사용자 내보내기", description = "조건에 맞는 모든 사용자를 NDJSON 으로 스트리밍합니다. (관리자 전용)")
+    @GetMapping(value = "/export", produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportUsers(UserSearchCondition condition, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"");
+        userService.exportUsers(condition, response.getOutputStream());
     }
 
     @Operation(summary = "사용자 조회", description = "특정 사용자의 정보를 조회합니다.")
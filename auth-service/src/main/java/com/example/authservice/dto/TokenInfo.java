@@ -1,5 +1,7 @@
 package com.example.authservice.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.Data;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
@@ -10,6 +12,7 @@ import lombok.AllArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class TokenInfo {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long userId;
     private String username;
     private String[] roles;
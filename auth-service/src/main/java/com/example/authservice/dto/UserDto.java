@@ -1,6 +1,8 @@
 package com.example.authservice.dto;
 
 import com.example.authservice.model.AccountStatus;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,6 +19,7 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private String email;
     private String name;
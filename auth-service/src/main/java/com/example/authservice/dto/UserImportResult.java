@@ -0,0 +1,30 @@
+package com.example.authservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일괄 가져오기의 행별 결과. row 는 헤더를 제외한 1부터의 데이터 행 번호이다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResult {
+    private int row;
+    private String email;
+    private Status status;
+    private String message;
+
+    public enum Status {
+        CREATED,
+        EXISTS,     // 이미 가입된 이메일
+        DUPLICATE,  // 같은 파일의 앞선 행과 이메일이 같음
+        INVALID,
+        FAILED
+    }
+}
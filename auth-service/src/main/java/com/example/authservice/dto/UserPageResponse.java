@@ -0,0 +1,23 @@
+package com.example.authservice.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * keyset 페이지. 다음 페이지는 nextCursor 를 after 로 넘겨 요청한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+    private List<UserDto> users;
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long nextCursor;    // 마지막 페이지면 null
+}
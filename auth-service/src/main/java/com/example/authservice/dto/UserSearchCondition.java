@@ -0,0 +1,28 @@
+package com.example.authservice.dto;
+
+import com.example.authservice.model.AccountStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관리자 사용자 목록/내보내기 필터. 비어 있는 조건은 적용하지 않는다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchCondition {
+    private AccountStatus status;
+    private String role;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;     // 포함
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;       // 제외
+}
@@ -1,39 +1,50 @@
 package com.example.authservice.model;
 
+import com.example.commonlib.id.TsidIdentifierGenerator;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "auth")
+@Table(name = "auth", indexes = @Index(name = "idx_auth_status_expiry", columnList = "status, token_expiry_date"))
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Auth {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TsidIdentifierGenerator.NAME)
+    @GenericGenerator(name = TsidIdentifierGenerator.NAME, strategy = TsidIdentifierGenerator.STRATEGY)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false, unique = true)
-    private String refreshToken;
+    // refresh token 의 SHA-256 digest, 갱신 시 같은 행에서 교체된다
+    @Column(name = "refresh_token_hash", nullable = false, unique = true, columnDefinition = "BINARY(32)")
+    private byte[] refreshTokenHash;
 
-    @Column(nullable = false)
+    @Column(name = "token_expiry_date", nullable = false)
     private LocalDateTime tokenExpiryDate;
 
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     private AuthStatus status;
 
+    // 이 세션에서 마지막으로 발급한 access token, 로그아웃 시 만료 전에 폐기한다
+    @Column(name = "access_token_id", length = 36)
+    private String accessTokenId;
+
+    @Column(name = "access_token_expires_at")
+    private Long accessTokenExpiresAt;
+
     @Column(name = "last_login_at")
     private LocalDateTime lastLoginAt;
 
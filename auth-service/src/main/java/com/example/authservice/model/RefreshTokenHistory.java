@@ -0,0 +1,38 @@
+package com.example.authservice.model;
+
+import com.example.commonlib.id.TsidIdentifierGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 교체되어 더 이상 유효하지 않은 refresh token digest. 다시 제시되면 토큰이 탈취된 것으로 보고 세션을 폐기한다.
+ * 재사용 탐지에 필요한 짧은 기간만 보관한다.
+ */
+@Entity
+@Table(name = "refresh_token_history", indexes = @Index(name = "idx_refresh_token_history_rotated_at", columnList = "rotated_at"))
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshTokenHistory {
+    @Id
+    @GeneratedValue(generator = TsidIdentifierGenerator.NAME)
+    @GenericGenerator(name = TsidIdentifierGenerator.NAME, strategy = TsidIdentifierGenerator.STRATEGY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
+
+    @Column(name = "auth_id", nullable = false)
+    private Long authId;
+
+    @Column(name = "rotated_at", nullable = false)
+    private LocalDateTime rotatedAt;
+}
@@ -1,5 +1,7 @@
 package com.example.authservice.model;
 
+import com.example.authservice.service.RoleChangeListener;
+
 import javax.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,6 +14,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Entity
 @Table(name = "roles")
+@EntityListeners(RoleChangeListener.class)
 public class Role {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
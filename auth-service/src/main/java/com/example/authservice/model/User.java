@@ -1,10 +1,13 @@
 package com.example.authservice.model;
 
+import com.example.commonlib.id.TsidIdentifierGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import javax.persistence.*;
@@ -17,10 +20,11 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_status_id", columnList = "status, id"))
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TsidIdentifierGenerator.NAME)
+    @GenericGenerator(name = TsidIdentifierGenerator.NAME, strategy = TsidIdentifierGenerator.STRATEGY)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -43,16 +47,22 @@ public class User {
     @Enumerated(EnumType.STRING)
     private AccountStatus status;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // 로그인은 fetch join 으로 함께 읽고, 목록 조회는 배치로 읽는다
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
         inverseJoinColumns = @JoinColumn(name = "role_id")
     )
+    @Builder.Default
     private Set<Role> roles = new HashSet<>();
 
+    // 로그인 실패 카운트는 LoginAttemptStore 가 SQL 로 더한다. 엔티티 merge 가 다른 인스턴스의 증분을 덮어쓰지 않게 갱신에서 뺀다
+    @Column(updatable = false)
     private int loginAttempts;
 
+    @Column(updatable = false)
     private LocalDateTime lastLoginAttempt;
 
     @CreationTimestamp
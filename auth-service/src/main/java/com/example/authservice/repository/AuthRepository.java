@@ -12,7 +12,13 @@ import java.util.List;
 import java.util.Optional;
 
 public interface AuthRepository extends JpaRepository<Auth, Long> {
-    Optional<Auth> findByRefreshTokenAndStatus(String refreshToken, AuthStatus status);
+    Optional<Auth> findByRefreshTokenHashAndStatus(byte[] refreshTokenHash, AuthStatus status);
+
+    /**
+     * 갱신에 필요한 사용자와 역할을 함께 읽는다. 상태와 무관하게 조회하므로 호출하는 쪽에서 확인한다.
+     */
+    @Query("SELECT a FROM Auth a JOIN FETCH a.user u LEFT JOIN FETCH u.roles WHERE a.refreshTokenHash = :hash")
+    Optional<Auth> findForRefresh(@Param("hash") byte[] refreshTokenHash);
     
     Optional<Auth> findByUserAndStatus(User user, AuthStatus status);
     
@@ -22,8 +28,4 @@ public interface AuthRepository extends JpaRepository<Auth, Long> {
     Optional<Auth> findValidAuthByUser(@Param("user") User user, 
                                      @Param("status") AuthStatus status,
                                      @Param("now") LocalDateTime now);
-
-    @Query("SELECT a FROM Auth a WHERE a.tokenExpiryDate < :now AND a.status = :status")
-    List<Auth> findExpiredTokens(@Param("now") LocalDateTime now, 
-                                @Param("status") AuthStatus status);
 } 
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.authservice.repository;
+
+import com.example.authservice.model.RefreshTokenHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface RefreshTokenHistoryRepository extends JpaRepository<RefreshTokenHistory, Long> {
+    Optional<RefreshTokenHistory> findByTokenHash(byte[] tokenHash);
+}
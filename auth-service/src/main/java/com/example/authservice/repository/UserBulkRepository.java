@@ -0,0 +1,23 @@
+package com.example.authservice.repository;
+
+import com.example.authservice.model.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface UserBulkRepository {
+
+    /**
+     * @return 이미 가입된 이메일 (소문자)
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * 사용자를 다중 행 INSERT 한 번으로 넣고 모두에게 같은 역할을 부여한다. 호출 측 트랜잭션 안에서 실행해야 한다.
+     * id 는 호출 측이 TsidGenerator 로 미리 채워야 한다.
+     *
+     * @return 추가된 사용자 수
+     */
+    int insertUsers(List<User> users, Long roleId);
+}
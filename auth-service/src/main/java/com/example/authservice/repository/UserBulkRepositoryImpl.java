@@ -0,0 +1,83 @@
+package com.example.authservice.repository;
+
+import com.example.authservice.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class UserBulkRepositoryImpl implements UserBulkRepository {
+    // IN 목록, VALUES 목록 하나에 들어가는 최대 행 수
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        for (List<String> chunk : chunks(emails)) {
+            jdbcTemplate.query(
+                    "SELECT email FROM users WHERE email IN (" + placeholders(chunk.size()) + ")",
+                    rs -> {
+                        existing.add(rs.getString(1).toLowerCase(Locale.ROOT));
+                    },
+                    chunk.toArray());
+        }
+        return existing;
+    }
+
+    @Override
+    public int insertUsers(List<User> users, Long roleId) {
+        int inserted = 0;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (List<User> chunk : chunks(users)) {
+            // INSERT INTO users (...) VALUES (?, ...), (?, ...)
+            StringBuilder sql = new StringBuilder("INSERT INTO users " +
+                    "(id, email, password, name, phone_number, address, status, login_attempts, created_at, updated_at) VALUES ");
+            StringBuilder roleSql = new StringBuilder("INSERT INTO user_roles (user_id, role_id) VALUES ");
+            List<Object> args = new ArrayList<>(chunk.size() * 9);
+            List<Object> roleArgs = new ArrayList<>(chunk.size() * 2);
+            for (int i = 0; i < chunk.size(); i++) {
+                User user = chunk.get(i);
+                sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, 0, ?, ?)");
+                args.add(user.getId());
+                args.add(user.getEmail());
+                args.add(user.getPassword());
+                args.add(user.getName());
+                args.add(user.getPhoneNumber());
+                args.add(user.getAddress());
+                args.add(user.getStatus().name());
+                args.add(now);
+                args.add(now);
+                roleSql.append(i == 0 ? "" : ", ").append("(?, ?)");
+                roleArgs.add(user.getId());
+                roleArgs.add(roleId);
+            }
+            inserted += jdbcTemplate.update(sql.toString(), args.toArray());
+            jdbcTemplate.update(roleSql.toString(), roleArgs.toArray());
+        }
+        return inserted;
+    }
+
+    private static <T> List<List<T>> chunks(Collection<T> values) {
+        List<T> all = new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += CHUNK_SIZE) {
+            chunks.add(all.subList(from, Math.min(from + CHUNK_SIZE, all.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.authservice.repository;
+
+import com.example.authservice.dto.UserDto;
+import com.example.authservice.dto.UserSearchCondition;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 엔티티를 로딩하지 않는 관리자용 사용자 조회. id 오름차순 keyset 으로 읽고 역할은 사용자 묶음마다 IN 쿼리 한 번으로 채운다.
+ */
+public interface UserQueryRepository {
+
+    /**
+     * @param afterId 이 id 보다 큰 사용자부터, null 이면 처음부터
+     * @param roleId  role 조건을 역할 id 로 바꾼 값 (조건이 없으면 null)
+     * @return 역할이 비어 있는 UserDto 최대 limit 개
+     */
+    List<UserDto> findPage(UserSearchCondition condition, Long roleId, Long afterId, int limit);
+
+    /**
+     * 조건에 맞는 사용자를 forward-only 커서로 한 행씩 읽어 넘긴다. 결과 전체를 메모리에 올리지 않는다.
+     */
+    void streamAll(UserSearchCondition condition, Long roleId, Consumer<UserDto> consumer);
+
+    /**
+     * @return 사용자 id → 역할 이름
+     */
+    Map<Long, Set<String>> findRoleNames(Collection<Long> userIds);
+}
@@ -0,0 +1,113 @@
+package com.example.authservice.repository;
+
+import com.example.authservice.dto.UserDto;
+import com.example.authservice.dto.UserSearchCondition;
+import com.example.authservice.model.AccountStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class UserQueryRepositoryImpl implements UserQueryRepository {
+    private static final String COLUMNS =
+            "u.id, u.email, u.name, u.phone_number, u.address, u.profile_image_url, u.status, u.created_at, u.updated_at";
+
+    private static final RowMapper<UserDto> USER_ROW_MAPPER = (rs, rowNum) -> UserDto.builder()
+            .id(rs.getLong("id"))
+            .email(rs.getString("email"))
+            .name(rs.getString("name"))
+            .phoneNumber(rs.getString("phone_number"))
+            .address(rs.getString("address"))
+            .profileImageUrl(rs.getString("profile_image_url"))
+            .status(AccountStatus.valueOf(rs.getString("status")))
+            .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+            .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    // MySQL Connector/J 는 fetchSize 가 Integer.MIN_VALUE 일 때만 결과를 한 행씩 스트리밍한다
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public UserQueryRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    @Override
+    public List<UserDto> findPage(UserSearchCondition condition, Long roleId, Long afterId, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM users u WHERE 1 = 1");
+        if (afterId != null) {
+            sql.append(" AND u.id > ?");
+            args.add(afterId);
+        }
+        appendConditions(sql, args, condition, roleId);
+        sql.append(" ORDER BY u.id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), USER_ROW_MAPPER, args.toArray());
+    }
+
+    @Override
+    public void streamAll(UserSearchCondition condition, Long roleId, Consumer<UserDto> consumer) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM users u WHERE 1 = 1");
+        appendConditions(sql, args, condition, roleId);
+        sql.append(" ORDER BY u.id");
+        streamingJdbcTemplate.query(sql.toString(),
+                rs -> {
+                    consumer.accept(USER_ROW_MAPPER.mapRow(rs, 0));
+                },
+                args.toArray());
+    }
+
+    @Override
+    public Map<Long, Set<String>> findRoleNames(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, Set<String>> roles = new HashMap<>();
+        String placeholders = userIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        jdbcTemplate.query(
+                "SELECT ur.user_id, r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id WHERE ur.user_id IN (" + placeholders + ")",
+                rs -> {
+                    roles.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getString(2));
+                },
+                userIds.toArray());
+        return roles;
+    }
+
+    private static void appendConditions(StringBuilder sql, List<Object> args, UserSearchCondition condition, Long roleId) {
+        if (condition.getStatus() != null) {
+            sql.append(" AND u.status = ?");
+            args.add(condition.getStatus().name());
+        }
+        if (condition.getCreatedFrom() != null) {
+            sql.append(" AND u.created_at >= ?");
+            args.add(Timestamp.valueOf(condition.getCreatedFrom()));
+        }
+        if (condition.getCreatedTo() != null) {
+            sql.append(" AND u.created_at < ?");
+            args.add(Timestamp.valueOf(condition.getCreatedTo()));
+        }
+        if (roleId != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = ?)");
+            args.add(roleId);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -1,23 +1,26 @@
 package com.example.authservice.repository;
 
+import com.example.authservice.model.AuthStatus;
 import com.example.authservice.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserQueryRepository, UserBulkRepository {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-    
-    @Modifying
-    @Query("UPDATE User u SET u.loginAttempts = u.loginAttempts + 1 WHERE u.email = :email")
-    void incrementLoginAttempts(String email);
-    
-    @Modifying
-    @Query("UPDATE User u SET u.loginAttempts = 0 WHERE u.email = :email")
-    void resetLoginAttempts(String email);
-} 
\ No newline at end of file
+
+    /**
+     * 로그인에 필요한 사용자, 역할, 현재 활성 세션을 한 번의 쿼리로 읽는다.
+     * 역할 수만큼 행이 나오며 각 행은 [User, Auth(없으면 null)] 이다.
+     */
+    @Query("SELECT u, a FROM User u LEFT JOIN FETCH u.roles " +
+           "LEFT JOIN Auth a ON a.user = u AND a.status = :status " +
+           "WHERE u.email = :email")
+    List<Object[]> findForLogin(@Param("email") String email, @Param("status") AuthStatus status);
+}
\ No newline at end of file
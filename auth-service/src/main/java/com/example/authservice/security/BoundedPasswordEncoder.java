@@ -0,0 +1,114 @@
+package com.example.authservice.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt 해시/검증을 CPU 코어 수 크기의 전용 풀에서 실행한다.
+ * 동시에 도는 BCrypt 는 풀 크기로, 기다리는 요청은 큐 크기로 제한되고 그 이상은 즉시 503 으로 거절되므로
+ * 로그인 폭주가 Tomcat 스레드를 모두 묶어 다른 엔드포인트까지 멈추게 하지 않는다.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    public static final String METRIC_NAME = "password.hashing";
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, Duration timeout, MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.timeoutMillis = timeout.toMillis();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, METRIC_NAME, Tags.empty()).bindTo(meterRegistry);
+        this.encodeTimer = Timer.builder(METRIC_NAME + ".duration").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder(METRIC_NAME + ".duration").tag("operation", "matches").register(meterRegistry);
+        this.rejected = Counter.builder(METRIC_NAME + ".rejected").register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * 저장된 해시의 cost 가 설정과 다르면 true. 문자열만 보므로 호출 스레드에서 처리한다.
+     * cost 를 낮춘 경우에도 재해시해 로그인 처리량이 설정을 따라가게 한다.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Password hashing queue is full");
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingBusyException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.authservice.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 비밀번호 해시 작업 큐가 가득 차 즉시 거절된 요청. 503 과 Retry-After 헤더로 응답한다.
+ */
+public class PasswordHashingBusyException extends ResponseStatusException {
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingBusyException(String reason) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+    }
+
+    @Override
+    public HttpHeaders getResponseHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return headers;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.authservice.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * refresh token 은 원문 대신 32 바이트 SHA-256 digest 로 저장/조회한다.
+ * 토큰 길이와 무관하게 인덱스 키가 고정 크기이고, DB 가 유출되어도 토큰을 재사용할 수 없다.
+ */
+public final class RefreshTokenDigest {
+    public static final int LENGTH = 32;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private RefreshTokenDigest() {
+    }
+
+    public static byte[] of(String refreshToken) {
+        return SHA_256.get().digest(refreshToken.getBytes(StandardCharsets.US_ASCII));
+    }
+}
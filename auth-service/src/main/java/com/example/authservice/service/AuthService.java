@@ -1,83 +1,97 @@
 package com.example.authservice.service;
 
 import com.example.authservice.dto.LoginRequest;
-import com.example.authservice.dto.TokenInfo;
 import com.example.authservice.dto.TokenResponse;
+import com.example.authservice.model.AccountStatus;
 import com.example.authservice.model.Auth;
 import com.example.authservice.model.AuthStatus;
+import com.example.authservice.model.RefreshTokenHistory;
 import com.example.authservice.model.User;
 import com.example.authservice.repository.AuthRepository;
+import com.example.authservice.repository.RefreshTokenHistoryRepository;
+import com.example.authservice.security.RefreshTokenDigest;
 import com.example.authservice.repository.UserRepository;
+import com.example.authservice.throttle.LoginThrottle;
+import com.example.commonlib.security.IssuedToken;
 import com.example.commonlib.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.UUID;
 import java.time.Instant;
+import java.time.ZoneId;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
-    private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
     private final AuthRepository authRepository;
     private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginThrottle loginThrottle;
+    private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenHistoryRepository refreshTokenHistoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private volatile String userNotFoundPassword;
 
-    @Transactional
-    public TokenResponse login(LoginRequest loginRequest) {
+    /**
+     * BCrypt 검증은 최대 수 초 걸리므로 트랜잭션 밖에서 한다. 커넥션은 사용자 조회와 세션 기록의 짧은 트랜잭션 동안만 잡는다.
+     */
+    public TokenResponse login(LoginRequest loginRequest, String clientIp) {
         log.info("Attempting login for user: {}", loginRequest.getEmail());
-        
+
+        // 실패가 누적된 이메일/IP 는 BCrypt 검증 전에 거절
+        loginThrottle.checkAllowed(loginRequest.getEmail(), clientIp);
+
         try {
-            // Authenticate user
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
-            );
+            // 사용자, 역할, 활성 세션을 한 번에 읽고 비밀번호를 직접 검증한다
+            LoginSubject subject = transactionTemplate.execute(status -> loadLoginSubject(loginRequest.getEmail()));
+            User user = subject.user;
+            if (user != null) {
+                // 다른 인스턴스가 기록한 실패까지 더해 계정 단위 한도를 본다
+                loginThrottle.checkAccount(user.getEmail(), user.getLoginAttempts(), toEpochMillis(user.getLastLoginAttempt()));
+            }
+            if (!passwordMatches(loginRequest.getPassword(), user)) {
+                loginThrottle.recordFailure(loginRequest.getEmail(), clientIp);
+                throw new BadCredentialsException("Invalid email or password");
+            }
+            if (user.getStatus() != AccountStatus.ACTIVE) {
+                throw new DisabledException("Account is not active: " + user.getStatus());
+            }
+            loginThrottle.recordSuccess(loginRequest.getEmail(), user.getLoginAttempts());
+            log.debug("User authenticated successfully: {}", user.getEmail());
 
-            TokenInfo tokenInfo = (TokenInfo) authentication.getPrincipal();
-            log.debug("User authenticated successfully: {}", tokenInfo.getUsername());
-            
-            // Get user
-            User user = userRepository.findByEmail(loginRequest.getEmail())
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + loginRequest.getEmail()));
-            
-            // Invalidate existing active tokens
-            authRepository.findByUserAndStatus(user, AuthStatus.ACTIVE)
-                    .ifPresent(existingAuth -> {
-                        existingAuth.setStatus(AuthStatus.LOGGED_OUT);
-                        authRepository.save(existingAuth);
-                        log.debug("Invalidated existing active token for user: {}", user.getEmail());
-                    });
+            // BCrypt cost 설정이 바뀌었으면 검증된 평문으로 다시 해시해 둔다 (해시도 트랜잭션 밖에서)
+            String rehashedPassword = passwordEncoder.upgradeEncoding(user.getPassword())
+                    ? passwordEncoder.encode(loginRequest.getPassword())
+                    : null;
 
             // Create tokens
-            String accessToken = tokenProvider.createAccessToken(authentication);
+            IssuedToken accessToken = tokenProvider.issueAccessToken(toAuthentication(user));
             String refreshToken = tokenProvider.createRefreshToken();
 
-            // Save auth information
-            Auth auth = Auth.builder()
-                    .user(user)
-                    .refreshToken(refreshToken)
-                    .tokenExpiryDate(LocalDateTime.now().plusSeconds(tokenProvider.getRefreshTokenValidityInMilliseconds() / 1000))
-                    .status(AuthStatus.ACTIVE)
-                    .build();
-            
-            auth.updateLastLogin();
-            authRepository.save(auth);
-            
+            transactionTemplate.executeWithoutResult(status ->
+                    recordSession(subject, rehashedPassword, accessToken, refreshToken));
+
             log.info("Login successful for user: {}", loginRequest.getEmail());
 
             return TokenResponse.builder()
-                    .accessToken(accessToken)
+                    .accessToken(accessToken.getToken())
                     .refreshToken(refreshToken)
                     .tokenType("Bearer")
                     .expiresIn(300L)
@@ -88,14 +102,112 @@ public class AuthService {
         }
     }
 
-    @Transactional
+    /**
+     * 활성 세션이 있으면 그 행을 새 토큰으로 갱신하고 이전 access token 은 폐기한다.
+     * 조회한 엔티티는 앞의 트랜잭션이 끝나 분리되었을 수 있으므로 save(merge) 로 반영한다.
+     */
+    private void recordSession(LoginSubject subject, String rehashedPassword, IssuedToken accessToken, String refreshToken) {
+        User user = subject.user;
+        if (rehashedPassword != null) {
+            user.setPassword(rehashedPassword);
+            user = userRepository.save(user);
+            log.info("Rehashed password with current cost for user: {}", user.getEmail());
+        }
+
+        Auth auth = subject.activeSession;
+        if (auth != null) {
+            tokenRevocationService.revokeAccessToken(auth);
+            log.debug("Invalidated existing active token for user: {}", user.getEmail());
+        } else {
+            auth = Auth.builder()
+                    .user(user)
+                    .status(AuthStatus.ACTIVE)
+                    .build();
+        }
+        auth.setRefreshTokenHash(RefreshTokenDigest.of(refreshToken));
+        auth.setTokenExpiryDate(LocalDateTime.now().plusSeconds(tokenProvider.getRefreshTokenValidityInMilliseconds() / 1000));
+        auth.setAccessTokenId(accessToken.getTokenId());
+        auth.setAccessTokenExpiresAt(accessToken.getExpiresAtMillis());
+        auth.updateLastLogin();
+        authRepository.save(auth);
+    }
+
+    /**
+     * 사용자 + 역할(fetch join) + 활성 세션을 SELECT 한 번으로 읽는다.
+     * 성공한 로그인은 이 SELECT 와 세션 INSERT/UPDATE 로 끝난다. 기존 세션을 대체할 때는 분리된 세션 행을 merge 하는
+     * PK 조회와 폐기 아웃박스 INSERT 가 더해진다.
+     */
+    private LoginSubject loadLoginSubject(String email) {
+        List<Object[]> rows = userRepository.findForLogin(email, AuthStatus.ACTIVE);
+        if (rows.isEmpty()) {
+            return new LoginSubject(null, null);
+        }
+        Object[] row = rows.get(0);
+        return new LoginSubject((User) row[0], (Auth) row[1]);
+    }
+
+    /**
+     * 없는 이메일도 같은 비용의 BCrypt 를 수행해 응답 시간으로 가입 여부를 알 수 없게 한다.
+     */
+    private boolean passwordMatches(String rawPassword, User user) {
+        if (user == null) {
+            passwordEncoder.matches(rawPassword, userNotFoundPassword());
+            return false;
+        }
+        return passwordEncoder.matches(rawPassword, user.getPassword());
+    }
+
+    private String userNotFoundPassword() {
+        String encoded = userNotFoundPassword;
+        if (encoded == null) {
+            encoded = passwordEncoder.encode("userNotFoundPassword");
+            userNotFoundPassword = encoded;
+        }
+        return encoded;
+    }
+
+    /**
+     * 토큰 subject 는 사용자 id 이다 (UserSecurity.isCurrentUser 와 다른 서비스가 id 로 사용).
+     */
+    private static Authentication toAuthentication(User user) {
+        List<GrantedAuthority> authorities = user.getRoles().stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.getName()))
+                .collect(Collectors.toList());
+        return new UsernamePasswordAuthenticationToken(String.valueOf(user.getId()), null, authorities);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+    }
+
+    private static final class LoginSubject {
+        private final User user;
+        private final Auth activeSession;
+
+        private LoginSubject(User user, Auth activeSession) {
+            this.user = user;
+            this.activeSession = activeSession;
+        }
+    }
+
+    /**
+     * refresh token 을 같은 세션 행에서 교체한다. 이전 digest 는 이력에 남겨, 교체된 토큰이 다시 제시되면
+     * 탈취로 보고 세션을 폐기한다 (폐기는 예외를 던져도 커밋되어야 하므로 IllegalArgumentException 은 롤백하지 않는다).
+     */
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
     public TokenResponse refreshToken(String oldRefreshToken) {
         log.info("Attempting to refresh token");
         
         try {
-            // Find and validate existing auth
-            Auth auth = authRepository.findByRefreshTokenAndStatus(oldRefreshToken, AuthStatus.ACTIVE)
-                    .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+            byte[] oldHash = RefreshTokenDigest.of(oldRefreshToken);
+            Auth auth = authRepository.findForRefresh(oldHash).orElse(null);
+            if (auth == null) {
+                detectReuse(oldHash);
+                throw new IllegalArgumentException("Invalid refresh token");
+            }
+            if (auth.getStatus() != AuthStatus.ACTIVE) {
+                throw new IllegalArgumentException("Invalid refresh token");
+            }
 
             if (auth.isTokenExpired()) {
                 log.warn("Refresh token expired for user: {}", auth.getUser().getEmail());
@@ -105,28 +217,25 @@ public class AuthService {
             }
 
             // Create new tokens
-            Authentication authentication = tokenProvider.getAuthentication(oldRefreshToken);
-            String newAccessToken = tokenProvider.createAccessToken(authentication);
+            IssuedToken newAccessToken = tokenProvider.issueAccessToken(toAuthentication(auth.getUser()));
             String newRefreshToken = tokenProvider.createRefreshToken();
 
-            // Update auth status and create new auth
-            auth.setStatus(AuthStatus.LOGGED_OUT);
-            authRepository.save(auth);
-
-            Auth newAuth = Auth.builder()
-                    .user(auth.getUser())
-                    .refreshToken(newRefreshToken)
-                    .tokenExpiryDate(LocalDateTime.now().plusSeconds(tokenProvider.getRefreshTokenValidityInMilliseconds() / 1000))
-                    .status(AuthStatus.ACTIVE)
-                    .build();
-            
-            newAuth.updateLastAccess();
-            authRepository.save(newAuth);
+            // 같은 행에서 교체하고 이전 digest 는 이력으로 남긴다
+            refreshTokenHistoryRepository.save(RefreshTokenHistory.builder()
+                    .tokenHash(oldHash)
+                    .authId(auth.getId())
+                    .rotatedAt(LocalDateTime.now())
+                    .build());
+            auth.setRefreshTokenHash(RefreshTokenDigest.of(newRefreshToken));
+            auth.setTokenExpiryDate(LocalDateTime.now().plusSeconds(tokenProvider.getRefreshTokenValidityInMilliseconds() / 1000));
+            auth.setAccessTokenId(newAccessToken.getTokenId());
+            auth.setAccessTokenExpiresAt(newAccessToken.getExpiresAtMillis());
+            auth.updateLastAccess();
             
             log.info("Token refresh successful for user: {}", auth.getUser().getEmail());
 
             return TokenResponse.builder()
-                    .accessToken(newAccessToken)
+                    .accessToken(newAccessToken.getToken())
                     .refreshToken(newRefreshToken)
                     .tokenType("Bearer")
                     .expiresIn(300L)
@@ -137,16 +246,34 @@ public class AuthService {
         }
     }
 
+    /**
+     * 이미 교체된 refresh token 이 다시 쓰였으면 해당 세션과 현재 access token 을 폐기한다.
+     * 이력이 현재 로그인 이전의 것이면 (세션 행이 새 로그인에 재사용된 경우) 새 세션은 건드리지 않는다.
+     */
+    private void detectReuse(byte[] tokenHash) {
+        refreshTokenHistoryRepository.findByTokenHash(tokenHash)
+                .flatMap(history -> authRepository.findById(history.getAuthId())
+                        .filter(auth -> auth.getStatus() == AuthStatus.ACTIVE)
+                        .filter(auth -> auth.getLastLoginAt() == null || !history.getRotatedAt().isBefore(auth.getLastLoginAt())))
+                .ifPresent(auth -> {
+                    log.warn("Rotated refresh token reused, revoking session {} of user {}", auth.getId(), auth.getUser().getEmail());
+                    auth.setStatus(AuthStatus.REVOKED);
+                    authRepository.save(auth);
+                    tokenRevocationService.revokeAccessToken(auth);
+                });
+    }
+
     @Transactional
     public void logout(String refreshToken) {
         log.info("Attempting logout");
         
         try {
-            Auth auth = authRepository.findByRefreshTokenAndStatus(refreshToken, AuthStatus.ACTIVE)
+            Auth auth = authRepository.findByRefreshTokenHashAndStatus(RefreshTokenDigest.of(refreshToken), AuthStatus.ACTIVE)
                     .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
             
             auth.setStatus(AuthStatus.LOGGED_OUT);
             authRepository.save(auth);
+            tokenRevocationService.revokeAccessToken(auth);
             
             log.info("Logout successful for user: {}", auth.getUser().getEmail());
         } catch (Exception e) {
@@ -154,21 +281,4 @@ public class AuthService {
             throw e;
         }
     }
-
-    @Scheduled(cron = "0 0 0 * * *") // Run at midnight every day
-    @Transactional
-    public void cleanupExpiredTokens() {
-        log.info("Starting expired tokens cleanup");
-        
-        try {
-            List<Auth> expiredAuths = authRepository.findExpiredTokens(LocalDateTime.now(), AuthStatus.ACTIVE);
-            expiredAuths.forEach(auth -> auth.setStatus(AuthStatus.EXPIRED));
-            authRepository.saveAll(expiredAuths);
-            
-            log.info("Expired tokens cleanup completed. {} tokens processed", expiredAuths.size());
-        } catch (Exception e) {
-            log.error("Error during expired tokens cleanup", e);
-            throw e;
-        }
-    }
-} 
\ No newline at end of file
+}
@@ -1,49 +1,318 @@
 package com.example.authservice.service;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
+import com.example.authservice.config.FileStorageProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
-@Service
+/**
+ * 업로드 파일을 내용의 SHA-256 으로 이름 붙여 저장한다. 디스크에 쓰면서 해시를 계산하므로 파일을 한 번만 읽고,
+ * 같은 내용은 한 번만 저장된다. 임시 파일에 다 쓴 뒤 원자적으로 옮기므로 반쯤 쓰인 파일이 노출되지 않는다.
+ * 썸네일은 제한된 전용 풀에서 비동기로 만들고, 아직 없으면 원본을 대신 제공한다.
+ * <pre>
+ * {upload-dir}/ab/ab12...ef.png       원본
+ * {upload-dir}/ab/ab12...ef_64.png    썸네일
+ * </pre>
+ */
+@Slf4j
 public class FileStorageService {
+    public static final String METRIC_NAME = "file.storage";
+
+    private static final Pattern CONTENT_NAME = Pattern.compile("([0-9a-f]{64})\\.([a-z0-9]+)");
+    // 내용 주소 방식 이전에 UUID 이름으로 저장된 파일
+    private static final Pattern LEGACY_NAME = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.([A-Za-z0-9]+)");
+    // 썸네일을 만들 원본의 최대 픽셀 수. 압축 폭탄 이미지로 힙을 소진하지 않도록 디코딩 전에 확인한다
+    private static final long MAX_THUMBNAIL_SOURCE_PIXELS = 16_000_000L;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
 
     private final Path fileStorageLocation;
+    private final Path tempLocation;
+    private final Set<String> allowedExtensions;
+    private final List<Integer> thumbnailSizes;
+    private final ThreadPoolExecutor thumbnailExecutor;
+    private final Counter storedFiles;
+    private final Counter deduplicatedFiles;
+    private final Counter skippedThumbnails;
 
-    public FileStorageService(@Value("${file.upload-dir:./uploads}") String uploadDir) {
-        this.fileStorageLocation = Paths.get(uploadDir)
+    public FileStorageService(FileStorageProperties properties, MeterRegistry meterRegistry) {
+        this.fileStorageLocation = Paths.get(properties.getUploadDir())
                 .toAbsolutePath().normalize();
+        // 원자적 이동이 가능하도록 같은 파일 시스템에 둔다
+        this.tempLocation = fileStorageLocation.resolve("tmp");
 
         try {
-            Files.createDirectories(this.fileStorageLocation);
+            Files.createDirectories(this.tempLocation);
         } catch (IOException ex) {
             throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
         }
+
+        this.allowedExtensions = Set.copyOf(properties.getAllowedExtensions());
+        this.thumbnailSizes = List.copyOf(properties.getThumbnailSizes());
+        AtomicInteger sequence = new AtomicInteger();
+        this.thumbnailExecutor = new ThreadPoolExecutor(properties.getThumbnailThreads(), properties.getThumbnailThreads(),
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getThumbnailQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(thumbnailExecutor, METRIC_NAME + ".thumbnails", Tags.empty()).bindTo(meterRegistry);
+        this.storedFiles = Counter.builder(METRIC_NAME + ".uploads").tag("result", "stored").register(meterRegistry);
+        this.deduplicatedFiles = Counter.builder(METRIC_NAME + ".uploads").tag("result", "deduplicated").register(meterRegistry);
+        this.skippedThumbnails = Counter.builder(METRIC_NAME + ".thumbnails.skipped").register(meterRegistry);
     }
 
+    /**
+     * @return 저장된 파일 이름 ({sha256}.{확장자}), 다운로드 경로에 그대로 쓴다
+     */
     public String storeFile(MultipartFile file) {
-        String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
-        String fileExtension = "";
-        
+        String originalFileName = StringUtils.cleanPath(String.valueOf(file.getOriginalFilename()));
+        String extension = extension(originalFileName);
+        if (!allowedExtensions.contains(extension)) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported file type: " + originalFileName);
+        }
+
+        Path temp = null;
         try {
-            if (originalFileName.contains(".")) {
-                fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
+            temp = Files.createTempFile(tempLocation, "upload-", ".tmp");
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
             }
-            
-            String fileName = UUID.randomUUID().toString() + fileExtension;
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
+            String hash = toHex(digest.digest());
+            String fileName = hash + "." + extension;
+            Path target = contentPath(hash, extension);
+            if (Files.exists(target)) {
+                deduplicatedFiles.increment();
+                return fileName;
+            }
+            Files.createDirectories(target.getParent());
+            // 같은 내용을 동시에 올려 이미 생겼더라도 내용이 같으므로 덮어써도 된다
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+            storedFiles.increment();
+            scheduleThumbnails(hash, extension, target);
             return fileName;
         } catch (IOException ex) {
             throw new RuntimeException("Could not store file " + originalFileName + ". Please try again!", ex);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * @param size 요청한 썸네일 크기, 설정에 없는 크기거나 아직 만들어지지 않았으면 원본을 돌려준다
+     */
+    public Optional<StoredFile> resolve(String fileName, Integer size) {
+        Matcher content = CONTENT_NAME.matcher(fileName);
+        if (content.matches()) {
+            String hash = content.group(1);
+            String extension = content.group(2);
+            if (!allowedExtensions.contains(extension)) {
+                return Optional.empty();
+            }
+            if (size != null && thumbnailSizes.contains(size)) {
+                Optional<StoredFile> thumbnail = storedFile(thumbnailPath(hash, extension, size),
+                        "\"" + hash + "-" + size + "\"", fileName, true);
+                if (thumbnail.isPresent()) {
+                    return thumbnail;
+                }
+                // 썸네일이 생기면 같은 URL 의 응답이 바뀌므로 오래 캐시하지 않는다
+                return storedFile(contentPath(hash, extension), "\"" + hash + "\"", fileName, false);
+            }
+            return storedFile(contentPath(hash, extension), "\"" + hash + "\"", fileName, true);
+        }
+        Matcher legacy = LEGACY_NAME.matcher(fileName);
+        if (legacy.matches() && allowedExtensions.contains(legacy.group(1).toLowerCase(Locale.ROOT))) {
+            // 임의 UUID 이름은 다시 쓰이지 않으므로 이름을 ETag 로 쓴다
+            String id = fileName.substring(0, fileName.indexOf('.'));
+            return storedFile(fileStorageLocation.resolve(fileName), "\"" + id + "\"", fileName, true);
+        }
+        return Optional.empty();
+    }
+
+    public void shutdown() {
+        thumbnailExecutor.shutdownNow();
+    }
+
+    private void scheduleThumbnails(String hash, String extension, Path original) {
+        if (thumbnailSizes.isEmpty()) {
+            return;
+        }
+        try {
+            thumbnailExecutor.execute(() -> createThumbnails(hash, extension, original));
+        } catch (RejectedExecutionException e) {
+            skippedThumbnails.increment();
+            log.warn("Thumbnail queue is full, serving original for {}", hash);
+        }
+    }
+
+    private void createThumbnails(String hash, String extension, Path original) {
+        try {
+            BufferedImage image = readImage(original);
+            if (image == null) {
+                log.warn("Skipping thumbnails for {}: not a readable image or too large", hash);
+                return;
+            }
+            for (int size : thumbnailSizes) {
+                Path target = thumbnailPath(hash, extension, size);
+                // 이미 작은 이미지는 원본을 그대로 제공한다
+                if (Math.max(image.getWidth(), image.getHeight()) <= size || Files.exists(target)) {
+                    continue;
+                }
+                writeAtomically(resize(image, size, extension), extension, target);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to create thumbnails for {}: {}", hash, e.getMessage());
+        }
+    }
+
+    private static BufferedImage readImage(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_THUMBNAIL_SOURCE_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage image, int size, String extension) {
+        double scale = (double) size / Math.max(image.getWidth(), image.getHeight());
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        // JPEG 는 알파 채널을 쓸 수 없다
+        int type = isJpeg(extension) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage resized = new BufferedImage(width, height, type);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private void writeAtomically(BufferedImage image, String extension, Path target) throws IOException {
+        Path temp = Files.createTempFile(tempLocation, "thumbnail-", ".tmp");
+        try {
+            if (!ImageIO.write(image, isJpeg(extension) ? "jpg" : extension, temp.toFile())) {
+                log.warn("No image writer for {}, skipping thumbnail {}", extension, target.getFileName());
+                return;
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private Optional<StoredFile> storedFile(Path path, String etag, String fileName, boolean immutable) {
+        try {
+            if (!Files.isRegularFile(path)) {
+                return Optional.empty();
+            }
+            String contentType = MediaTypeFactory.getMediaType(fileName)
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+            return Optional.of(new StoredFile(path, Files.size(path), etag, contentType, immutable));
+        } catch (IOException e) {
+            log.warn("Could not read file {}: {}", fileName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Path contentPath(String hash, String extension) {
+        return fileStorageLocation.resolve(hash.substring(0, 2)).resolve(hash + "." + extension);
+    }
+
+    private Path thumbnailPath(String hash, String extension, int size) {
+        return fileStorageLocation.resolve(hash.substring(0, 2)).resolve(hash + "_" + size + "." + extension);
+    }
+
+    private static String extension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 ? fileName.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static boolean isJpeg(String extension) {
+        return "jpg".equals(extension) || "jpeg".equals(extension);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary file {}: {}", path, e.getMessage());
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.example.authservice.service;
+
+import com.example.authservice.model.Role;
+import com.example.authservice.repository.RoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 역할 정의(roles 테이블) 로컬 캐시. 역할은 몇 개뿐이고 거의 바뀌지 않으므로 이름으로 조회할 때마다 DB 에 가지 않는다.
+ * 이 인스턴스에서의 변경은 {@link RoleChangeListener} 가 즉시 무효화하고, 다른 인스턴스나 SQL 로 바뀐 경우는 ttl 이 지나면 다시 읽는다.
+ * 캐시된 Role 은 준영속 상태이므로 연관관계 참조(id)로만 사용한다.
+ */
+@Slf4j
+@Component
+public class RoleCache {
+
+    private final RoleRepository roleRepository;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<String, Entry> byName = new ConcurrentHashMap<>();
+
+    public RoleCache(RoleRepository roleRepository,
+                     @Value("${auth.role-cache.max-size:256}") int maxSize,
+                     @Value("${auth.role-cache.ttl:10m}") Duration ttl) {
+        this.roleRepository = roleRepository;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public Optional<Role> findByName(String name) {
+        long now = System.currentTimeMillis();
+        Entry entry = byName.get(name);
+        if (entry != null && entry.expiresAtMillis > now) {
+            return Optional.of(entry.role);
+        }
+        Optional<Role> role = roleRepository.findByName(name);
+        if (role.isPresent()) {
+            if (byName.size() >= maxSize) {
+                byName.clear();
+            }
+            byName.put(name, new Entry(role.get(), now + ttlMillis));
+        } else {
+            byName.remove(name);
+        }
+        return role;
+    }
+
+    public void invalidateAll() {
+        byName.clear();
+        log.debug("Role cache invalidated");
+    }
+
+    private static final class Entry {
+        private final Role role;
+        private final long expiresAtMillis;
+
+        private Entry(Role role, long expiresAtMillis) {
+            this.role = role;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.authservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Role 엔티티 변경 시 {@link RoleCache} 를 비운다. 커밋 전에 다른 요청이 이전 값을 다시 캐시할 수 있으므로 커밋 후에 한 번 더 비운다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleChangeListener {
+
+    // Hibernate 가 EntityManagerFactory 를 만들면서 이 리스너를 생성하므로, 리포지토리에 의존하는 RoleCache 는 쓸 때 꺼낸다
+    private final ObjectProvider<RoleCache> roleCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onRoleChanged(Object role) {
+        RoleCache cache = roleCache.getObject();
+        cache.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+}
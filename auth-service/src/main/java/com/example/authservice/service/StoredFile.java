@@ -0,0 +1,20 @@
+package com.example.authservice.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Path;
+
+/**
+ * 다운로드할 파일. etag 는 따옴표를 포함한 강한 ETag 이다.
+ * immutable 이 false 면 같은 URL 의 내용이 나중에 바뀔 수 있다 (썸네일 생성 전 원본 대체).
+ */
+@Getter
+@RequiredArgsConstructor
+public class StoredFile {
+    private final Path path;
+    private final long length;
+    private final String etag;
+    private final String contentType;
+    private final boolean immutable;
+}
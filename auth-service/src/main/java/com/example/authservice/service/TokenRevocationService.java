@@ -0,0 +1,33 @@
+package com.example.authservice.service;
+
+import com.example.authservice.model.Auth;
+import com.example.commonlib.event.TokenRevokedEvent;
+import com.example.commonlib.kafka.KafkaTopics;
+import com.example.commonlib.outbox.OutboxPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * 세션의 access token 을 만료 전에 폐기하도록 모든 서비스에 알린다.
+ * 아웃박스에 기록하므로 세션 상태 변경과 같은 트랜잭션으로 커밋되고, 롤백되면 폐기도 발행되지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final OutboxPublisher outboxPublisher;
+
+    public void revokeAccessToken(Auth auth) {
+        String tokenId = auth.getAccessTokenId();
+        Long expiresAt = auth.getAccessTokenExpiresAt();
+        // 이미 만료된 토큰은 알릴 필요가 없다
+        if (tokenId == null || expiresAt == null || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        TokenRevokedEvent event = new TokenRevokedEvent(tokenId, auth.getUser().getEmail(), expiresAt);
+        outboxPublisher.publish(KafkaTopics.TOKEN_REVOKED, tokenId, event);
+        log.debug("Revoked access token {} for user {}", tokenId, auth.getUser().getEmail());
+    }
+}
@@ -0,0 +1,364 @@
+package com.example.authservice.service;
+
+import com.example.authservice.config.PasswordHashingProperties;
+import com.example.authservice.dto.UserCreateRequest;
+import com.example.authservice.dto.UserImportResult;
+import com.example.authservice.dto.UserImportResult.Status;
+import com.example.authservice.model.AccountStatus;
+import com.example.authservice.model.Role;
+import com.example.authservice.model.User;
+import com.example.authservice.repository.UserRepository;
+import com.example.commonlib.id.TsidGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityNotFoundException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * CSV/NDJSON 사용자 일괄 가져오기. 입력을 chunkSize 행씩 읽어
+ * 검증 → IN 쿼리 한 번으로 기존 이메일 확인 → 전용 ForkJoinPool 에서 BCrypt 병렬 해시 → 다중 행 INSERT 순으로 처리하고,
+ * 청크가 끝날 때마다 행별 결과를 NDJSON 으로 흘려보낸다. 입력 전체를 메모리에 올리지 않는다.
+ * <p>
+ * 해시는 로그인용 {@code BoundedPasswordEncoder} 풀을 쓰지 않으므로 가져오기가 로그인 요청을 503 으로 밀어내지 않는다.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private final UserRepository userRepository;
+    private final RoleCache roleCache;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PasswordEncoder hashingEncoder;
+    private final ForkJoinPool hashingPool;
+    private final TsidGenerator tsidGenerator;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public UserImportService(UserRepository userRepository, RoleCache roleCache, Validator validator,
+                             TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                             TsidGenerator tsidGenerator,
+                             PasswordHashingProperties passwordHashingProperties,
+                             @Value("${auth.user-import.chunk-size:500}") int chunkSize,
+                             @Value("${auth.user-import.max-rows:200000}") int maxRows,
+                             @Value("${auth.user-import.hashing-parallelism:0}") int hashingParallelism) {
+        this.userRepository = userRepository;
+        this.roleCache = roleCache;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.tsidGenerator = tsidGenerator;
+        // 로그인과 같은 cost 로 해시해야 첫 로그인에서 재해시하지 않는다
+        this.hashingEncoder = new BCryptPasswordEncoder(passwordHashingProperties.getStrength());
+        // 0 이면 코어 절반만 써서 가져오는 동안에도 로그인 해시에 CPU 를 남긴다
+        this.hashingPool = new ForkJoinPool(hashingParallelism > 0
+                ? hashingParallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    /**
+     * @param in  헤더 행이 있는 CSV(email,password,name,phoneNumber,address) 또는 한 줄에 객체 하나인 NDJSON
+     * @param out 입력 행마다 {@link UserImportResult} 한 줄
+     */
+    public void importUsers(InputStream in, Format format, OutputStream out) throws IOException {
+        Role role = roleCache.findByName(DEFAULT_ROLE)
+                .orElseThrow(() -> new EntityNotFoundException("Default role not found"));
+        // 파일 안의 중복 이메일 (소문자)
+        Set<String> seen = new HashSet<>();
+        int[] counts = new int[Status.values().length];
+        long start = System.currentTimeMillis();
+
+        try (RowReader reader = format == Format.CSV ? new CsvRowReader(in) : new NdjsonRowReader(in, objectMapper)) {
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            Row row;
+            while ((row = reader.next()) != null) {
+                if (row.number > maxRows) {
+                    write(out, UserImportResult.builder().row(row.number).status(Status.FAILED)
+                            .message("Row limit of " + maxRows + " exceeded, stopping").build());
+                    break;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, role, seen, counts, out);
+                    chunk.clear();
+                }
+            }
+            processChunk(chunk, role, seen, counts, out);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+
+        log.info("User import finished in {} ms: {} created, {} existing, {} duplicate, {} invalid, {} failed",
+                System.currentTimeMillis() - start, counts[Status.CREATED.ordinal()], counts[Status.EXISTS.ordinal()],
+                counts[Status.DUPLICATE.ordinal()], counts[Status.INVALID.ordinal()], counts[Status.FAILED.ordinal()]);
+    }
+
+    private void processChunk(List<Row> chunk, Role role, Set<String> seen, int[] counts, OutputStream out)
+            throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        UserImportResult[] results = new UserImportResult[chunk.size()];
+        List<Integer> candidates = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Row row = chunk.get(i);
+            String error = row.error != null ? row.error : validate(row.request);
+            if (error != null) {
+                results[i] = result(row, Status.INVALID, error);
+            } else if (!seen.add(row.request.getEmail().toLowerCase(Locale.ROOT))) {
+                results[i] = result(row, Status.DUPLICATE, null);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        Set<String> existing = candidates.isEmpty() ? Collections.emptySet() : userRepository.findExistingEmails(
+                candidates.stream().map(i -> chunk.get(i).request.getEmail()).collect(Collectors.toList()));
+        List<Integer> toCreate = new ArrayList<>(candidates.size());
+        for (Integer i : candidates) {
+            if (existing.contains(chunk.get(i).request.getEmail().toLowerCase(Locale.ROOT))) {
+                results[i] = result(chunk.get(i), Status.EXISTS, null);
+            } else {
+                toCreate.add(i);
+            }
+        }
+
+        if (!toCreate.isEmpty()) {
+            List<User> users = hashAll(toCreate.stream().map(i -> chunk.get(i).request).collect(Collectors.toList()));
+            insert(chunk, toCreate, users, role, results);
+        }
+
+        for (UserImportResult result : results) {
+            counts[result.getStatus().ordinal()]++;
+            write(out, result);
+        }
+        out.flush();
+    }
+
+    // 병렬 스트림을 전용 풀 안에서 시작하면 공용 풀 대신 그 풀의 스레드로 나뉘어 실행된다
+    private List<User> hashAll(List<UserCreateRequest> requests) {
+        return hashingPool.submit(() -> requests.parallelStream()
+                .map(request -> User.builder()
+                        .id(tsidGenerator.next())
+                        .email(request.getEmail())
+                        .password(hashingEncoder.encode(request.getPassword()))
+                        .name(request.getName())
+                        .phoneNumber(request.getPhoneNumber())
+                        .address(request.getAddress())
+                        .status(AccountStatus.ACTIVE)
+                        .build())
+                .collect(Collectors.toList()))
+                .join();
+    }
+
+    /**
+     * 청크를 한 트랜잭션으로 넣는다. 확인 이후 다른 요청이 같은 이메일로 가입해 중복 키가 나면
+     * 청크를 되돌리고 행 단위로 다시 넣어 해당 행만 EXISTS 로 표시한다.
+     */
+    private void insert(List<Row> chunk, List<Integer> indexes, List<User> users, Role role, UserImportResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.insertUsers(users, role.getId()));
+            indexes.forEach(i -> results[i] = result(chunk.get(i), Status.CREATED, null));
+            return;
+        } catch (DuplicateKeyException e) {
+            log.info("Duplicate email while importing chunk, retrying {} rows one by one", users.size());
+        } catch (DataAccessException e) {
+            log.warn("Failed to import chunk of {} users: {}", users.size(), e.getMessage());
+            indexes.forEach(i -> results[i] = result(chunk.get(i), Status.FAILED, "Database error"));
+            return;
+        }
+        for (int j = 0; j < indexes.size(); j++) {
+            int i = indexes.get(j);
+            List<User> single = Collections.singletonList(users.get(j));
+            try {
+                transactionTemplate.executeWithoutResult(status -> userRepository.insertUsers(single, role.getId()));
+                results[i] = result(chunk.get(i), Status.CREATED, null);
+            } catch (DuplicateKeyException e) {
+                results[i] = result(chunk.get(i), Status.EXISTS, null);
+            } catch (DataAccessException e) {
+                results[i] = result(chunk.get(i), Status.FAILED, "Database error");
+            }
+        }
+    }
+
+    private String validate(UserCreateRequest request) {
+        Set<ConstraintViolation<UserCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void write(OutputStream out, UserImportResult result) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static UserImportResult result(Row row, Status status, String message) {
+        return UserImportResult.builder()
+                .row(row.number)
+                .email(row.request != null ? row.request.getEmail() : null)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static final class Row {
+        private final int number;
+        private final UserCreateRequest request;
+        private final String error;
+
+        private Row(int number, UserCreateRequest request, String error) {
+            this.number = number;
+            this.request = request;
+            this.error = error;
+        }
+    }
+
+    private interface RowReader extends AutoCloseable {
+        /**
+         * @return 다음 행, 입력이 끝나면 null
+         */
+        Row next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * 줄마다 따로 파싱하므로 잘못된 줄은 그 행만 INVALID 가 된다. 빈 줄은 건너뛴다.
+     */
+    private static final class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+        private final ObjectReader objectReader;
+        private int number;
+
+        private NdjsonRowReader(InputStream in, ObjectMapper objectMapper) {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            this.objectReader = objectMapper.readerFor(UserCreateRequest.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            number++;
+            try {
+                UserCreateRequest request = objectReader.readValue(line);
+                return request != null
+                        ? new Row(number, request, null)
+                        : new Row(number, null, "Expected a JSON object");
+            } catch (JsonProcessingException e) {
+                return new Row(number, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * 첫 행의 헤더로 열을 매핑한다. 없는 열은 null, 모르는 열과 남는 값은 무시한다.
+     * 따옴표 안의 줄바꿈 때문에 행 경계를 다시 맞출 수 없으므로 파싱 오류는 가져오기를 중단한다.
+     */
+    private static final class CsvRowReader implements RowReader {
+        private final MappingIterator<UserCreateRequest> iterator;
+        private int number;
+        private boolean failed;
+
+        private CsvRowReader(InputStream in) throws IOException {
+            CsvMapper mapper = CsvMapper.builder()
+                    .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+                    .enable(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE)
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .build();
+            this.iterator = mapper.readerFor(UserCreateRequest.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (failed) {
+                return null;
+            }
+            try {
+                if (!iterator.hasNextValue()) {
+                    return null;
+                }
+                number++;
+                return new Row(number, iterator.nextValue(), null);
+            } catch (JsonProcessingException e) {
+                failed = true;
+                return new Row(Math.max(number, 1), null, "Malformed CSV, stopping: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            iterator.close();
+        }
+    }
+}
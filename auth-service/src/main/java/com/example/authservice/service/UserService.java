@@ -3,35 +3,140 @@ package com.example.authservice.service;
 import com.example.authservice.dto.PasswordChangeRequest;
 import com.example.authservice.dto.UserCreateRequest;
 import com.example.authservice.dto.UserDto;
+import com.example.authservice.dto.UserPageResponse;
+import com.example.authservice.dto.UserSearchCondition;
 import com.example.authservice.dto.UserUpdateRequest;
 import com.example.authservice.model.AccountStatus;
 import com.example.authservice.model.Role;
 import com.example.authservice.model.User;
-import com.example.authservice.repository.RoleRepository;
 import com.example.authservice.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import javax.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class UserService {
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final long UNKNOWN_ROLE_ID = -1L;
+
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCache roleCache;
     private final PasswordEncoder passwordEncoder;
     private final FileStorageService fileStorageService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore exportPermits;
+
+    public UserService(UserRepository userRepository, RoleCache roleCache, PasswordEncoder passwordEncoder,
+                       FileStorageService fileStorageService, ObjectMapper objectMapper,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${auth.user-export.max-concurrent:2}") int maxConcurrentExports) {
+        this.userRepository = userRepository;
+        this.roleCache = roleCache;
+        this.passwordEncoder = passwordEncoder;
+        this.fileStorageService = fileStorageService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.exportPermits = new Semaphore(maxConcurrentExports);
+    }
 
+    /**
+     * id 오름차순 keyset 페이지. 역할은 페이지의 사용자 id 로 한 번에 읽는다.
+     */
     @Transactional(readOnly = true)
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public UserPageResponse getUsers(UserSearchCondition condition, Long after, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // 한 건 더 읽어 다음 페이지가 있는지 판단
+        List<UserDto> users = userRepository.findPage(condition, resolveRoleId(condition), after, limit + 1);
+        Long nextCursor = null;
+        if (users.size() > limit) {
+            users = users.subList(0, limit);
+            nextCursor = users.get(limit - 1).getId();
+        }
+        fillRoles(users);
+        return UserPageResponse.builder().users(users).nextCursor(nextCursor).build();
+    }
+
+    /**
+     * 조건에 맞는 사용자를 NDJSON 으로 쓴다. forward-only 커서로 읽어 EXPORT_BATCH_SIZE 명씩 역할을 채워 내보내므로
+     * 사용자 수와 무관하게 메모리 사용량이 일정하다. 스트리밍 커서가 연결을 점유하므로 트랜잭션 없이 실행해
+     * 역할 조회는 별도 연결에서 수행한다.
+     * <p>
+     * 내보내기 하나가 끝날 때까지 연결 두 개를 잡으므로 동시 실행 수를 풀 크기보다 한참 작게 제한한다.
+     * 모든 연결이 커서에 묶이면 역할 조회가 연결을 얻지 못해 서로 기다리게 된다. 한도를 넘으면 기다리지 않고 503 으로 거절한다.
+     */
+    public void exportUsers(UserSearchCondition condition, OutputStream out) throws IOException {
+        if (!exportPermits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many user exports in progress");
+        }
+        List<UserDto> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+        try {
+            userRepository.streamAll(condition, resolveRoleId(condition), user -> {
+                batch.add(user);
+                if (batch.size() == EXPORT_BATCH_SIZE) {
+                    writeBatch(batch, out);
+                }
+            });
+            writeBatch(batch, out);
+            out.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            exportPermits.release();
+        }
+    }
+
+    private void writeBatch(List<UserDto> batch, OutputStream out) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        fillRoles(batch);
+        try {
+            for (UserDto user : batch) {
+                out.write(objectMapper.writeValueAsBytes(user));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        batch.clear();
+    }
+
+    private void fillRoles(List<UserDto> users) {
+        Map<Long, Set<String>> roles = userRepository.findRoleNames(
+                users.stream().map(UserDto::getId).collect(Collectors.toList()));
+        users.forEach(user -> user.setRoles(roles.getOrDefault(user.getId(), Collections.emptySet())));
+    }
+
+    /**
+     * @return 역할 조건이 없으면 null, 없는 역할이면 어떤 행과도 맞지 않는 id
+     */
+    private Long resolveRoleId(UserSearchCondition condition) {
+        if (!StringUtils.hasText(condition.getRole())) {
+            return null;
+        }
+        return roleCache.findByName(condition.getRole()).map(Role::getId).orElse(UNKNOWN_ROLE_ID);
     }
 
     @Transactional(readOnly = true)
@@ -41,26 +146,32 @@ public class UserService {
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
     }
 
-    @Transactional
+    /**
+     * BCrypt 해시는 트랜잭션 밖에서 계산해, 해시하는 동안 커넥션을 잡지 않는다.
+     */
     public UserDto createUser(UserCreateRequest request) {
+        // 이미 있는 이메일이면 해시 비용을 들이지 않는다. 동시 가입은 email 유니크 제약이 막는다
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("Email already exists");
         }
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
 
-        User user = User.builder()
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .name(request.getName())
-                .phoneNumber(request.getPhoneNumber())
-                .address(request.getAddress())
-                .status(AccountStatus.ACTIVE)
-                .build();
+        return transactionTemplate.execute(status -> {
+            User user = User.builder()
+                    .email(request.getEmail())
+                    .password(encodedPassword)
+                    .name(request.getName())
+                    .phoneNumber(request.getPhoneNumber())
+                    .address(request.getAddress())
+                    .status(AccountStatus.ACTIVE)
+                    .build();
 
-        Role userRole = roleRepository.findByName("ROLE_USER")
-                .orElseThrow(() -> new EntityNotFoundException("Default role not found"));
-        user.addRole(userRole);
+            Role userRole = roleCache.findByName("ROLE_USER")
+                    .orElseThrow(() -> new EntityNotFoundException("Default role not found"));
+            user.addRole(userRole);
 
-        return convertToDto(userRepository.save(user));
+            return convertToDto(userRepository.save(user));
+        });
     }
 
     @Transactional
@@ -89,12 +200,14 @@ public class UserService {
         userRepository.save(user);
     }
 
-    @Transactional
+    /**
+     * 현재 비밀번호 검증과 새 비밀번호 해시는 트랜잭션 밖에서 한다.
+     * 그 사이 비밀번호가 바뀌었으면 검증한 해시가 더 이상 유효하지 않으므로 저장하지 않고 거절한다.
+     */
     public void changePassword(Long id, PasswordChangeRequest request) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
+        String currentHash = transactionTemplate.execute(status -> findUser(id).getPassword());
 
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+        if (!passwordEncoder.matches(request.getCurrentPassword(), currentHash)) {
             throw new IllegalArgumentException("Current password is incorrect");
         }
 
@@ -102,8 +215,15 @@ public class UserService {
             throw new IllegalArgumentException("New passwords do not match");
         }
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
+        String encodedPassword = passwordEncoder.encode(request.getNewPassword());
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = findUser(id);
+            if (!user.getPassword().equals(currentHash)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Password was changed concurrently");
+            }
+            user.setPassword(encodedPassword);
+            userRepository.save(user);
+        });
     }
 
     @Transactional
@@ -117,6 +237,11 @@ public class UserService {
         return convertToDto(userRepository.save(user));
     }
 
+    private User findUser(Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
+    }
+
     private UserDto convertToDto(User user) {
         return UserDto.builder()
                 .id(user.getId())
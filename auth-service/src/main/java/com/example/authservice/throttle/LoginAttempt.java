@@ -0,0 +1,11 @@
+package com.example.authservice.throttle;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class LoginAttempt {
+    private final int count;
+    private final long lastAttemptMillis;   // 0 이면 기존 값 유지
+}
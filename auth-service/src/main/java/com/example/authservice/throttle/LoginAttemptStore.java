@@ -0,0 +1,63 @@
+package com.example.authservice.throttle;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이메일별 로그인 실패를 users.login_attempts / last_login_attempt 에 일괄 기록한다.
+ * 여러 인스턴스가 같은 행에 쓰므로 값을 덮어쓰지 않고 증분을 더한다.
+ */
+@RequiredArgsConstructor
+public class LoginAttemptStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 마지막 실패가 windowStart 이후면 기존 횟수에 더하고, 그보다 오래됐으면 이번 증분으로 새로 시작한다.
+     *
+     * @param failures 이메일 → (지난 기록 이후 실패 횟수, 마지막 실패 시각)
+     */
+    public void addAll(Map<String, LoginAttempt> failures, Timestamp windowStart, int batchSize) {
+        List<Object[]> args = new ArrayList<>(Math.min(failures.size(), batchSize));
+        for (Map.Entry<String, LoginAttempt> entry : failures.entrySet()) {
+            LoginAttempt attempt = entry.getValue();
+            Timestamp lastAttempt = new Timestamp(attempt.getLastAttemptMillis());
+            args.add(new Object[]{windowStart, attempt.getCount(), attempt.getCount(), lastAttempt, lastAttempt, entry.getKey()});
+            if (args.size() == batchSize) {
+                add(args);
+                args.clear();
+            }
+        }
+        if (!args.isEmpty()) {
+            add(args);
+        }
+    }
+
+    public void resetAll(Collection<String> emails, int batchSize) {
+        List<Object[]> args = new ArrayList<>(Math.min(emails.size(), batchSize));
+        for (String email : emails) {
+            args.add(new Object[]{email});
+            if (args.size() == batchSize) {
+                jdbcTemplate.batchUpdate("UPDATE users SET login_attempts = 0 WHERE email = ?", args);
+                args.clear();
+            }
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE users SET login_attempts = 0 WHERE email = ?", args);
+        }
+    }
+
+    // login_attempts 를 먼저 계산하므로 CASE 는 갱신 전 last_login_attempt 를 본다
+    private void add(List<Object[]> args) {
+        jdbcTemplate.batchUpdate(
+                "UPDATE users SET login_attempts = CASE WHEN last_login_attempt >= ? THEN login_attempts + ? ELSE ? END, " +
+                        "last_login_attempt = GREATEST(COALESCE(last_login_attempt, ?), ?) WHERE email = ?",
+                args);
+    }
+}
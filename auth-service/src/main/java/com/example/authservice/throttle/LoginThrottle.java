@@ -0,0 +1,223 @@
+package com.example.authservice.throttle;
+
+import com.example.authservice.config.LoginThrottleProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이메일과 클라이언트 IP 별 로그인 실패를 세어, 한도를 넘은 시도는 비밀번호 검증(BCrypt) 전에 거절한다.
+ * 요청 경로는 메모리만 갱신하고, 이메일 실패는 백그라운드 스레드가 증분으로 모아 users 테이블에 더한다.
+ * 모든 인스턴스의 실패가 같은 행에 합산되므로, 로그인 시 사용자 행과 함께 읽은 값으로 클러스터 전체 한도를 검사한다
+ * ({@link #checkAccount}). 메모리 카운터는 DB 를 읽기 전에 이 인스턴스로 몰린 시도를 먼저 거르는 용도이며, IP 카운트는 저장하지 않는다.
+ */
+@Slf4j
+public class LoginThrottle {
+    // 추적 한도에 닿았을 때 내보낼 키를 고르려고 살펴보는 항목 수
+    private static final int EVICTION_SAMPLES = 16;
+
+    private final LoginThrottleProperties properties;
+    private final LoginAttemptStore store;
+    private final long emailWindowMillis;
+    private final long ipWindowMillis;
+    private final Map<String, SlidingWindowCounter> emailFailures = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindowCounter> ipFailures = new ConcurrentHashMap<>();
+    // 마지막 flush 이후의 이메일별 실패 증분과, 로그인에 성공해 DB 카운트를 0 으로 돌려야 하는 이메일
+    private final Map<String, LoginAttempt> pendingFailures = new ConcurrentHashMap<>();
+    private final Set<String> pendingResets = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService scheduler;
+
+    public LoginThrottle(LoginThrottleProperties properties, LoginAttemptStore store) {
+        this.properties = properties;
+        this.store = store;
+        this.emailWindowMillis = properties.getEmailWindow().toMillis();
+        this.ipWindowMillis = properties.getIpWindow().toMillis();
+    }
+
+    /**
+     * @throws LoginThrottledException 이 인스턴스가 본 이메일 또는 IP 의 최근 실패가 한도 이상
+     */
+    public void checkAllowed(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        if (exceeds(emailFailures.get(normalize(email)), now, emailWindowMillis, properties.getEmailMaxFailures())) {
+            log.warn("Login throttled for email {}", email);
+            throw new LoginThrottledException(retryAfterSeconds(now, emailWindowMillis));
+        }
+        if (exceeds(clientIp != null ? ipFailures.get(clientIp) : null, now, ipWindowMillis, properties.getIpMaxFailures())) {
+            log.warn("Login throttled for client {}", clientIp);
+            throw new LoginThrottledException(retryAfterSeconds(now, ipWindowMillis));
+        }
+    }
+
+    /**
+     * 모든 인스턴스가 기록한 실패(users 행)와 아직 기록하지 않은 이 인스턴스의 실패를 더해 검사한다.
+     *
+     * @param storedFailures     users.login_attempts
+     * @param lastFailureMillis  users.last_login_attempt, 없으면 0
+     * @throws LoginThrottledException 합계가 한도 이상
+     */
+    public void checkAccount(String email, int storedFailures, long lastFailureMillis) {
+        long now = System.currentTimeMillis();
+        String key = normalize(email);
+        boolean storedActive = lastFailureMillis > now - emailWindowMillis && !pendingResets.contains(key);
+        LoginAttempt pending = pendingFailures.get(key);
+        int failures = (storedActive ? storedFailures : 0) + (pending != null ? pending.getCount() : 0);
+        if (failures >= properties.getEmailMaxFailures()) {
+            log.warn("Login throttled for account {} after {} failures across instances", email, failures);
+            long lastFailure = Math.max(lastFailureMillis, pending != null ? pending.getLastAttemptMillis() : 0);
+            throw new LoginThrottledException(Math.max(1, (lastFailure + emailWindowMillis - now) / 1000));
+        }
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        String key = normalize(email);
+        if (key != null) {
+            increment(emailFailures, key, now, emailWindowMillis);
+            pendingFailures.merge(key, new LoginAttempt(1, now), LoginThrottle::merge);
+        }
+        if (clientIp != null) {
+            increment(ipFailures, clientIp, now, ipWindowMillis);
+        }
+    }
+
+    /**
+     * @param storedFailures 로그인 시 읽은 users.login_attempts, 0 이면 DB 에 되돌릴 것이 없다
+     */
+    public void recordSuccess(String email, int storedFailures) {
+        String key = normalize(email);
+        if (key == null) {
+            return;
+        }
+        emailFailures.remove(key);
+        if (pendingFailures.remove(key) != null || storedFailures > 0) {
+            pendingResets.add(key);
+        }
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "login-throttle-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getFlushInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flushQuietly();
+    }
+
+    /**
+     * 성공으로 초기화된 이메일을 먼저 0 으로 돌린 뒤 실패 증분을 더하고, 윈도가 지나 0 이 된 카운터를 정리한다.
+     */
+    void flush() {
+        long now = System.currentTimeMillis();
+        List<String> resets = new ArrayList<>();
+        for (Iterator<String> it = pendingResets.iterator(); it.hasNext(); ) {
+            resets.add(it.next());
+            it.remove();
+        }
+        Map<String, LoginAttempt> failures = new HashMap<>();
+        for (String email : pendingFailures.keySet()) {
+            LoginAttempt attempt = pendingFailures.remove(email);
+            if (attempt != null) {
+                failures.put(email, attempt);
+            }
+        }
+
+        try {
+            if (!resets.isEmpty()) {
+                store.resetAll(resets, properties.getFlushBatchSize());
+            }
+            if (!failures.isEmpty()) {
+                store.addAll(failures, new Timestamp(now - emailWindowMillis), properties.getFlushBatchSize());
+            }
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 기록한다. flush 도중 로그인에 성공한 이메일의 실패는 되살리지 않는다
+            failures.forEach((email, attempt) -> {
+                if (!pendingResets.contains(email)) {
+                    pendingFailures.merge(email, attempt, LoginThrottle::merge);
+                }
+            });
+            pendingResets.addAll(resets);
+            throw e;
+        }
+        emailFailures.values().removeIf(counter -> counter.estimate(now, emailWindowMillis) == 0);
+        ipFailures.values().removeIf(counter -> counter.estimate(now, ipWindowMillis) == 0);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush login attempts: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 추적 한도에 닿으면 새 키를 버리지 않고, 표본 중 가장 오래 전에 실패한 키를 내보낸다.
+     * 새 키를 거부하면 한도만큼 키를 채운 공격자가 이후 시도를 추적에서 빼낼 수 있다.
+     */
+    private void increment(Map<String, SlidingWindowCounter> counters, String key, long now, long windowMillis) {
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() >= properties.getMaxTrackedKeys()) {
+                evictOldest(counters);
+            }
+            counter = counters.computeIfAbsent(key, k -> new SlidingWindowCounter());
+        }
+        counter.increment(now, windowMillis);
+    }
+
+    private static void evictOldest(Map<String, SlidingWindowCounter> counters) {
+        String oldestKey = null;
+        long oldestMillis = Long.MAX_VALUE;
+        int sampled = 0;
+        for (Map.Entry<String, SlidingWindowCounter> entry : counters.entrySet()) {
+            long lastEventMillis = entry.getValue().getLastEventMillis();
+            if (lastEventMillis < oldestMillis) {
+                oldestKey = entry.getKey();
+                oldestMillis = lastEventMillis;
+            }
+            if (++sampled == EVICTION_SAMPLES) {
+                break;
+            }
+        }
+        if (oldestKey != null) {
+            counters.remove(oldestKey);
+        }
+    }
+
+    private static LoginAttempt merge(LoginAttempt a, LoginAttempt b) {
+        return new LoginAttempt(a.getCount() + b.getCount(), Math.max(a.getLastAttemptMillis(), b.getLastAttemptMillis()));
+    }
+
+    private static boolean exceeds(SlidingWindowCounter counter, long now, long windowMillis, int maxFailures) {
+        return counter != null && counter.estimate(now, windowMillis) >= maxFailures;
+    }
+
+    // 직전 윈도의 가중치가 줄어드는 현재 윈도 끝까지를 재시도 간격으로 안내한다
+    private static long retryAfterSeconds(long now, long windowMillis) {
+        return Math.max(1, (windowMillis - now % windowMillis) / 1000);
+    }
+
+    private static String normalize(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+}
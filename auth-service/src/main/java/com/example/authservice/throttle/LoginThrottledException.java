@@ -0,0 +1,26 @@
+package com.example.authservice.throttle;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 로그인 실패가 한도를 넘어 비밀번호 검증 전에 거절된 요청. 429 와 Retry-After 헤더로 응답한다.
+ */
+public class LoginThrottledException extends ResponseStatusException {
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super(HttpStatus.TOO_MANY_REQUESTS, "Too many failed login attempts");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getResponseHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return headers;
+    }
+}
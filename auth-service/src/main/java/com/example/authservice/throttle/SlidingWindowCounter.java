@@ -0,0 +1,61 @@
+package com.example.authservice.throttle;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는 슬라이딩 윈도 카운터. 현재/직전 고정 윈도 카운트를 하나의 long 에 담아 CAS 한 번으로 갱신하고,
+ * 직전 윈도 카운트는 현재 윈도에서 지난 비율만큼 줄여 더한다 (sliding window counter 근사).
+ * <pre>
+ *   63..32 윈도 번호 (now / windowMillis) | 31..16 직전 윈도 카운트 | 15..0 현재 윈도 카운트
+ * </pre>
+ */
+class SlidingWindowCounter {
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private final AtomicLong state = new AtomicLong();
+    private volatile long lastEventMillis;
+
+    void increment(long nowMillis, long windowMillis) {
+        long window = nowMillis / windowMillis;
+        while (true) {
+            long current = state.get();
+            long next = roll(current, window);
+            int count = (int) (next & MAX_COUNT);
+            next = (next & ~MAX_COUNT) | Math.min(count + 1, MAX_COUNT);
+            if (state.compareAndSet(current, next)) {
+                lastEventMillis = nowMillis;
+                return;
+            }
+        }
+    }
+
+    double estimate(long nowMillis, long windowMillis) {
+        long window = nowMillis / windowMillis;
+        long rolled = roll(state.get(), window);
+        int previous = (int) ((rolled >>> 16) & MAX_COUNT);
+        int current = (int) (rolled & MAX_COUNT);
+        double elapsed = (double) (nowMillis % windowMillis) / windowMillis;
+        return previous * (1 - elapsed) + current;
+    }
+
+    long getLastEventMillis() {
+        return lastEventMillis;
+    }
+
+    // 저장된 윈도가 지났으면 현재 윈도 기준으로 옮긴다 (한 칸이면 현재 → 직전, 두 칸 이상이면 모두 0)
+    private static long roll(long packed, long window) {
+        long stored = packed >>> 32;
+        if (stored >= window) {
+            // 다른 스레드가 이미 다음 윈도로 옮겼으면 그대로 둔다
+            return packed;
+        }
+        if (stored + 1 == window) {
+            return pack(window, (int) (packed & MAX_COUNT), 0);
+        }
+        return pack(window, 0, 0);
+    }
+
+    private static long pack(long window, int previous, int current) {
+        return (window << 32) | ((long) previous << 16) | current;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.authservice.cleanup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenCleanupJobTest {
+    private static final CronExpression MIDNIGHT = CronExpression.parse("0 0 0 * * *");
+
+    @Test
+    void holdsLeaseUntilShortlyBeforeNextRun() {
+        // 자정에 시작해 2분 만에 끝난 경우
+        LocalDateTime finishedAt = LocalDateTime.of(2024, 3, 1, 0, 2);
+
+        Duration hold = TokenCleanupJob.holdUntilNextRun(MIDNIGHT, finishedAt, Duration.ofMinutes(1));
+
+        assertThat(finishedAt.plus(hold)).isEqualTo(LocalDateTime.of(2024, 3, 1, 23, 59));
+    }
+
+    @Test
+    void releasesImmediatelyWhenNextRunIsWithinMargin() {
+        LocalDateTime finishedAt = LocalDateTime.of(2024, 3, 1, 23, 59, 30);
+
+        assertThat(TokenCleanupJob.holdUntilNextRun(MIDNIGHT, finishedAt, Duration.ofMinutes(1))).isZero();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.authservice.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthControllerTest {
+
+    @Test
+    void usesAddressAppendedByOutermostTrustedProxy() {
+        // 클라이언트가 위조한 값, LB 가 본 클라이언트 주소, 게이트웨이가 본 LB 주소
+        MockHttpServletRequest request = request("6.6.6.6, 203.0.113.7, 10.0.0.2");
+
+        assertThat(AuthController.clientIp(request, 1)).isEqualTo("10.0.0.2");
+        assertThat(AuthController.clientIp(request, 2)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void usesFirstHopWhenHeaderIsShorterThanProxyChain() {
+        assertThat(AuthController.clientIp(request("203.0.113.7"), 2)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void fallsBackToRemoteAddress() {
+        assertThat(AuthController.clientIp(request(null), 1)).isEqualTo("10.0.0.1");
+        // 신뢰 프록시가 없으면 헤더는 클라이언트가 넣은 값이다
+        assertThat(AuthController.clientIp(request("6.6.6.6"), 0)).isEqualTo("10.0.0.1");
+    }
+
+    private static MockHttpServletRequest request(String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
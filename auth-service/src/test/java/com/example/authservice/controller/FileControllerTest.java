@@ -0,0 +1,45 @@
+package com.example.authservice.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileControllerTest {
+    private static final long LENGTH = 1000;
+
+    @Test
+    void parsesClosedRange() {
+        assertThat(FileController.parseRange("bytes=0-99", LENGTH)).containsExactly(0, 99);
+        assertThat(FileController.parseRange("bytes=500-500", LENGTH)).containsExactly(500, 500);
+    }
+
+    @Test
+    void clampsEndToLastByte() {
+        assertThat(FileController.parseRange("bytes=900-", LENGTH)).containsExactly(900, 999);
+        assertThat(FileController.parseRange("bytes=900-5000", LENGTH)).containsExactly(900, 999);
+    }
+
+    @Test
+    void parsesSuffixRange() {
+        assertThat(FileController.parseRange("bytes=-100", LENGTH)).containsExactly(900, 999);
+        // 파일보다 긴 접미사는 파일 전체
+        assertThat(FileController.parseRange("bytes=-5000", LENGTH)).containsExactly(0, 999);
+    }
+
+    @Test
+    void reportsUnsatisfiableRange() {
+        assertThat(FileController.parseRange("bytes=1000-", LENGTH)).isSameAs(FileController.UNSATISFIABLE);
+        assertThat(FileController.parseRange("bytes=-0", LENGTH)).isSameAs(FileController.UNSATISFIABLE);
+        assertThat(FileController.parseRange("bytes=-10", 0)).isSameAs(FileController.UNSATISFIABLE);
+    }
+
+    @Test
+    void ignoresRangesItDoesNotServe() {
+        // null 이면 Range 를 무시하고 200 으로 전체를 보낸다
+        assertThat(FileController.parseRange("bytes=0-10,20-30", LENGTH)).isNull();
+        assertThat(FileController.parseRange("items=0-10", LENGTH)).isNull();
+        assertThat(FileController.parseRange("bytes=10", LENGTH)).isNull();
+        assertThat(FileController.parseRange("bytes=20-10", LENGTH)).isNull();
+        assertThat(FileController.parseRange("bytes=a-b", LENGTH)).isNull();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.authservice.service;
+
+import com.example.authservice.dto.LoginRequest;
+import com.example.authservice.model.AccountStatus;
+import com.example.authservice.model.Auth;
+import com.example.authservice.model.Role;
+import com.example.authservice.model.User;
+import com.example.authservice.repository.AuthRepository;
+import com.example.authservice.repository.RefreshTokenHistoryRepository;
+import com.example.authservice.repository.UserRepository;
+import com.example.authservice.throttle.LoginThrottle;
+import com.example.commonlib.config.JwtProperties;
+import com.example.commonlib.security.JwtSigningKeys;
+import com.example.commonlib.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+    private static final String SECRET =
+            "c2VjcmV0LWtleS1mb3ItbWljcm9zZXJ2aWNlcy1wcm9qZWN0LWp3dC10b2tlbi1nZW5lcmF0aW9uLWFuZC12YWxpZGF0aW9u";
+    private static final String EMAIL = "user@example.com";
+
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+    private AuthRepository authRepository;
+    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
+    private TransactionTemplate transactionTemplate;
+    private AuthService authService;
+    private User user;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        authRepository = mock(AuthRepository.class);
+        userRepository = mock(UserRepository.class);
+        passwordEncoder = mock(PasswordEncoder.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                inTransaction(() -> invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null)));
+        doAnswer(invocation -> inTransaction(() -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        })).when(transactionTemplate).executeWithoutResult(any());
+
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(properties, JwtSigningKeys.load(properties), null);
+        authService = new AuthService(tokenProvider, authRepository, userRepository, mock(TokenRevocationService.class),
+                mock(LoginThrottle.class), passwordEncoder, mock(RefreshTokenHistoryRepository.class), transactionTemplate);
+
+        user = User.builder()
+                .id(1L)
+                .email(EMAIL)
+                .password("$2a$10$hash")
+                .status(AccountStatus.ACTIVE)
+                .roles(Set.of(Role.builder().id(1L).name("ROLE_USER").build()))
+                .build();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{user, null});
+        when(userRepository.findForLogin(eq(EMAIL), any())).thenReturn(rows);
+    }
+
+    @Test
+    void checksPasswordOutsideTransactionAndRecordsSessionInside() {
+        List<Boolean> hashedInTransaction = new ArrayList<>();
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            hashedInTransaction.add(inTransaction.get());
+            return true;
+        });
+        List<Boolean> savedInTransaction = new ArrayList<>();
+        when(authRepository.save(any())).thenAnswer(invocation -> {
+            savedInTransaction.add(inTransaction.get());
+            return invocation.getArgument(0);
+        });
+
+        authService.login(login("secret"), "10.0.0.1");
+
+        assertThat(hashedInTransaction).containsExactly(false);
+        assertThat(savedInTransaction).containsExactly(true);
+    }
+
+    @Test
+    void rehashesOutsideTransaction() {
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(anyString())).thenReturn(true);
+        List<Boolean> encodedInTransaction = new ArrayList<>();
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            encodedInTransaction.add(inTransaction.get());
+            return "$2a$12$rehash";
+        });
+        when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        authService.login(login("secret"), "10.0.0.1");
+
+        assertThat(encodedInTransaction).containsExactly(false);
+        verify(userRepository).save(user);
+        assertThat(user.getPassword()).isEqualTo("$2a$12$rehash");
+    }
+
+    @Test
+    void wrongPasswordOpensNoWriteTransaction() {
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+
+        assertThatThrownBy(() -> authService.login(login("wrong"), "10.0.0.1"))
+                .isInstanceOf(BadCredentialsException.class);
+
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+        verify(authRepository, never()).save(any(Auth.class));
+    }
+
+    private Object inTransaction(Supplier<Object> callback) {
+        inTransaction.set(true);
+        try {
+            return callback.get();
+        } finally {
+            inTransaction.set(false);
+        }
+    }
+
+    private static LoginRequest login(String password) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(EMAIL);
+        request.setPassword(password);
+        return request;
+    }
+}
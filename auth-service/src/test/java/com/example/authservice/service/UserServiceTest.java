@@ -0,0 +1,187 @@
+package com.example.authservice.service;
+
+import com.example.authservice.dto.PasswordChangeRequest;
+import com.example.authservice.dto.UserCreateRequest;
+import com.example.authservice.dto.UserSearchCondition;
+import com.example.authservice.model.Role;
+import com.example.authservice.model.User;
+import com.example.authservice.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RoleCache roleCache = mock(RoleCache.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+    private final UserService userService = new UserService(userRepository, roleCache,
+            passwordEncoder, mock(FileStorageService.class), new ObjectMapper(), transactionTemplate, 1);
+
+    UserServiceTest() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction.set(true);
+            try {
+                return invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction.set(false);
+            }
+        });
+        doCallRealMethod().when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void hashesNewUserPasswordOutsideTransaction() {
+        when(passwordEncoder.encode("secret")).thenAnswer(invocation -> {
+            assertThat(inTransaction).isFalse();
+            return "hashed";
+        });
+        when(roleCache.findByName("ROLE_USER")).thenReturn(Optional.of(Role.builder().name("ROLE_USER").build()));
+        when(userRepository.save(any())).thenAnswer(invocation -> {
+            assertThat(inTransaction).isTrue();
+            return invocation.getArgument(0);
+        });
+
+        userService.createUser(createRequest("user@example.com", "secret"));
+
+        verify(userRepository).save(argThat(user -> "hashed".equals(user.getPassword())));
+    }
+
+    @Test
+    void rejectsDuplicateEmailBeforeHashing() {
+        when(userRepository.existsByEmail("user@example.com")).thenReturn(true);
+
+        assertThatThrownBy(() -> userService.createUser(createRequest("user@example.com", "secret")))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    void verifiesAndHashesPasswordOutsideTransaction() {
+        User user = user("old-hash");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("current", "old-hash")).thenAnswer(invocation -> {
+            assertThat(inTransaction).isFalse();
+            return true;
+        });
+        when(passwordEncoder.encode("next")).thenAnswer(invocation -> {
+            assertThat(inTransaction).isFalse();
+            return "new-hash";
+        });
+
+        userService.changePassword(1L, passwordChange("current", "next"));
+
+        assertThat(user.getPassword()).isEqualTo("new-hash");
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void rejectsPasswordChangeWhenChangedConcurrently() {
+        User stored = user("old-hash");
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(user("old-hash")))
+                .thenReturn(Optional.of(stored));
+        when(passwordEncoder.matches("current", "old-hash")).thenAnswer(invocation -> {
+            // 검증하는 동안 다른 요청이 비밀번호를 바꿨다
+            stored.setPassword("other-hash");
+            return true;
+        });
+        when(passwordEncoder.encode("next")).thenReturn("new-hash");
+
+        assertThatThrownBy(() -> userService.changePassword(1L, passwordChange("current", "next")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+        assertThat(stored.getPassword()).isEqualTo("other-hash");
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void rejectsExportBeyondConcurrencyLimit() throws Exception {
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            streaming.countDown();
+            finish.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(userRepository).streamAll(any(), any(), any());
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(this::export);
+        assertThat(streaming.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 첫 내보내기가 커서를 잡고 있는 동안 두 번째는 연결을 기다리지 않고 거절된다
+        assertThatThrownBy(this::export)
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        finish.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        doNothing().when(userRepository).streamAll(any(), any(), any());
+        assertThatCode(this::export).doesNotThrowAnyException();
+    }
+
+    @Test
+    void releasesPermitWhenExportFails() {
+        doThrow(new IllegalStateException("db down")).when(userRepository).streamAll(any(), any(), any());
+        assertThatThrownBy(this::export).isInstanceOf(IllegalStateException.class);
+
+        doNothing().when(userRepository).streamAll(any(), any(), any());
+        assertThatCode(this::export).doesNotThrowAnyException();
+    }
+
+    private static UserCreateRequest createRequest(String email, String password) {
+        UserCreateRequest request = new UserCreateRequest();
+        request.setEmail(email);
+        request.setPassword(password);
+        request.setName("user");
+        return request;
+    }
+
+    private static PasswordChangeRequest passwordChange(String current, String next) {
+        PasswordChangeRequest request = new PasswordChangeRequest();
+        request.setCurrentPassword(current);
+        request.setNewPassword(next);
+        request.setConfirmPassword(next);
+        return request;
+    }
+
+    private static User user(String password) {
+        return User.builder().id(1L).email("user@example.com").password(password).build();
+    }
+
+    private void export() {
+        try {
+            userService.exportUsers(new UserSearchCondition(), new ByteArrayOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
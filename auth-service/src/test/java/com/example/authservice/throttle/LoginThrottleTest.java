@@ -0,0 +1,164 @@
+package com.example.authservice.throttle;
+
+import com.example.authservice.config.LoginThrottleProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class LoginThrottleTest {
+    private static final String EMAIL = "user@example.com";
+
+    private LoginThrottleProperties properties;
+    private LoginAttemptStore store;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoginThrottleProperties();
+        properties.setEmailMaxFailures(3);
+        properties.setEmailWindow(Duration.ofMinutes(15));
+        properties.setIpMaxFailures(5);
+        properties.setIpWindow(Duration.ofMinutes(5));
+        store = mock(LoginAttemptStore.class);
+        throttle = new LoginThrottle(properties, store);
+    }
+
+    @Test
+    void blocksEmailAfterLocalFailures() {
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAllowed(EMAIL, "10.0.0." + i);
+            throttle.recordFailure(EMAIL, "10.0.0." + i);
+        }
+
+        // 대소문자, 공백이 달라도 같은 계정
+        assertThatThrownBy(() -> throttle.checkAllowed(" User@Example.com", "10.0.0.9"))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> throttle.checkAllowed("other@example.com", "10.0.0.9")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void blocksClientIpAcrossEmails() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> throttle.checkAllowed("new@example.com", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> throttle.checkAllowed("new@example.com", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkAccountAddsFailuresStoredByOtherInstances() {
+        long recent = System.currentTimeMillis() - 1000;
+        assertThatCode(() -> throttle.checkAccount(EMAIL, 2, recent)).doesNotThrowAnyException();
+
+        throttle.recordFailure(EMAIL, null);
+
+        assertThatThrownBy(() -> throttle.checkAccount(EMAIL, 2, recent))
+                .isInstanceOf(LoginThrottledException.class);
+    }
+
+    @Test
+    void checkAccountIgnoresStoredFailuresOutsideWindow() {
+        long stale = System.currentTimeMillis() - Duration.ofMinutes(16).toMillis();
+
+        assertThatCode(() -> throttle.checkAccount(EMAIL, 10, stale)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkAccountIgnoresStoredFailuresAfterSuccessUntilFlushed() {
+        long recent = System.currentTimeMillis() - 1000;
+        throttle.recordSuccess(EMAIL, 10);
+
+        assertThatCode(() -> throttle.checkAccount(EMAIL, 10, recent)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushResetsSucceededEmailsBeforeAddingFailureDeltas() {
+        throttle.recordSuccess(EMAIL, 4);
+        throttle.recordFailure(EMAIL, null);
+        throttle.recordFailure("other@example.com", null);
+        throttle.recordFailure("other@example.com", null);
+
+        throttle.flush();
+
+        ArgumentCaptor<Collection<String>> resets = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Map<String, LoginAttempt>> failures = ArgumentCaptor.forClass(Map.class);
+        InOrder inOrder = inOrder(store);
+        inOrder.verify(store).resetAll(resets.capture(), anyInt());
+        inOrder.verify(store).addAll(failures.capture(), any(Timestamp.class), anyInt());
+        assertThat(resets.getValue()).containsExactly(EMAIL);
+        assertThat(failures.getValue()).containsOnlyKeys(EMAIL, "other@example.com");
+        assertThat(failures.getValue().get(EMAIL).getCount()).isEqualTo(1);
+        assertThat(failures.getValue().get("other@example.com").getCount()).isEqualTo(2);
+
+        // 기록한 증분은 다음 flush 에 다시 보내지 않는다
+        throttle.flush();
+        verify(store).addAll(anyMap(), any(Timestamp.class), anyInt());
+    }
+
+    @Test
+    void successWithoutFailuresWritesNothing() {
+        throttle.recordSuccess(EMAIL, 0);
+
+        throttle.flush();
+
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedFlushKeepsDeltasForNextAttempt() {
+        throttle.recordFailure(EMAIL, null);
+        doThrow(new IllegalStateException("db down")).when(store).addAll(anyMap(), any(Timestamp.class), anyInt());
+
+        assertThatThrownBy(() -> throttle.flush()).isInstanceOf(IllegalStateException.class);
+        // 아직 DB 에 없지만 이 인스턴스가 기억하는 실패로 계정 한도를 계속 본다
+        assertThatThrownBy(() -> throttle.checkAccount(EMAIL, 2, System.currentTimeMillis()))
+                .isInstanceOf(LoginThrottledException.class);
+
+        throttle.recordFailure(EMAIL, null);
+        assertThatThrownBy(() -> throttle.flush()).isInstanceOf(IllegalStateException.class);
+        ArgumentCaptor<Map<String, LoginAttempt>> failures = ArgumentCaptor.forClass(Map.class);
+        verify(store, times(2)).addAll(failures.capture(), any(Timestamp.class), anyInt());
+        assertThat(failures.getValue().get(EMAIL).getCount()).isEqualTo(2);
+        verify(store, never()).resetAll(any(), anyInt());
+    }
+
+    @Test
+    void keepsTrackingNewKeysWhenFull() {
+        properties.setMaxTrackedKeys(2);
+        throttle = new LoginThrottle(properties, store);
+        throttle.recordFailure("a@example.com", null);
+        throttle.recordFailure("b@example.com", null);
+
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("c@example.com", null);
+        }
+
+        // 한도가 찼어도 새 이메일의 실패를 세어 막는다
+        assertThatThrownBy(() -> throttle.checkAllowed("c@example.com", null))
+                .isInstanceOf(LoginThrottledException.class);
+    }
+}
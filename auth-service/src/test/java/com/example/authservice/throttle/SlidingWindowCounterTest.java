@@ -0,0 +1,90 @@
+package com.example.authservice.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SlidingWindowCounterTest {
+    private static final long WINDOW = 1000;
+
+    @Test
+    void countsEventsInCurrentWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter();
+        counter.increment(10_000, WINDOW);
+        counter.increment(10_500, WINDOW);
+
+        assertThat(counter.estimate(10_999, WINDOW)).isCloseTo(2, within(1e-9));
+        assertThat(counter.getLastEventMillis()).isEqualTo(10_500);
+    }
+
+    @Test
+    void weightsPreviousWindowByRemainingFraction() {
+        SlidingWindowCounter counter = new SlidingWindowCounter();
+        for (int i = 0; i < 4; i++) {
+            counter.increment(10_100, WINDOW);
+        }
+        counter.increment(11_000, WINDOW);
+
+        // 다음 윈도의 1/4 지점: 직전 4건 중 3/4 + 현재 1건
+        assertThat(counter.estimate(11_250, WINDOW)).isCloseTo(4, within(1e-9));
+        assertThat(counter.estimate(11_750, WINDOW)).isCloseTo(2, within(1e-9));
+    }
+
+    @Test
+    void forgetsEverythingAfterTwoWindows() {
+        SlidingWindowCounter counter = new SlidingWindowCounter();
+        counter.increment(10_100, WINDOW);
+        counter.increment(10_200, WINDOW);
+
+        assertThat(counter.estimate(12_000, WINDOW)).isZero();
+        counter.increment(12_500, WINDOW);
+        assertThat(counter.estimate(12_500, WINDOW)).isCloseTo(1, within(1e-9));
+    }
+
+    @Test
+    void saturatesInsteadOfOverflowingIntoPreviousWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter();
+        for (int i = 0; i < 0x10000 + 10; i++) {
+            counter.increment(10_000, WINDOW);
+        }
+
+        assertThat(counter.estimate(10_000, WINDOW)).isCloseTo(0xFFFF, within(1e-9));
+        counter.increment(11_000, WINDOW);
+        assertThat(counter.estimate(11_000, WINDOW)).isCloseTo(0xFFFF + 1, within(1e-9));
+    }
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws InterruptedException {
+        SlidingWindowCounter counter = new SlidingWindowCounter();
+        int threads = 8;
+        int perThread = 1000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    counter.increment(10_000, WINDOW);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertThat(counter.estimate(10_000, WINDOW)).isCloseTo(threads * perThread, within(1e-9));
+    }
+}
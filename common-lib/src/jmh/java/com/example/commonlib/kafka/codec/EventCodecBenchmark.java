@@ -0,0 +1,106 @@
+package com.example.commonlib.kafka.codec;
+
+import com.example.commonlib.event.OrderCreatedEvent;
+import com.example.commonlib.event.PaymentProcessedEvent;
+import com.example.commonlib.kafka.KafkaTopics;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 JSON 경로와 바이너리 코덱의 레코드당 ns 와 바이트 수 비교.
+ * codec=json 은 binary-topics 를 비워 BinaryEventSerializer 가 JsonSerializer 로 위임하는 경로로, 이전 설정과 같다.
+ * 레코드 크기는 setup 에서 출력한다 (헤더 제외, Kafka 값 본문만).
+ * <pre>
+ * ./gradlew :common-lib:jmh
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    @Param({"json", "binary"})
+    public String codec;
+
+    private BinaryEventSerializer serializer;
+    private BinaryEventDeserializer deserializer;
+
+    private OrderCreatedEvent orderCreated;
+    private PaymentProcessedEvent paymentProcessed;
+    private byte[] orderCreatedBytes;
+    private Headers orderCreatedHeaders;
+    private byte[] paymentProcessedBytes;
+    private Headers paymentProcessedHeaders;
+
+    @Setup
+    public void setUp() {
+        serializer = new BinaryEventSerializer();
+        serializer.configure(Map.of(BinaryEventSerializer.BINARY_TOPICS,
+                "binary".equals(codec) ? KafkaTopics.ORDER_CREATED + "," + KafkaTopics.PAYMENT_PROCESSED : ""), false);
+        deserializer = new BinaryEventDeserializer();
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*"), false);
+
+        orderCreated = new OrderCreatedEvent(612_345_678_901_234_567L, 598_765_432_109_876_543L, new BigDecimal("129900.00"));
+        paymentProcessed = new PaymentProcessedEvent(612_345_678_901_234_567L, 612_345_679_001_234_567L,
+                new BigDecimal("129900.00"), "SUCCESS", null);
+
+        orderCreatedHeaders = new RecordHeaders();
+        orderCreatedBytes = serializer.serialize(KafkaTopics.ORDER_CREATED, orderCreatedHeaders, orderCreated);
+        paymentProcessedHeaders = new RecordHeaders();
+        paymentProcessedBytes = serializer.serialize(KafkaTopics.PAYMENT_PROCESSED, paymentProcessedHeaders, paymentProcessed);
+
+        System.out.printf("%n[%s] bytes/record OrderCreatedEvent=%d PaymentProcessedEvent=%d%n",
+                codec, orderCreatedBytes.length, paymentProcessedBytes.length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Benchmark
+    public byte[] serializeOrderCreated() {
+        return serializer.serialize(KafkaTopics.ORDER_CREATED, new RecordHeaders(), orderCreated);
+    }
+
+    @Benchmark
+    public Object deserializeOrderCreated() {
+        return deserializer.deserialize(KafkaTopics.ORDER_CREATED, copy(orderCreatedHeaders), orderCreatedBytes);
+    }
+
+    @Benchmark
+    public byte[] serializePaymentProcessed() {
+        return serializer.serialize(KafkaTopics.PAYMENT_PROCESSED, new RecordHeaders(), paymentProcessed);
+    }
+
+    @Benchmark
+    public Object deserializePaymentProcessed() {
+        return deserializer.deserialize(KafkaTopics.PAYMENT_PROCESSED, copy(paymentProcessedHeaders), paymentProcessedBytes);
+    }
+
+    // JsonDeserializer 는 읽은 타입 헤더를 지우므로 레코드마다 새 헤더로 읽는다 (컨슈머가 받는 레코드와 같다)
+    private static Headers copy(Headers headers) {
+        return new RecordHeaders(headers.toArray());
+    }
+}
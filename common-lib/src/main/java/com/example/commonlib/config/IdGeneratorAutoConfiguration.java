@@ -0,0 +1,28 @@
+package com.example.commonlib.config;
+
+import com.example.commonlib.id.TsidGenerator;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// EntityManagerFactory 보다 먼저 노드 번호를 정해 두어 첫 INSERT 부터 설정된 노드를 쓴다
+@Configuration
+@AutoConfigureBefore(name = "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration")
+@EnableConfigurationProperties(IdGeneratorProperties.class)
+public class IdGeneratorAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TsidGenerator tsidGenerator(IdGeneratorProperties properties) {
+        // 같은 테이블에 쓰는 두 인스턴스가 같은 노드를 쓰면 ID 가 충돌하므로 추측하지 않고 기동을 멈춘다
+        if (properties.getNodeId() == null) {
+            throw new IllegalStateException("id-generator.node-id (ID_NODE_ID) is required: " +
+                    "assign each instance a distinct node id between 0 and " + TsidGenerator.MAX_NODE);
+        }
+        TsidGenerator generator = new TsidGenerator(properties.getNodeId());
+        TsidGenerator.setDefault(generator);
+        return generator;
+    }
+}
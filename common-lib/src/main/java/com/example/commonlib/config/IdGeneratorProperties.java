@@ -0,0 +1,12 @@
+package com.example.commonlib.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "id-generator")
+public class IdGeneratorProperties {
+    private Integer nodeId;     // 필수, 0 ~ 1023. 같은 DB 에 쓰는 인스턴스마다 달라야 한다
+}
@@ -4,11 +4,66 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @ConfigurationProperties(prefix = "jwt")
 @Getter
 @Setter
 public class JwtProperties {
-    private String secret;
+    private Algorithm algorithm = Algorithm.HS512;
+    private String secret;              // HS512 서명 키, RS256 에서는 kid 없는 기존 토큰 검증용
+    private String jwksUri;             // RS256 검증 키를 가져올 auth-service JWKS 주소
+    private Duration jwksRefreshInterval = Duration.ofMinutes(5);
+    private Duration jwksMinRefreshInterval = Duration.ofSeconds(10);   // 모르는 kid 로 인한 즉시 갱신 최소 간격
+    private Signing signing = new Signing();
     private long accessTokenValidityInSeconds = 300; // 5 minutes
     private long refreshTokenValidityInSeconds = 2592000; // 30 days
-} 
\ No newline at end of file
+    private int verifiedTokenCacheSize = 10_000; // 0 이면 캐시하지 않음
+    private Identity identity = new Identity();
+    private Revocation revocation = new Revocation();
+
+    @Getter
+    @Setter
+    public static class Identity {
+        // 게이트웨이와 공유하는 신원 헤더 서명 키, 비어 있으면 신원 헤더를 신뢰하지 않는다
+        private String secret;
+    }
+
+    /**
+     * 폐기된 access token 브로드캐스트 수신 설정. 버킷 크기는 access token 유효 시간 동안의 폐기 건수 기준으로 잡는다.
+     */
+    @Getter
+    @Setter
+    public static class Revocation {
+        private boolean enabled = false;
+        private Duration bucketWidth = Duration.ofMinutes(1);
+        private int expectedPerBucket = 10_000;
+        private double falsePositiveRate = 0.01;
+    }
+
+    public enum Algorithm {
+        HS512,
+        RS256
+    }
+
+    /**
+     * 토큰 발급 서비스(auth-service)의 RS256 서명 키. 키를 교체할 때는 새 키를 먼저 목록에 추가해 JWKS 로 배포한 뒤
+     * active-kid 를 바꾸고, 이전 키는 발급된 토큰이 모두 만료된 후 제거한다.
+     */
+    @Getter
+    @Setter
+    public static class Signing {
+        private String activeKid;
+        private List<SigningKey> keys = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class SigningKey {
+        private String kid;
+        private String privateKey;  // PKCS#8 PEM, 서명에 사용하는 키만 필요
+        private String publicKey;   // X.509 PEM, privateKey 가 없을 때 (검증 전용 키)
+    }
+}
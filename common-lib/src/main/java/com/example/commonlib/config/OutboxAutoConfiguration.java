@@ -0,0 +1,38 @@
+package com.example.commonlib.config;
+
+import com.example.commonlib.outbox.OutboxPublisher;
+import com.example.commonlib.outbox.OutboxRelay;
+import com.example.commonlib.outbox.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+
+@Configuration
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxRepository outboxRepository(JdbcTemplate jdbcTemplate, OutboxProperties outboxProperties) {
+        return new OutboxRepository(jdbcTemplate, outboxProperties.getTable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxPublisher outboxPublisher(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        return new OutboxPublisher(outboxRepository, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository, KafkaTemplate<Object, Object> kafkaTemplate,
+                                   ObjectMapper objectMapper, OutboxProperties outboxProperties) {
+        return new OutboxRelay(outboxRepository, kafkaTemplate, objectMapper, outboxProperties);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.commonlib.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+    private boolean enabled = false;
+    private String table = "outbox_events";
+    private boolean initializeSchema = true;
+    private int batchSize = 500;
+    private Duration pollInterval = Duration.ofMillis(100);
+    private int parallelism = 1;            // 릴레이 스레드 수, 각 스레드는 서로 다른 shard 를 담당
+    private Duration leaseDuration = Duration.ofSeconds(30); // shard lease 유효 시간, send-timeout 보다 길어야 한다
+    private Duration sendTimeout = Duration.ofSeconds(10);
+    private int maxAttempts = 10;           // 이 횟수만큼 역직렬화에 실패한 행은 더 이상 릴레이하지 않는다
+    private boolean deleteAfterSend = true; // false 이면 삭제 대신 sent_at 을 기록
+}
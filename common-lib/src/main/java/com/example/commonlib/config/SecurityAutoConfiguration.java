@@ -1,11 +1,32 @@
 package com.example.commonlib.config;
 
+import com.example.commonlib.kafka.KafkaTopics;
+import com.example.commonlib.security.IdentityHeaders;
 import com.example.commonlib.security.JwtAuthenticationFilter;
+import com.example.commonlib.security.JwtKeyCache;
+import com.example.commonlib.security.JwtSigningKeys;
 import com.example.commonlib.security.JwtTokenProvider;
+import com.example.commonlib.security.RevokedTokenRegistry;
+import com.example.commonlib.security.TokenRevocationListener;
+import com.example.commonlib.security.TrustedIdentityFilter;
+import com.example.commonlib.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -15,6 +36,12 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.StringUtils;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -23,27 +50,117 @@ public class SecurityAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public JwtTokenProvider jwtTokenProvider(JwtProperties jwtProperties) {
-        return new JwtTokenProvider(jwtProperties);
+    public JwtSigningKeys jwtSigningKeys(JwtProperties jwtProperties) {
+        return JwtSigningKeys.load(jwtProperties);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "jwt", name = "algorithm", havingValue = "RS256")
+    public JwtKeyCache jwtKeyCache(JwtProperties jwtProperties, JwtSigningKeys jwtSigningKeys) {
+        URI jwksUri = StringUtils.hasText(jwtProperties.getJwksUri()) ? URI.create(jwtProperties.getJwksUri()) : null;
+        return new JwtKeyCache(jwtSigningKeys.getPublicKeys(), jwksUri,
+                jwtProperties.getJwksRefreshInterval(), jwtProperties.getJwksMinRefreshInterval());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtTokenProvider jwtTokenProvider(JwtProperties jwtProperties, JwtSigningKeys jwtSigningKeys,
+                                             ObjectProvider<JwtKeyCache> jwtKeyCache) {
+        return new JwtTokenProvider(jwtProperties, jwtSigningKeys, jwtKeyCache.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public VerifiedTokenCache verifiedTokenCache(JwtProperties jwtProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new VerifiedTokenCache(jwtProperties.getVerifiedTokenCacheSize(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "jwt.revocation", name = "enabled", havingValue = "true")
+    public RevokedTokenRegistry revokedTokenRegistry(JwtProperties jwtProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        JwtProperties.Revocation revocation = jwtProperties.getRevocation();
+        return new RevokedTokenRegistry(Duration.ofSeconds(jwtProperties.getAccessTokenValidityInSeconds()),
+                revocation.getBucketWidth(), revocation.getExpectedPerBucket(), revocation.getFalsePositiveRate(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "jwt.revocation", name = "enabled", havingValue = "true")
+    public TokenRevocationListener tokenRevocationListener(RevokedTokenRegistry revokedTokenRegistry) {
+        return new TokenRevocationListener(revokedTokenRegistry);
+    }
+
+    /**
+     * 폐기 수신 전용 컨테이너. 모든 인스턴스가 모든 폐기를 받아야 하므로 컨슈머 그룹 없이 파티션을 직접 할당받는다.
+     * 그룹이 없으면 오프셋을 커밋할 수 없으므로 MANUAL 로 두고 ack 하지 않는다. 기동할 때마다 처음부터 다시 읽는다.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "jwt.revocation", name = "enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> tokenRevocationListenerContainerFactory(
+            ConsumerFactory<Object, Object> consumerFactory) {
+        Map<String, Object> properties = new HashMap<>(consumerFactory.getConfigurationProperties());
+        properties.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // 보존 기간이 지나 0 번 오프셋이 지워졌으면 남아 있는 가장 앞에서 시작한다
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(properties));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+
+    /**
+     * 폐기는 토큰이 만료되면 의미가 없으므로 access token 유효 시간만큼만 보존해, 새 인스턴스가 처음부터 읽을 양을 제한한다.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "jwt.revocation", name = "enabled", havingValue = "true")
+    public NewTopic tokenRevokedTopic(JwtProperties jwtProperties) {
+        String retention = Long.toString(Duration.ofSeconds(jwtProperties.getAccessTokenValidityInSeconds())
+                .plus(jwtProperties.getRevocation().getBucketWidth()).toMillis());
+        // TokenRevocationListener 가 0 번 파티션을 직접 할당받으므로 파티션은 하나로 둔다
+        return TopicBuilder.name(KafkaTopics.TOKEN_REVOKED)
+                .partitions(1)
+                .config(TopicConfig.RETENTION_MS_CONFIG, retention)
+                .config(TopicConfig.SEGMENT_MS_CONFIG, retention)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtTokenProvider tokenProvider, VerifiedTokenCache verifiedTokenCache,
+                                                           ObjectProvider<RevokedTokenRegistry> revokedTokenRegistry) {
+        return new JwtAuthenticationFilter(tokenProvider, verifiedTokenCache, revokedTokenRegistry.getIfAvailable());
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtTokenProvider tokenProvider) {
-        return new JwtAuthenticationFilter(tokenProvider);
+    @ConditionalOnProperty(prefix = "jwt.identity", name = "secret")
+    public TrustedIdentityFilter trustedIdentityFilter(JwtProperties jwtProperties,
+                                                       ObjectProvider<RevokedTokenRegistry> revokedTokenRegistry) {
+        return new TrustedIdentityFilter(new IdentityHeaders(jwtProperties.getIdentity().getSecret()),
+                revokedTokenRegistry.getIfAvailable());
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter) 
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter,
+                                           ObjectProvider<TrustedIdentityFilter> trustedIdentityFilter)
             throws Exception {
         http
             .csrf().disable()
             .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             .and()
             .authorizeRequests()
-            // Auth Service - 사용자 생성 및 로그인 관련 엔드포인트만 허용
-            .antMatchers("/api/auth/signup", "/api/auth/login").permitAll()
+            // Auth Service - 사용자 생성, 로그인, 토큰 갱신(refresh token 이 자격 증명) 엔드포인트만 허용
+            .antMatchers("/api/auth/signup", "/api/auth/login", "/api/auth/refresh").permitAll()
+            // 업로드 파일 다운로드 - 이름이 내용 해시라 추측할 수 없고 CDN 캐시를 위해 공개
+            .antMatchers(HttpMethod.GET, "/api/files/**").permitAll()
+            // JWT 검증 공개 키 (JWKS)
+            .antMatchers("/.well-known/jwks.json").permitAll()
             // Swagger UI와 API 문서 관련 모든 경로 허용
             .antMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll()
             // Actuator 엔드포인트 허용
@@ -52,6 +169,8 @@ public class SecurityAutoConfiguration {
             .anyRequest().authenticated()
             .and()
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // 게이트웨이 신원 헤더가 있으면 JWT 검증보다 먼저 처리
+        trustedIdentityFilter.ifAvailable(filter -> http.addFilterBefore(filter, JwtAuthenticationFilter.class));
 
         return http.build();
     }
@@ -1,5 +1,48 @@
 package com.example.commonlib.event;
 
-public class BaseEvent {
+import lombok.Data;
 
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 모든 이벤트의 공통 envelope.
+ * 직렬화 시 Kafka 헤더({@link com.example.commonlib.kafka.EventHeaders})로도 복사되어,
+ * 컨슈머는 페이로드를 역직렬화하지 않고 라우팅/중복 제거/필터링을 할 수 있다.
+ */
+@Data
+public abstract class BaseEvent {
+    private String eventId;
+    private String eventType = getClass().getSimpleName();
+    private int schemaVersion = 1;
+    private Instant occurredAt;
+    private String correlationId;
+    private String partitionKey;
+
+    /**
+     * 발행 직전에 비어 있는 envelope 필드를 채운다. 이미 값이 있으면 유지하므로 재발행 시에도 eventId 가 바뀌지 않는다.
+     */
+    public void initEnvelope(String partitionKey) {
+        if (eventId == null) {
+            eventId = UUID.randomUUID().toString();
+        }
+        if (occurredAt == null) {
+            occurredAt = Instant.now();
+        }
+        if (correlationId == null) {
+            correlationId = eventId;
+        }
+        if (this.partitionKey == null) {
+            this.partitionKey = partitionKey;
+        }
+    }
+
+    /**
+     * 이 이벤트를 발생시킨 이벤트와 같은 correlation id 를 사용한다.
+     */
+    public void correlateWith(BaseEvent cause) {
+        if (cause != null) {
+            correlationId = cause.getCorrelationId() != null ? cause.getCorrelationId() : cause.getEventId();
+        }
+    }
 }
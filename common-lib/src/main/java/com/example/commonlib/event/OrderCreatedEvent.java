@@ -2,6 +2,7 @@ package com.example.commonlib.event;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
@@ -9,7 +10,8 @@ import java.math.BigDecimal;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class OrderCreatedEvent {
+@EqualsAndHashCode(callSuper = true)
+public class OrderCreatedEvent extends BaseEvent {
     private Long orderId;
     private Long userId;
     private BigDecimal totalAmount;
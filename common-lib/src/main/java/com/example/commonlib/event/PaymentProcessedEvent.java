@@ -2,6 +2,7 @@ package com.example.commonlib.event;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
@@ -9,7 +10,8 @@ import java.math.BigDecimal;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class PaymentProcessedEvent {
+@EqualsAndHashCode(callSuper = true)
+public class PaymentProcessedEvent extends BaseEvent {
     private Long orderId;
     private Long paymentId;
     private BigDecimal amount;
@@ -0,0 +1,19 @@
+package com.example.commonlib.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * 만료 전에 폐기된 access token. 모든 서비스 인스턴스가 받아 토큰의 exp 까지 거부한다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class TokenRevokedEvent extends BaseEvent {
+    private String tokenId;         // jti
+    private String subject;
+    private long expiresAtMillis;
+}
@@ -0,0 +1,93 @@
+package com.example.commonlib.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 시간 순으로 증가하는 64비트 ID 생성기 (Snowflake/TSID 방식).
+ * <pre>
+ * | 0 | 41비트 밀리초 (EPOCH_MILLIS 이후) | 10비트 노드 | 12비트 시퀀스 |
+ * </pre>
+ * 상태는 (밀리초, 시퀀스) 를 묶은 AtomicLong 하나라 락 없이 갱신된다. 한 밀리초에 4096개를 넘으면 다음 밀리초를 당겨 쓰고,
+ * 시계가 뒤로 가도 마지막 값에서 이어가므로 한 노드 안에서는 항상 단조 증가한다.
+ * 같은 테이블에 쓰는 인스턴스끼리 노드 번호만 다르면 충돌하지 않는다. 새 값이 항상 인덱스 오른쪽 끝에 붙는다.
+ */
+public final class TsidGenerator {
+    public static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private static volatile TsidGenerator defaultGenerator;
+
+    private final long node;
+    private final LongSupplier clock;
+    // (EPOCH 이후 밀리초 << SEQUENCE_BITS) | 시퀀스
+    private final AtomicLong state = new AtomicLong();
+
+    public TsidGenerator(int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    TsidGenerator(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    public long next() {
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long next = state.accumulateAndGet(now, (previous, current) -> Math.max(current, previous + 1));
+        return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                | (node << SEQUENCE_BITS)
+                | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * @return 13자리 Crockford Base32 문자열
+     */
+    public String nextString() {
+        return format(next());
+    }
+
+    public int getNode() {
+        return (int) node;
+    }
+
+    /**
+     * 고정 길이라 문자열로 정렬해도 ID 순서와 같다.
+     */
+    public static String format(long id) {
+        char[] chars = new char[13];
+        for (int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    public static long timestampMillis(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    /**
+     * Hibernate 가 직접 생성하는 {@link TsidIdentifierGenerator} 가 사용하는 인스턴스.
+     * 노드 번호를 추측하면 1024 개 중 두 인스턴스가 겹칠 수 있으므로, 설정으로 지정되기 전에는 ID 를 만들지 않는다.
+     */
+    public static TsidGenerator getDefault() {
+        TsidGenerator generator = defaultGenerator;
+        if (generator == null) {
+            throw new IllegalStateException("TsidGenerator node is not configured, set id-generator.node-id");
+        }
+        return generator;
+    }
+
+    public static void setDefault(TsidGenerator generator) {
+        defaultGenerator = generator;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.commonlib.kafka;
+
+import com.example.commonlib.event.BaseEvent;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * {@link BaseEvent} envelope 를 Kafka 헤더로 기록/복원한다. 값은 모두 UTF-8 문자열.
+ */
+public class EventHeaders {
+    public static final String EVENT_ID = "event-id";
+    public static final String EVENT_TYPE = "event-type";
+    public static final String SCHEMA_VERSION = "event-schema-version";
+    public static final String OCCURRED_AT = "event-occurred-at";
+    public static final String CORRELATION_ID = "correlation-id";
+    public static final String PARTITION_KEY = "partition-key";
+
+    private EventHeaders() {}
+
+    public static void write(Headers headers, BaseEvent event) {
+        put(headers, EVENT_ID, event.getEventId());
+        put(headers, EVENT_TYPE, event.getEventType());
+        put(headers, SCHEMA_VERSION, Integer.toString(event.getSchemaVersion()));
+        put(headers, OCCURRED_AT, event.getOccurredAt() != null ? Long.toString(event.getOccurredAt().toEpochMilli()) : null);
+        put(headers, CORRELATION_ID, event.getCorrelationId());
+        put(headers, PARTITION_KEY, event.getPartitionKey());
+    }
+
+    /**
+     * 헤더에 있는 값만 이벤트에 덮어쓴다.
+     */
+    public static void read(Headers headers, BaseEvent event) {
+        String value;
+        if ((value = get(headers, EVENT_ID)) != null) event.setEventId(value);
+        if ((value = get(headers, EVENT_TYPE)) != null) event.setEventType(value);
+        if ((value = get(headers, SCHEMA_VERSION)) != null) event.setSchemaVersion(Integer.parseInt(value));
+        if ((value = get(headers, OCCURRED_AT)) != null) event.setOccurredAt(Instant.ofEpochMilli(Long.parseLong(value)));
+        if ((value = get(headers, CORRELATION_ID)) != null) event.setCorrelationId(value);
+        if ((value = get(headers, PARTITION_KEY)) != null) event.setPartitionKey(value);
+    }
+
+    public static String get(Headers headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        Header header = headers.lastHeader(name);
+        return header != null && header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static void put(Headers headers, String name, String value) {
+        headers.remove(name);
+        if (value != null) {
+            headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
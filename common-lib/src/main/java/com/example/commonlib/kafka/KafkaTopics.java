@@ -4,6 +4,7 @@ public class KafkaTopics {
     public static final String ORDER_CREATED = "order-created";
     public static final String PAYMENT_PROCESSED = "payment-processed";
     public static final String ORDER_STATUS_UPDATED = "order-status-updated";
+    public static final String TOKEN_REVOKED = "token-revoked";
     
     private KafkaTopics() {}
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.example.commonlib.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 재시도 토픽 단계별 처리 건수. 실제 수신 토픽 이름으로 단계를 구분한다.
+ * 예) order-created → main, order-created-retry-0 → retry-0, order-created-dlt → dlt
+ */
+@RequiredArgsConstructor
+public class RetryTierMetrics {
+    public static final String METRIC_NAME = "kafka.listener.records";
+    public static final String DLT_SUFFIX = "-dlt";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public void success(String baseTopic, String receivedTopic) {
+        counter(baseTopic, receivedTopic, "success").increment();
+    }
+
+    public void failure(String baseTopic, String receivedTopic) {
+        counter(baseTopic, receivedTopic, "failure").increment();
+    }
+
+    public void deadLettered(String baseTopic, String receivedTopic) {
+        counter(baseTopic, receivedTopic, "dead-lettered").increment();
+    }
+
+    private Counter counter(String baseTopic, String receivedTopic, String outcome) {
+        return counters.computeIfAbsent(receivedTopic + '|' + outcome, key -> Counter.builder(METRIC_NAME)
+                .tag("topic", baseTopic)
+                .tag("tier", tier(baseTopic, receivedTopic))
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    static String tier(String baseTopic, String receivedTopic) {
+        if (receivedTopic.equals(baseTopic)) {
+            return "main";
+        }
+        if (receivedTopic.endsWith(DLT_SUFFIX)) {
+            return "dlt";
+        }
+        return receivedTopic.startsWith(baseTopic + "-")
+                ? receivedTopic.substring(baseTopic.length() + 1)
+                : receivedTopic;
+    }
+}
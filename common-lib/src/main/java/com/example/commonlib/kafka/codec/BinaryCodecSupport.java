@@ -0,0 +1,50 @@
+package com.example.commonlib.kafka.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 코덱 공통 필드 인코딩: 고정폭 long, scale + unscaled long 형태의 금액, 길이 접두 UTF-8 문자열.
+ * null 여부는 각 코덱의 flags 바이트로 표현한다.
+ */
+final class BinaryCodecSupport {
+    static final int AMOUNT_SIZE = 1 + Long.BYTES;
+
+    private BinaryCodecSupport() {}
+
+    static void putAmount(ByteBuffer buffer, BigDecimal amount) {
+        if (amount.scale() < Byte.MIN_VALUE || amount.scale() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Amount scale out of range: " + amount);
+        }
+        buffer.put((byte) amount.scale());
+        buffer.putLong(amount.unscaledValue().longValueExact());
+    }
+
+    static BigDecimal getAmount(ByteBuffer buffer) {
+        int scale = buffer.get();
+        return new BigDecimal(BigInteger.valueOf(buffer.getLong()), scale);
+    }
+
+    static int stringSize(String value) {
+        // UTF-8 은 char 당 최대 3 바이트
+        return Integer.BYTES + value.length() * 3;
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static boolean isSet(byte flags, int bit) {
+        return (flags & bit) != 0;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.commonlib.kafka.codec;
+
+import com.example.commonlib.event.BaseEvent;
+import com.example.commonlib.kafka.EventHeaders;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * 첫 바이트가 MAGIC 이면 바이너리 코덱으로, 아니면 JsonDeserializer 로 역직렬화한다.
+ * 바이너리로 전환하기 전의 프로듀서가 보낸 JSON 레코드도 그대로 읽을 수 있다.
+ * 바이너리 본문에는 envelope 이 없으므로 Kafka 헤더에서 복원한다.
+ */
+public class BinaryEventDeserializer implements Deserializer<Object> {
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length < EventCodecs.HEADER_SIZE || data[0] != EventCodecs.MAGIC) {
+            return headers != null
+                    ? jsonDeserializer.deserialize(topic, headers, data)
+                    : jsonDeserializer.deserialize(topic, data);
+        }
+
+        EventCodec<?> codec = EventCodecs.forId(data[1]);
+        if (codec == null) {
+            throw new SerializationException("Unknown binary event type " + data[1] + " on topic " + topic);
+        }
+        byte version = data[2];
+        if (version > codec.schemaVersion()) {
+            throw new SerializationException("Unsupported schema version " + version + " for " + codec.type().getSimpleName());
+        }
+        Object event;
+        try {
+            event = codec.decode(ByteBuffer.wrap(data, EventCodecs.HEADER_SIZE, data.length - EventCodecs.HEADER_SIZE), version);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Failed to decode " + codec.type().getSimpleName() + " on topic " + topic, e);
+        }
+        if (headers != null && event instanceof BaseEvent) {
+            EventHeaders.read(headers, (BaseEvent) event);
+        }
+        return event;
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
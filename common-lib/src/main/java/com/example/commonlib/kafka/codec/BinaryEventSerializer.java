@@ -0,0 +1,77 @@
+package com.example.commonlib.kafka.codec;
+
+import com.example.commonlib.event.BaseEvent;
+import com.example.commonlib.kafka.EventHeaders;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@value #BINARY_TOPICS} 에 지정된 토픽의 이벤트는 스키마 버전이 붙은 바이너리로,
+ * 나머지 토픽과 코덱이 없는 타입은 기존 JsonSerializer 로 직렬화한다.
+ * {@link BaseEvent} 의 envelope 은 두 경우 모두 Kafka 헤더로 기록되며, 바이너리 본문에는 포함되지 않는다.
+ */
+public class BinaryEventSerializer implements Serializer<Object> {
+    public static final String BINARY_TOPICS = "event.codec.binary-topics";
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private Set<String> binaryTopics = Collections.emptySet();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+        Object topics = configs.get(BINARY_TOPICS);
+        if (topics instanceof String && !((String) topics).isBlank()) {
+            binaryTopics = new HashSet<>(Arrays.asList(((String) topics).trim().split("\\s*,\\s*")));
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof byte[]) {
+            // 역직렬화에 실패해 원본 바이트 그대로 DLT 로 보내는 레코드
+            return (byte[]) data;
+        }
+        if (headers != null && data instanceof BaseEvent) {
+            EventHeaders.write(headers, (BaseEvent) data);
+        }
+        EventCodec<Object> codec = binaryTopics.contains(topic) ? codecFor(data) : null;
+        if (codec == null) {
+            return jsonSerializer.serialize(topic, headers, data);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(EventCodecs.HEADER_SIZE + codec.maxSize(data));
+        buffer.put(EventCodecs.MAGIC);
+        buffer.put(codec.typeId());
+        buffer.put(codec.schemaVersion());
+        codec.encode(data, buffer);
+        return buffer.position() == buffer.capacity()
+                ? buffer.array()
+                : Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EventCodec<Object> codecFor(Object data) {
+        return (EventCodec<Object>) EventCodecs.forType(data.getClass());
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
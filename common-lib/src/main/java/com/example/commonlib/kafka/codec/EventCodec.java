@@ -0,0 +1,28 @@
+package com.example.commonlib.kafka.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 이벤트 타입 하나의 바이너리 인코딩.
+ * 레코드 앞부분의 공통 헤더(매직 바이트, 타입 ID, 스키마 버전)는 {@link BinaryEventSerializer} 가 기록한다.
+ */
+public interface EventCodec<T> {
+
+    byte typeId();
+
+    byte schemaVersion();
+
+    Class<T> type();
+
+    /**
+     * @return 인코딩 결과의 최대 바이트 수 (버퍼 할당용)
+     */
+    int maxSize(T event);
+
+    void encode(T event, ByteBuffer buffer);
+
+    /**
+     * @param version 레코드에 기록된 스키마 버전. 이전 버전도 읽을 수 있어야 한다.
+     */
+    T decode(ByteBuffer buffer, byte version);
+}
@@ -0,0 +1,41 @@
+package com.example.commonlib.kafka.codec;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 바이너리 레코드 공통 헤더와 코덱 레지스트리.
+ * 레코드 형식: MAGIC(1) | typeId(1) | schemaVersion(1) | 코덱 본문
+ */
+final class EventCodecs {
+    // JSON 레코드는 '{' 로 시작하므로 첫 바이트로 두 형식을 구분할 수 있다
+    static final byte MAGIC = (byte) 0xB1;
+    static final int HEADER_SIZE = 3;
+
+    private static final List<EventCodec<?>> CODECS = List.of(
+            new OrderCreatedEventCodec(),
+            new PaymentProcessedEventCodec()
+    );
+
+    private static final Map<Class<?>, EventCodec<?>> BY_TYPE = new HashMap<>();
+    private static final Map<Byte, EventCodec<?>> BY_ID = new HashMap<>();
+
+    static {
+        for (EventCodec<?> codec : CODECS) {
+            BY_TYPE.put(codec.type(), codec);
+            BY_ID.put(codec.typeId(), codec);
+        }
+    }
+
+    private EventCodecs() {}
+
+    @SuppressWarnings("unchecked")
+    static <T> EventCodec<T> forType(Class<T> type) {
+        return (EventCodec<T>) BY_TYPE.get(type);
+    }
+
+    static EventCodec<?> forId(byte typeId) {
+        return BY_ID.get(typeId);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.commonlib.kafka.codec;
+
+import com.example.commonlib.event.OrderCreatedEvent;
+
+import java.nio.ByteBuffer;
+
+import static com.example.commonlib.kafka.codec.BinaryCodecSupport.*;
+
+/**
+ * v1: flags(1) | orderId(8) | userId(8) | amount scale(1) + unscaled(8)
+ */
+public class OrderCreatedEventCodec implements EventCodec<OrderCreatedEvent> {
+    private static final int HAS_ORDER_ID = 1;
+    private static final int HAS_USER_ID = 1 << 1;
+    private static final int HAS_AMOUNT = 1 << 2;
+
+    @Override
+    public byte typeId() {
+        return 1;
+    }
+
+    @Override
+    public byte schemaVersion() {
+        return 1;
+    }
+
+    @Override
+    public Class<OrderCreatedEvent> type() {
+        return OrderCreatedEvent.class;
+    }
+
+    @Override
+    public int maxSize(OrderCreatedEvent event) {
+        return 1 + Long.BYTES * 2 + AMOUNT_SIZE;
+    }
+
+    @Override
+    public void encode(OrderCreatedEvent event, ByteBuffer buffer) {
+        byte flags = 0;
+        if (event.getOrderId() != null) flags |= HAS_ORDER_ID;
+        if (event.getUserId() != null) flags |= HAS_USER_ID;
+        if (event.getTotalAmount() != null) flags |= HAS_AMOUNT;
+
+        buffer.put(flags);
+        if (event.getOrderId() != null) buffer.putLong(event.getOrderId());
+        if (event.getUserId() != null) buffer.putLong(event.getUserId());
+        if (event.getTotalAmount() != null) putAmount(buffer, event.getTotalAmount());
+    }
+
+    @Override
+    public OrderCreatedEvent decode(ByteBuffer buffer, byte version) {
+        byte flags = buffer.get();
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        if (isSet(flags, HAS_ORDER_ID)) event.setOrderId(buffer.getLong());
+        if (isSet(flags, HAS_USER_ID)) event.setUserId(buffer.getLong());
+        if (isSet(flags, HAS_AMOUNT)) event.setTotalAmount(getAmount(buffer));
+        return event;
+    }
+}
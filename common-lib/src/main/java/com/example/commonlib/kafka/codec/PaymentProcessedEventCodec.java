@@ -0,0 +1,91 @@
+package com.example.commonlib.kafka.codec;
+
+import com.example.commonlib.event.PaymentProcessedEvent;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static com.example.commonlib.kafka.codec.BinaryCodecSupport.*;
+
+/**
+ * v1: flags(1) | orderId(8) | paymentId(8) | amount scale(1) + unscaled(8) | status(1) [+ 문자열] | failureReason(문자열)
+ * status 는 STATUSES 의 순번으로 기록하고, 목록에 없는 값만 UNKNOWN_STATUS 뒤에 문자열로 기록한다.
+ */
+public class PaymentProcessedEventCodec implements EventCodec<PaymentProcessedEvent> {
+    // 순번이 곧 와이어 포맷이므로 항목은 뒤에만 추가한다
+    private static final List<String> STATUSES = List.of("SUCCESS", "FAILED", "CANCELLED", "REFUND_PENDING", "REFUNDED");
+    private static final byte UNKNOWN_STATUS = (byte) 0xFF;
+
+    private static final int HAS_ORDER_ID = 1;
+    private static final int HAS_PAYMENT_ID = 1 << 1;
+    private static final int HAS_AMOUNT = 1 << 2;
+    private static final int HAS_STATUS = 1 << 3;
+    private static final int HAS_FAILURE_REASON = 1 << 4;
+
+    @Override
+    public byte typeId() {
+        return 2;
+    }
+
+    @Override
+    public byte schemaVersion() {
+        return 1;
+    }
+
+    @Override
+    public Class<PaymentProcessedEvent> type() {
+        return PaymentProcessedEvent.class;
+    }
+
+    @Override
+    public int maxSize(PaymentProcessedEvent event) {
+        int size = 1 + Long.BYTES * 2 + AMOUNT_SIZE + 1;
+        if (event.getStatus() != null && !STATUSES.contains(event.getStatus())) {
+            size += stringSize(event.getStatus());
+        }
+        if (event.getFailureReason() != null) {
+            size += stringSize(event.getFailureReason());
+        }
+        return size;
+    }
+
+    @Override
+    public void encode(PaymentProcessedEvent event, ByteBuffer buffer) {
+        byte flags = 0;
+        if (event.getOrderId() != null) flags |= HAS_ORDER_ID;
+        if (event.getPaymentId() != null) flags |= HAS_PAYMENT_ID;
+        if (event.getAmount() != null) flags |= HAS_AMOUNT;
+        if (event.getStatus() != null) flags |= HAS_STATUS;
+        if (event.getFailureReason() != null) flags |= HAS_FAILURE_REASON;
+
+        buffer.put(flags);
+        if (event.getOrderId() != null) buffer.putLong(event.getOrderId());
+        if (event.getPaymentId() != null) buffer.putLong(event.getPaymentId());
+        if (event.getAmount() != null) putAmount(buffer, event.getAmount());
+        if (event.getStatus() != null) {
+            int ordinal = STATUSES.indexOf(event.getStatus());
+            if (ordinal >= 0) {
+                buffer.put((byte) ordinal);
+            } else {
+                buffer.put(UNKNOWN_STATUS);
+                putString(buffer, event.getStatus());
+            }
+        }
+        if (event.getFailureReason() != null) putString(buffer, event.getFailureReason());
+    }
+
+    @Override
+    public PaymentProcessedEvent decode(ByteBuffer buffer, byte version) {
+        byte flags = buffer.get();
+        PaymentProcessedEvent event = new PaymentProcessedEvent();
+        if (isSet(flags, HAS_ORDER_ID)) event.setOrderId(buffer.getLong());
+        if (isSet(flags, HAS_PAYMENT_ID)) event.setPaymentId(buffer.getLong());
+        if (isSet(flags, HAS_AMOUNT)) event.setAmount(getAmount(buffer));
+        if (isSet(flags, HAS_STATUS)) {
+            byte status = buffer.get();
+            event.setStatus(status == UNKNOWN_STATUS ? getString(buffer) : STATUSES.get(status));
+        }
+        if (isSet(flags, HAS_FAILURE_REASON)) event.setFailureReason(getString(buffer));
+        return event;
+    }
+}
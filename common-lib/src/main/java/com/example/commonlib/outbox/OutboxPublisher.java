@@ -0,0 +1,39 @@
+package com.example.commonlib.outbox;
+
+import com.example.commonlib.event.BaseEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 이벤트를 Kafka 로 바로 보내지 않고 현재 트랜잭션 안에서 outbox 테이블에 기록한다.
+ * 실제 전송은 {@link OutboxRelay} 가 커밋 이후 배치로 처리하므로, 요청 지연은 브로커 지연과 무관하고
+ * 롤백된 트랜잭션의 이벤트는 발행되지 않는다.
+ */
+@RequiredArgsConstructor
+public class OutboxPublisher {
+    // 같은 키의 이벤트는 항상 같은 shard 에 기록되어 한 릴레이 스레드가 순서대로 전송한다
+    static final int SHARD_COUNT = 64;
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public void publish(String topic, String key, Object event) {
+        if (event instanceof BaseEvent) {
+            // envelope 을 payload 에 함께 저장해 재전송되더라도 같은 eventId 로 발행된다
+            ((BaseEvent) event).initEnvelope(key);
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize outbox event: " + event, e);
+        }
+        int shard = key != null
+                ? Math.floorMod(key.hashCode(), SHARD_COUNT)
+                : ThreadLocalRandom.current().nextInt(SHARD_COUNT);
+        outboxRepository.insert(topic, key, payload, event.getClass().getName(), shard);
+    }
+}
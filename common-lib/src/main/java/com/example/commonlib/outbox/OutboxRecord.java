@@ -0,0 +1,14 @@
+package com.example.commonlib.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OutboxRecord {
+    private final long id;
+    private final String topic;
+    private final String key;
+    private final String payload;
+    private final String payloadType;
+}
@@ -0,0 +1,214 @@
+package com.example.commonlib.outbox;
+
+import com.example.commonlib.config.OutboxProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * outbox 테이블을 배치로 읽어 Kafka 로 전송한다.
+ * 먼저 미전송 행이 있는 shard 의 lease 를 얻고 그 shard 의 행만 읽으므로 인스턴스가 여럿이어도 한 행은 한 릴레이만 보낸다.
+ * 배치 안의 send 는 키별 순서를 지키는 범위에서 파이프라이닝하고,
+ * 성공한 행은 한 번의 DELETE(또는 UPDATE) 로 정리한다. 전송은 at-least-once 이다.
+ */
+@Slf4j
+public class OutboxRelay {
+    private final OutboxRepository outboxRepository;
+    private final KafkaTemplate<Object, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+    private final ScheduledExecutorService scheduler;
+    // 릴레이 스레드별 lease 소유자 id, 재시작하면 바뀌므로 죽은 인스턴스의 lease 는 만료로만 풀린다
+    private final String[] owners;
+
+    public OutboxRelay(OutboxRepository outboxRepository, KafkaTemplate<Object, Object> kafkaTemplate,
+                       ObjectMapper objectMapper, OutboxProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        if (properties.getLeaseDuration().compareTo(properties.getSendTimeout()) <= 0) {
+            // 전송을 기다리는 중에 lease 가 만료되면 다른 인스턴스가 같은 행을 다시 보낸다
+            throw new IllegalArgumentException("outbox.lease-duration must be longer than outbox.send-timeout");
+        }
+        String instance = UUID.randomUUID().toString().substring(0, 8);
+        this.owners = new String[properties.getParallelism()];
+        for (int worker = 0; worker < owners.length; worker++) {
+            owners[worker] = instance + "-" + worker;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(properties.getParallelism(), runnable ->
+                new Thread(runnable, "outbox-relay-" + sequence.incrementAndGet()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (properties.isInitializeSchema()) {
+            outboxRepository.createTableIfNotExists();
+        }
+        long interval = properties.getPollInterval().toMillis();
+        for (int worker = 0; worker < properties.getParallelism(); worker++) {
+            int shardGroup = worker;
+            scheduler.scheduleWithFixedDelay(() -> drain(shardGroup), interval, interval, TimeUnit.MILLISECONDS);
+        }
+        log.info("Outbox relay started with {} worker(s), batch size {}", properties.getParallelism(), properties.getBatchSize());
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdown();
+    }
+
+    private void drain(int worker) {
+        try {
+            // 배치가 가득 찼다면 밀린 행이 더 있다는 뜻이므로 다음 주기를 기다리지 않고 계속 읽는다
+            boolean more;
+            do {
+                more = relayBatch(worker);
+            } while (more && !scheduler.isShutdown());
+        } catch (Exception e) {
+            log.error("Outbox relay worker {} failed: {}", worker, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return 배치가 가득 찼고 전송 실패가 없어 곧바로 다음 배치를 읽어야 하면 true
+     */
+    boolean relayBatch(int worker) {
+        List<Integer> pending = outboxRepository.findPendingShards(
+                properties.getParallelism(), worker, properties.getMaxAttempts());
+        if (pending.isEmpty()) {
+            return false;
+        }
+        // 다른 인스턴스가 lease 를 가진 shard 는 건너뛴다: 같은 행을 여러 인스턴스가 중복 전송하지 않는다
+        String owner = owners[worker];
+        List<Integer> shards = outboxRepository.claimShards(pending, owner, properties.getLeaseDuration());
+        if (shards.isEmpty()) {
+            return false;
+        }
+        try {
+            List<OutboxRecord> records = outboxRepository.findPending(
+                    shards, properties.getMaxAttempts(), properties.getBatchSize());
+            return relay(records) && records.size() == properties.getBatchSize();
+        } finally {
+            outboxRepository.releaseShards(shards, owner);
+        }
+    }
+
+    /**
+     * 키마다 가장 앞선 미전송 행만 모아 한 라운드로 파이프라이닝하고, 성공한 키만 다음 행을 다음 라운드에 보낸다.
+     * 한 행이 실패하면 같은 키의 뒤 행은 이번 배치에서 보내지 않으므로 키별 순서가 유지된다.
+     * 서로 다른 키와 키가 없는 행은 같은 라운드에서 함께 전송된다.
+     *
+     * @return 모든 행을 보냈으면 true
+     */
+    private boolean relay(List<OutboxRecord> records) {
+        Map<String, Deque<OutboxRecord>> byKey = new LinkedHashMap<>();
+        List<OutboxRecord> round = new ArrayList<>();
+        for (OutboxRecord record : records) {
+            if (record.getKey() == null) {
+                round.add(record);
+            } else {
+                byKey.computeIfAbsent(record.getKey(), key -> new ArrayDeque<>()).add(record);
+            }
+        }
+        byKey.values().forEach(queue -> round.add(queue.poll()));
+
+        List<Long> sent = new ArrayList<>(records.size());
+        List<Long> poisoned = new ArrayList<>();
+        int held = 0;
+        long deadline = System.nanoTime() + properties.getSendTimeout().toNanos();
+        while (!round.isEmpty()) {
+            List<CompletableFuture<?>> sends = new ArrayList<>(round.size());
+            for (OutboxRecord record : round) {
+                Object event = decode(record);
+                if (event == null) {
+                    poisoned.add(record.getId());
+                    sends.add(null);
+                } else {
+                    sends.add(send(record, event));
+                }
+            }
+
+            List<OutboxRecord> next = new ArrayList<>();
+            for (int i = 0; i < round.size(); i++) {
+                OutboxRecord record = round.get(i);
+                Deque<OutboxRecord> rest = record.getKey() != null ? byKey.get(record.getKey()) : null;
+                if (await(record, sends.get(i), deadline)) {
+                    sent.add(record.getId());
+                    if (rest != null && !rest.isEmpty()) {
+                        next.add(rest.poll());
+                    }
+                } else if (rest != null) {
+                    // 실패(또는 역직렬화 불가) 행 뒤의 같은 키 행은 다음 주기까지 보류
+                    held += rest.size();
+                    rest.clear();
+                }
+            }
+            round.clear();
+            round.addAll(next);
+        }
+
+        if (properties.isDeleteAfterSend()) {
+            outboxRepository.deleteByIds(sent);
+        } else {
+            outboxRepository.markSent(sent);
+        }
+        // 역직렬화할 수 없는 행만 시도 횟수를 올려 max-attempts 이후에는 건너뛴다
+        outboxRepository.incrementAttempts(poisoned);
+        if (held > 0) {
+            log.warn("Held back {} outbox event(s) behind failed events with the same key", held);
+        }
+        return sent.size() == records.size();
+    }
+
+    private boolean await(OutboxRecord record, CompletableFuture<?> send, long deadline) {
+        if (send == null) {
+            return false;
+        }
+        try {
+            send.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            // 전송 실패 행은 그대로 두고 다음 주기에 다시 보낸다
+            log.warn("Failed to relay outbox event {} to {}: {}", record.getId(), record.getTopic(), e.toString());
+            return false;
+        }
+    }
+
+    private CompletableFuture<?> send(OutboxRecord record, Object event) {
+        try {
+            return kafkaTemplate.send(record.getTopic(), record.getKey(), event).completable();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Object decode(OutboxRecord record) {
+        try {
+            return objectMapper.readValue(record.getPayload(), Class.forName(record.getPayloadType()));
+        } catch (Exception e) {
+            log.error("Cannot decode outbox event {} of type {}: {}", record.getId(), record.getPayloadType(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.commonlib.outbox;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * outbox 테이블 JDBC 접근. 호출자의 트랜잭션에 참여하므로 이벤트 행은 비즈니스 데이터와 함께 커밋/롤백된다.
+ * 릴레이는 {table}_leases 의 shard 별 lease 를 먼저 얻은 뒤 그 shard 의 행만 읽으므로,
+ * 여러 인스턴스가 떠 있어도 한 shard(따라서 한 키)의 행은 한 번에 한 릴레이만 보낸다.
+ */
+public class OutboxRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final String leaseTable;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate, String table) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+        this.leaseTable = table + "_leases";
+    }
+
+    public void createTableIfNotExists() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "topic VARCHAR(255) NOT NULL, " +
+                "message_key VARCHAR(255), " +
+                "payload TEXT NOT NULL, " +
+                "payload_type VARCHAR(255) NOT NULL, " +
+                "shard INT NOT NULL, " +
+                "attempts INT NOT NULL DEFAULT 0, " +
+                "created_at TIMESTAMP NOT NULL, " +
+                "sent_at TIMESTAMP NULL)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + leaseTable + " (" +
+                "shard INT PRIMARY KEY, " +
+                "owner VARCHAR(64) NULL, " +
+                "lease_until TIMESTAMP NULL)");
+        // lease 는 UPDATE 로만 얻으므로 shard 행이 미리 있어야 한다
+        List<Integer> existing = jdbcTemplate.queryForList("SELECT shard FROM " + leaseTable, Integer.class);
+        for (int shard = 0; shard < OutboxPublisher.SHARD_COUNT; shard++) {
+            if (!existing.contains(shard)) {
+                try {
+                    jdbcTemplate.update("INSERT INTO " + leaseTable + " (shard) VALUES (?)", shard);
+                } catch (DuplicateKeyException e) {
+                    // 다른 인스턴스가 동시에 만든 경우
+                }
+            }
+        }
+    }
+
+    public void insert(String topic, String key, String payload, String payloadType, int shard) {
+        jdbcTemplate.update("INSERT INTO " + table +
+                        " (topic, message_key, payload, payload_type, shard, attempts, created_at) VALUES (?, ?, ?, ?, ?, 0, ?)",
+                topic, key, payload, payloadType, shard, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * shard % parallelism == worker 이면서 미전송 행이 있는 shard 목록.
+     */
+    public List<Integer> findPendingShards(int parallelism, int worker, int maxAttempts) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT shard FROM " + table +
+                        " WHERE sent_at IS NULL AND attempts < ? AND MOD(shard, ?) = ?",
+                Integer.class, maxAttempts, parallelism, worker);
+    }
+
+    /**
+     * 비어 있거나 만료됐거나 이미 owner 가 가진 shard 의 lease 를 지금부터 duration 동안 얻는다.
+     * 한 UPDATE 로 처리되므로 두 인스턴스가 같은 shard 를 동시에 얻을 수 없다.
+     * 만료 시각은 DB 시계로 계산하고 비교하므로 인스턴스 사이의 시계 차이가 lease 를 겹치게 하지 않는다.
+     *
+     * @return 실제로 얻은 shard
+     */
+    public List<Integer> claimShards(Collection<Integer> shards, String owner, Duration duration) {
+        if (shards.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String in = placeholders(shards.size());
+        List<Object> args = new ArrayList<>(shards.size() + 3);
+        args.add(owner);
+        // 초 단위로 올림해 send-timeout 보다 짧아지지 않게 한다
+        args.add((duration.toMillis() + 999) / 1000);
+        args.addAll(shards);
+        args.add(owner);
+        jdbcTemplate.update("UPDATE " + leaseTable + " SET owner = ?, lease_until = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP)" +
+                " WHERE shard IN (" + in + ")" +
+                " AND (owner = ? OR lease_until IS NULL OR lease_until < CURRENT_TIMESTAMP)", args.toArray());
+
+        List<Object> selectArgs = new ArrayList<>(shards.size() + 1);
+        selectArgs.add(owner);
+        selectArgs.addAll(shards);
+        return jdbcTemplate.queryForList("SELECT shard FROM " + leaseTable +
+                " WHERE owner = ? AND lease_until >= CURRENT_TIMESTAMP AND shard IN (" + in + ")", Integer.class, selectArgs.toArray());
+    }
+
+    public int releaseShards(Collection<Integer> shards, String owner) {
+        if (shards.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(shards.size() + 1);
+        args.add(owner);
+        args.addAll(shards);
+        return jdbcTemplate.update("UPDATE " + leaseTable + " SET owner = NULL, lease_until = NULL" +
+                " WHERE owner = ? AND shard IN (" + placeholders(shards.size()) + ")", args.toArray());
+    }
+
+    /**
+     * 주어진 shard 의 미전송 행을 id 순으로 최대 limit 개 읽는다. 호출자는 해당 shard 의 lease 를 갖고 있어야 한다.
+     */
+    public List<OutboxRecord> findPending(Collection<Integer> shards, int maxAttempts, int limit) {
+        if (shards.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> args = new ArrayList<>(shards.size() + 2);
+        args.add(maxAttempts);
+        args.addAll(shards);
+        args.add(limit);
+        return jdbcTemplate.query("SELECT id, topic, message_key, payload, payload_type FROM " + table +
+                        " WHERE sent_at IS NULL AND attempts < ? AND shard IN (" + placeholders(shards.size()) + ")" +
+                        " ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new OutboxRecord(
+                        rs.getLong("id"),
+                        rs.getString("topic"),
+                        rs.getString("message_key"),
+                        rs.getString("payload"),
+                        rs.getString("payload_type")),
+                args.toArray());
+    }
+
+    public int deleteByIds(Collection<Long> ids) {
+        return updateByIds("DELETE FROM " + table + " WHERE id IN (%s)", ids, null);
+    }
+
+    public int markSent(Collection<Long> ids) {
+        return updateByIds("UPDATE " + table + " SET sent_at = ? WHERE id IN (%s)", ids,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public int incrementAttempts(Collection<Long> ids) {
+        return updateByIds("UPDATE " + table + " SET attempts = attempts + 1 WHERE id IN (%s)", ids, null);
+    }
+
+    private int updateByIds(String sqlTemplate, Collection<Long> ids, Object leadingArg) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        if (leadingArg != null) {
+            args.add(leadingArg);
+        }
+        args.addAll(ids);
+        String sql = String.format(sqlTemplate, placeholders(ids.size()));
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.commonlib.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * 게이트웨이가 JWT 를 검증한 뒤 전달하는 내부 신원 헤더.
+ * 서명은 HMAC-SHA256(method \n path \n user \n roles \n expires \n tokenId) 이며, gateway-service 의 JwtAuthenticationGlobalFilter 와 같은 형식을 사용한다.
+ * 메서드와 경로(인코딩된 그대로)를 함께 서명하므로 헤더를 다른 요청에 옮겨 붙이면 검증에 실패한다.
+ */
+public class IdentityHeaders {
+    public static final String USER = "X-Auth-User";
+    public static final String ROLES = "X-Auth-Roles";
+    public static final String EXPIRES = "X-Auth-Expires";
+    public static final String TOKEN_ID = "X-Auth-Token-Id";   // jti, 없으면 빈 문자열
+    public static final String SIGNATURE = "X-Auth-Signature";
+
+    private final ThreadLocal<Mac> mac;
+
+    public IdentityHeaders(String secret) {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance("HmacSHA256");
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 not available", e);
+            }
+        });
+    }
+
+    public String sign(String method, String path, String user, String roles, String expires, String tokenId) {
+        byte[] signature = mac.get().doFinal(payload(method, path, user, roles, expires, tokenId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    public boolean verify(String method, String path, String user, String roles, String expires, String tokenId,
+                          String signature) {
+        if (method == null || path == null || user == null || roles == null || expires == null || tokenId == null
+                || signature == null) {
+            return false;
+        }
+        byte[] expected = mac.get().doFinal(payload(method, path, user, roles, expires, tokenId));
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private static byte[] payload(String method, String path, String user, String roles, String expires, String tokenId) {
+        return (method + '\n' + path + '\n' + user + '\n' + roles + '\n' + expires + '\n' + tokenId)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.commonlib.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 발급한 토큰과 폐기에 필요한 jti, 만료 시각.
+ */
+@Getter
+@RequiredArgsConstructor
+public class IssuedToken {
+    private final String token;
+    private final String tokenId;
+    private final long expiresAtMillis;
+}
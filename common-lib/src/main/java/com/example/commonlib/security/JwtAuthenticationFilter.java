@@ -1,7 +1,8 @@
 package com.example.commonlib.security;
 
-import com.example.commonlib.config.JwtProperties;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
@@ -13,24 +14,60 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
+@Slf4j
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RevokedTokenRegistry revokedTokenRegistry;   // 폐기 수신을 끄면 null
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String token = resolveToken(request);
 
-        if (StringUtils.hasText(token) && tokenProvider.validateToken(token)) {
-            Authentication authentication = tokenProvider.getAuthentication(token);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        // TrustedIdentityFilter 가 게이트웨이 신원 헤더로 이미 인증한 요청은 다시 검증하지 않는다
+        boolean authenticated = SecurityContextHolder.getContext().getAuthentication() != null;
+        if (!authenticated && StringUtils.hasText(token)) {
+            VerifiedToken verified = resolveVerifiedToken(token);
+            if (verified != null && isRevoked(verified)) {
+                log.info("Rejected revoked JWT token for {}", verified.getSubject());
+                verifiedTokenCache.invalidate(token);
+                verified = null;
+            }
+            if (verified != null) {
+                Authentication authentication = verified.toAuthentication(token);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 캐시에 있으면 서명 검증 없이 사용하고, 없으면 한 번만 파싱해 검증과 클레임 추출을 함께 처리한다.
+     */
+    private VerifiedToken resolveVerifiedToken(String token) {
+        VerifiedToken verified = verifiedTokenCache.get(token);
+        if (verified != null) {
+            return verified;
+        }
+        try {
+            verified = tokenProvider.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.info("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
+        verifiedTokenCache.put(token, verified);
+        return verified;
+    }
+
+    private boolean isRevoked(VerifiedToken verified) {
+        return revokedTokenRegistry != null
+                && revokedTokenRegistry.isRevoked(verified.getTokenId(), verified.getExpiresAtMillis());
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,50 @@
+package com.example.commonlib.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+
+import java.security.Key;
+
+/**
+ * 토큰 헤더의 kid 로 검증 키를 찾는다. kid 가 없는 토큰은 RS256 전환 이전에 HS512 로 발급된 토큰으로 보고
+ * 공유 비밀 키가 설정된 경우에만 허용한다.
+ */
+class JwtKeyResolver extends SigningKeyResolverAdapter {
+    private final JwtKeyCache keyCache;
+    private final Key legacyKey;
+
+    JwtKeyResolver(JwtKeyCache keyCache, Key legacyKey) {
+        this.keyCache = keyCache;
+        this.legacyKey = legacyKey;
+    }
+
+    // SigningKeyResolverAdapter 가 raw JwsHeader 로 선언하므로 재정의도 raw 타입이어야 한다
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        return resolve(header);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Key resolveSigningKey(JwsHeader header, String plaintext) {
+        return resolve(header);
+    }
+
+    private Key resolve(JwsHeader<?> header) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (legacyKey == null) {
+                throw new JwtException("Missing key id");
+            }
+            return legacyKey;
+        }
+        Key key = keyCache.get(kid);
+        if (key == null) {
+            throw new JwtException("Unknown key id: " + kid);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.commonlib.security;
+
+import com.example.commonlib.config.JwtProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * RS256 서명 키 묶음. 활성 키 하나로 서명하고, 공개 키 전체를 JWKS 로 내보낸다.
+ */
+@Slf4j
+public class JwtSigningKeys {
+    private static final JwtSigningKeys NONE = new JwtSigningKeys(null, null, Collections.emptyMap());
+
+    private final String activeKid;
+    private final PrivateKey activePrivateKey;
+    private final Map<String, PublicKey> publicKeys;
+
+    private JwtSigningKeys(String activeKid, PrivateKey activePrivateKey, Map<String, PublicKey> publicKeys) {
+        this.activeKid = activeKid;
+        this.activePrivateKey = activePrivateKey;
+        this.publicKeys = publicKeys;
+    }
+
+    /**
+     * HS512 이거나 서명 키가 설정되지 않은 검증 전용 서비스는 빈 키 묶음을 사용한다.
+     * RS256 인데 키도 JWKS 주소도 없으면 발급 서비스로 보고 임시 키를 생성한다 (재시작하면 기존 토큰은 무효).
+     */
+    public static JwtSigningKeys load(JwtProperties properties) {
+        if (properties.getAlgorithm() != JwtProperties.Algorithm.RS256) {
+            return NONE;
+        }
+        JwtProperties.Signing signing = properties.getSigning();
+        if (signing.getKeys().isEmpty()) {
+            if (StringUtils.hasText(properties.getJwksUri())) {
+                return NONE;
+            }
+            log.warn("No RS256 signing keys configured, generating an ephemeral key pair");
+            return ephemeral();
+        }
+
+        Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+        PrivateKey activePrivateKey = null;
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            for (JwtProperties.SigningKey key : signing.getKeys()) {
+                if (StringUtils.hasText(key.getPrivateKey())) {
+                    PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(key.getPrivateKey())));
+                    publicKeys.put(key.getKid(), derivePublicKey(keyFactory, privateKey, key));
+                    if (key.getKid().equals(signing.getActiveKid())) {
+                        activePrivateKey = privateKey;
+                    }
+                } else {
+                    publicKeys.put(key.getKid(), keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(key.getPublicKey()))));
+                }
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid JWT signing key configuration", e);
+        }
+        if (activePrivateKey == null) {
+            throw new IllegalStateException("No private key configured for active kid: " + signing.getActiveKid());
+        }
+        return new JwtSigningKeys(signing.getActiveKid(), activePrivateKey, Collections.unmodifiableMap(publicKeys));
+    }
+
+    private static JwtSigningKeys ephemeral() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+            String kid = "ephemeral-" + UUID.randomUUID();
+            return new JwtSigningKeys(kid, keyPair.getPrivate(), Map.of(kid, keyPair.getPublic()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to generate RSA key pair", e);
+        }
+    }
+
+    public boolean canSign() {
+        return activePrivateKey != null;
+    }
+
+    public String getActiveKid() {
+        return activeKid;
+    }
+
+    public PrivateKey getActivePrivateKey() {
+        return activePrivateKey;
+    }
+
+    public Map<String, PublicKey> getPublicKeys() {
+        return publicKeys;
+    }
+
+    /**
+     * RFC 7517 JWK Set 형식의 공개 키 목록.
+     */
+    public Map<String, Object> toJwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        publicKeys.forEach((kid, publicKey) -> {
+            if (publicKey instanceof RSAPublicKey) {
+                RSAPublicKey rsa = (RSAPublicKey) publicKey;
+                Map<String, Object> jwk = new LinkedHashMap<>();
+                jwk.put("kty", "RSA");
+                jwk.put("kid", kid);
+                jwk.put("use", "sig");
+                jwk.put("alg", "RS256");
+                jwk.put("n", base64Url(rsa.getModulus()));
+                jwk.put("e", base64Url(rsa.getPublicExponent()));
+                keys.add(jwk);
+            }
+        });
+        return Map.of("keys", keys);
+    }
+
+    private static PublicKey derivePublicKey(KeyFactory keyFactory, PrivateKey privateKey, JwtProperties.SigningKey key)
+            throws GeneralSecurityException {
+        if (privateKey instanceof RSAPrivateCrtKey) {
+            RSAPrivateCrtKey crt = (RSAPrivateCrtKey) privateKey;
+            return keyFactory.generatePublic(new RSAPublicKeySpec(crt.getModulus(), crt.getPublicExponent()));
+        }
+        if (!StringUtils.hasText(key.getPublicKey())) {
+            throw new IllegalStateException("Public key required for kid: " + key.getKid());
+        }
+        return keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(key.getPublicKey())));
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // BigInteger 의 부호 바이트는 JWK 에 포함하지 않는다
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
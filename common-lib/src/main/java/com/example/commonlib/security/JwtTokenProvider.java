@@ -8,11 +8,15 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.util.StringUtils;
 
 import java.security.Key;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,54 +24,96 @@ public class JwtTokenProvider {
 
     private final Key key;
     private final JwtProperties jwtProperties;
+    private final JwtSigningKeys signingKeys;
+    // JwtParser 는 불변이고 스레드 안전하므로 한 번만 만든다
+    private final JwtParser jwtParser;
 
-    public JwtTokenProvider(JwtProperties jwtProperties) {
+    /**
+     * @param signingKeys RS256 서명 키 (검증 전용 서비스는 비어 있음)
+     * @param keyCache    RS256 검증 키, HS512 이면 null
+     */
+    public JwtTokenProvider(JwtProperties jwtProperties, JwtSigningKeys signingKeys, JwtKeyCache keyCache) {
         this.jwtProperties = jwtProperties;
-        this.key = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        this.signingKeys = signingKeys;
+        this.key = StringUtils.hasText(jwtProperties.getSecret())
+                ? Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes())
+                : null;
+        this.jwtParser = isRs256()
+                ? Jwts.parserBuilder().setSigningKeyResolver(new JwtKeyResolver(keyCache, key)).build()
+                : Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String createAccessToken(Authentication authentication) {
+        return issueAccessToken(authentication).getToken();
+    }
+
+    /**
+     * access token 을 발급하고 폐기에 필요한 jti 와 만료 시각을 함께 돌려준다.
+     */
+    public IssuedToken issueAccessToken(Authentication authentication) {
         long now = (new Date()).getTime();
-        Date validity = new Date(now + jwtProperties.getAccessTokenValidityInSeconds() * 1000);
+        // exp 는 초 단위로 직렬화되므로 밀리초를 버려 IssuedToken 의 만료 시각과 검증 시 읽는 exp 를 맞춘다
+        Date validity = new Date((now + jwtProperties.getAccessTokenValidityInSeconds() * 1000) / 1000 * 1000);
+        String tokenId = UUID.randomUUID().toString();
 
-        return Jwts.builder()
+        String token = sign(Jwts.builder()
+                .setId(tokenId)
                 .setSubject(authentication.getName())
                 .claim("roles", authentication.getAuthorities().stream()
                         .map(GrantedAuthority::getAuthority)
                         .collect(Collectors.toList()))
-                .signWith(key, SignatureAlgorithm.HS512)
-                .setExpiration(validity)
-                .compact();
+                .setExpiration(validity));
+        return new IssuedToken(token, tokenId, validity.getTime());
     }
 
     public String createRefreshToken() {
         long now = (new Date()).getTime();
         Date validity = new Date(now + jwtProperties.getRefreshTokenValidityInSeconds() * 1000);
 
-        return Jwts.builder()
-                .setExpiration(validity)
-                .signWith(key, SignatureAlgorithm.HS512)
+        return sign(Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setExpiration(validity));
+    }
+
+    private String sign(JwtBuilder builder) {
+        if (!isRs256()) {
+            return builder.signWith(key, SignatureAlgorithm.HS512).compact();
+        }
+        if (!signingKeys.canSign()) {
+            throw new IllegalStateException("No RS256 signing key configured for this service");
+        }
+        return builder
+                .setHeaderParam(JwsHeader.KEY_ID, signingKeys.getActiveKid())
+                .signWith(signingKeys.getActivePrivateKey(), SignatureAlgorithm.RS256)
                 .compact();
     }
 
+    private boolean isRs256() {
+        return jwtProperties.getAlgorithm() == JwtProperties.Algorithm.RS256;
+    }
+
+    /**
+     * 서명 검증과 클레임 추출을 한 번의 파싱으로 처리한다.
+     *
+     * @throws JwtException 서명이 맞지 않거나 만료된 토큰
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getSubject(),
+                extractAuthorities(claims),
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE,
+                claims.getId());
+    }
+
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        Collection<? extends GrantedAuthority> authorities =
-                Arrays.stream(claims.get("roles", String[].class))
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
-
-        return new UsernamePasswordAuthenticationToken(claims.getSubject(), token, authorities);
+        return verify(token).toAuthentication(token);
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            jwtParser.parseClaimsJws(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             log.info("Invalid JWT token: {}", e.getMessage());
@@ -75,6 +121,21 @@ public class JwtTokenProvider {
         }
     }
 
+    private static List<GrantedAuthority> extractAuthorities(Claims claims) {
+        Object roles = claims.get("roles");
+        Collection<?> values;
+        if (roles instanceof Collection) {
+            values = (Collection<?>) roles;
+        } else if (roles instanceof Object[]) {
+            values = Arrays.asList((Object[]) roles);
+        } else {
+            return Collections.emptyList();
+        }
+        return values.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role)))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
     public Long getRefreshTokenValidityInMilliseconds() {
         return jwtProperties.getRefreshTokenValidityInSeconds() * 1000;
     }
@@ -0,0 +1,201 @@
+package com.example.commonlib.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 폐기된 토큰 id(jti) 저장소.
+ * 토큰의 exp 를 bucketWidth 단위로 나눈 버킷마다 Bloom 필터를 두고, 버킷은 고정 크기 링에 담아 exp 가 지나면 다음 버킷이 자리를 재사용한다.
+ * 대부분의 요청은 Bloom 필터에서 바로 음성으로 끝나고, 양성일 때만 정확한 집합을 조회해 오탐으로 정상 토큰을 거부하지 않는다.
+ * 메모리는 링 크기 × 버킷 크기와 아직 만료되지 않은 폐기 건수로 제한된다.
+ */
+public class RevokedTokenRegistry {
+    public static final String METRIC_NAME = "jwt.revocation";
+
+    private static final int MAX_HASHES = 16;
+
+    private final long bucketWidthMillis;
+    private final int bitsPerBucket;    // 2의 거듭제곱
+    private final int hashes;
+    private final AtomicReferenceArray<Bucket> ring;
+    // jti -> exp. Bloom 양성 확인용이며 exp 가 지나면 정리한다
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // 링이 담을 수 있는 범위보다 exp 가 먼 토큰 (발급 서비스와 유효 시간 설정이 다를 때)
+    private final Map<String, Long> beyondHorizon = new ConcurrentHashMap<>();
+    private volatile long nextSweepMillis;
+    private final Counter revokedHits;
+    private final Counter falsePositives;
+
+    /**
+     * @param maxTokenLifetime  access token 최대 유효 시간, 링이 덮어야 하는 범위
+     * @param bucketWidth       버킷 하나가 담당하는 exp 구간
+     * @param expectedPerBucket 버킷 하나에 들어올 것으로 예상하는 폐기 건수
+     * @param falsePositiveRate 예상 건수에서의 Bloom 필터 오탐률
+     */
+    public RevokedTokenRegistry(Duration maxTokenLifetime, Duration bucketWidth, int expectedPerBucket,
+                                double falsePositiveRate, MeterRegistry meterRegistry) {
+        this.bucketWidthMillis = Math.max(1, bucketWidth.toMillis());
+        // 현재 버킷과 경계에 걸친 버킷까지 포함하도록 두 칸 여유를 둔다
+        int ringSize = (int) (maxTokenLifetime.toMillis() / bucketWidthMillis) + 2;
+        this.ring = new AtomicReferenceArray<>(ringSize);
+
+        double n = Math.max(1, expectedPerBucket);
+        double bits = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.bitsPerBucket = Integer.highestOneBit((int) Math.min(Integer.MAX_VALUE / 2, Math.ceil(bits)) * 2 - 1);
+        this.hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round(bitsPerBucket / n * Math.log(2))));
+
+        this.revokedHits = Counter.builder(METRIC_NAME + ".lookups").tag("result", "revoked").register(meterRegistry);
+        this.falsePositives = Counter.builder(METRIC_NAME + ".lookups").tag("result", "false-positive").register(meterRegistry);
+        meterRegistry.gaugeMapSize(METRIC_NAME + ".size", Collections.emptyList(), revoked);
+    }
+
+    public void revoke(String tokenId, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (tokenId == null || expiresAtMillis <= now) {
+            return;
+        }
+        long bucketId = bucketId(expiresAtMillis);
+        if (bucketId - now / bucketWidthMillis >= ring.length()) {
+            beyondHorizon.put(tokenId, expiresAtMillis);
+        } else {
+            revoked.put(tokenId, expiresAtMillis);
+            long hash = hash(tokenId);
+            Bucket bucket = bucketForWrite(bucketId);
+            if (bucket != null) {
+                bucket.add(hash, secondHash(hash), hashes);
+            }
+        }
+        sweepIfDue(now);
+    }
+
+    /**
+     * @param expiresAtMillis 검증된 토큰의 exp, 어느 버킷을 볼지 결정한다
+     */
+    public boolean isRevoked(String tokenId, long expiresAtMillis) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (!beyondHorizon.isEmpty() && beyondHorizon.containsKey(tokenId)) {
+            revokedHits.increment();
+            return true;
+        }
+        long bucketId = bucketId(expiresAtMillis);
+        Bucket bucket = ring.get(slot(bucketId));
+        if (bucket == null || bucket.id != bucketId) {
+            return false;
+        }
+        long hash = hash(tokenId);
+        if (!bucket.mightContain(hash, secondHash(hash), hashes)) {
+            return false;
+        }
+        if (revoked.containsKey(tokenId)) {
+            revokedHits.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    public int size() {
+        return revoked.size() + beyondHorizon.size();
+    }
+
+    // 검증 쪽 exp 는 초 단위라 항상 1000 의 배수다. 밀리초가 붙은 만료 시각으로 폐기돼도 같은 버킷을 보도록 초로 내린다
+    private long bucketId(long expiresAtMillis) {
+        return Math.floorDiv(expiresAtMillis - Math.floorMod(expiresAtMillis, 1000L), bucketWidthMillis);
+    }
+
+    private Bucket bucketForWrite(long bucketId) {
+        int slot = slot(bucketId);
+        while (true) {
+            Bucket current = ring.get(slot);
+            if (current != null && current.id == bucketId) {
+                return current;
+            }
+            if (current != null && current.id > bucketId) {
+                // 더 나중 exp 버킷이 자리를 차지했다면 이 exp 는 이미 지났다
+                return null;
+            }
+            Bucket created = new Bucket(bucketId, bitsPerBucket);
+            if (ring.compareAndSet(slot, current, created)) {
+                return created;
+            }
+        }
+    }
+
+    private int slot(long bucketId) {
+        return (int) Math.floorMod(bucketId, (long) ring.length());
+    }
+
+    private void sweepIfDue(long now) {
+        if (now < nextSweepMillis) {
+            return;
+        }
+        nextSweepMillis = now + bucketWidthMillis;
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        beyondHorizon.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    // FNV-1a 로 섞은 뒤 murmur3 finalizer 로 비트를 고르게 퍼뜨린다
+    private static long hash(String tokenId) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < tokenId.length(); i++) {
+            h ^= tokenId.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long secondHash(long hash) {
+        return mix(hash ^ 0x9e3779b97f4a7c15L) | 1L;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * exp 구간 하나의 Bloom 필터. k 개 인덱스는 h1 + i * h2 로 만든다.
+     */
+    private static final class Bucket {
+        private final long id;
+        private final AtomicLongArray words;
+        private final int mask;
+
+        private Bucket(long id, int bits) {
+            this.id = id;
+            this.words = new AtomicLongArray(Math.max(1, bits >>> 6));
+            this.mask = bits - 1;
+        }
+
+        private void add(long h1, long h2, int k) {
+            for (int i = 0; i < k; i++) {
+                int bit = (int) ((h1 + i * h2) & mask);
+                long bitMask = 1L << bit;
+                words.getAndAccumulate(bit >>> 6, bitMask, (word, m) -> word | m);
+            }
+        }
+
+        private boolean mightContain(long h1, long h2, int k) {
+            for (int i = 0; i < k; i++) {
+                int bit = (int) ((h1 + i * h2) & mask);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
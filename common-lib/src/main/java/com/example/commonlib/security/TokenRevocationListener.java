@@ -0,0 +1,34 @@
+package com.example.commonlib.security;
+
+import com.example.commonlib.event.TokenRevokedEvent;
+import com.example.commonlib.kafka.KafkaTopics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+
+/**
+ * 토큰 폐기 이벤트를 받아 이 인스턴스의 {@link RevokedTokenRegistry} 에 반영한다.
+ * 모든 인스턴스가 모든 폐기를 받아야 하므로 컨슈머 그룹 없이 파티션을 직접 할당받고, 기동 시에는 토픽 처음부터 읽어
+ * 아직 만료되지 않은 폐기를 복원한다 (토픽 보존 기간은 access token 유효 시간보다 조금 길게 둔다).
+ * 인스턴스마다 그룹을 만들면 재시작할 때마다 브로커에 빈 그룹이 남는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TokenRevocationListener {
+
+    private final RevokedTokenRegistry revokedTokenRegistry;
+
+    @KafkaListener(
+            topicPartitions = @TopicPartition(topic = KafkaTopics.TOKEN_REVOKED,
+                    partitionOffsets = @PartitionOffset(partition = "0", initialOffset = "0")),
+            containerFactory = "tokenRevocationListenerContainerFactory")
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        if (event == null) {
+            return;
+        }
+        revokedTokenRegistry.revoke(event.getTokenId(), event.getExpiresAtMillis());
+        log.debug("Registered revoked token {} for {}", event.getTokenId(), event.getSubject());
+    }
+}
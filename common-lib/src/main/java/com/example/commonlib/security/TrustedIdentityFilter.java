@@ -0,0 +1,87 @@
+package com.example.commonlib.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 게이트웨이가 서명한 신원 헤더를 신뢰해 JWT 서명 검증 없이 인증 정보를 설정한다.
+ * 헤더가 없거나 서명/만료 검증에 실패하면 아무것도 하지 않으므로, 뒤따르는 {@link JwtAuthenticationFilter} 가 토큰을 직접 검증한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TrustedIdentityFilter extends OncePerRequestFilter {
+
+    private final IdentityHeaders identityHeaders;
+    private final RevokedTokenRegistry revokedTokenRegistry;   // 폐기 수신을 끄면 null
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String user = request.getHeader(IdentityHeaders.USER);
+        if (StringUtils.hasText(user)) {
+            String roles = request.getHeader(IdentityHeaders.ROLES);
+            String expires = request.getHeader(IdentityHeaders.EXPIRES);
+            String tokenId = request.getHeader(IdentityHeaders.TOKEN_ID);
+            String signature = request.getHeader(IdentityHeaders.SIGNATURE);
+            if (!identityHeaders.verify(request.getMethod(), request.getRequestURI(), user, roles, expires, tokenId, signature)
+                    || isExpired(expires)) {
+                log.warn("Ignoring identity headers with invalid signature or expiry for user {}", user);
+            } else if (isRevoked(tokenId, expires)) {
+                // 폐기된 토큰은 JwtAuthenticationFilter 에서도 거부되므로 인증 없이 넘긴다
+                log.info("Ignoring identity headers for revoked token of user {}", user);
+            } else {
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(user, bearerToken(request), authorities(roles));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isRevoked(String tokenId, String expires) {
+        return revokedTokenRegistry != null && !tokenId.isEmpty()
+                && revokedTokenRegistry.isRevoked(tokenId, Long.parseLong(expires));
+    }
+
+    private static boolean isExpired(String expires) {
+        try {
+            return System.currentTimeMillis() >= Long.parseLong(expires);
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static List<GrantedAuthority> authorities(String roles) {
+        if (!StringUtils.hasText(roles)) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(roles.split(","))
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+    }
+
+    private static String bearerToken(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.commonlib.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * 서명 검증과 클레임 파싱을 마친 토큰에서 인증에 필요한 값만 추출한 결과.
+ */
+@Getter
+@RequiredArgsConstructor
+public class VerifiedToken {
+    private final String subject;
+    private final List<GrantedAuthority> authorities;
+    private final long expiresAtMillis;   // exp 가 없으면 Long.MAX_VALUE
+    private final String tokenId;         // jti, 없으면 null
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    public Authentication toAuthentication(String token) {
+        return new UsernamePasswordAuthenticationToken(subject, token, authorities);
+    }
+}
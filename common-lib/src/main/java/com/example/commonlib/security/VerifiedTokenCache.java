@@ -0,0 +1,92 @@
+package com.example.commonlib.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 검증된 토큰을 SHA-256 digest 로 보관해 같은 토큰의 반복 요청은 서명 검증과 JSON 파싱을 건너뛴다.
+ * 항목은 토큰의 exp 시각에 만료되며, 크기가 상한을 넘으면 만료된 항목부터 정리하고 그래도 가득 차 있으면 새 항목은 캐시하지 않는다.
+ */
+public class VerifiedTokenCache {
+    public static final String METRIC_NAME = "jwt.verified.cache";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    // 가득 찬 상태에서 매 요청마다 전체를 훑지 않도록 만료 정리는 최소 간격을 둔다
+    private static final long EVICTION_INTERVAL_MILLIS = 1_000;
+
+    private final Map<ByteBuffer, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private volatile long nextEvictionMillis;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(int maxSize, MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.hits = Counter.builder(METRIC_NAME).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(METRIC_NAME).tag("result", "miss").register(meterRegistry);
+        meterRegistry.gaugeMapSize(METRIC_NAME + ".size", Collections.emptyList(), entries);
+    }
+
+    /**
+     * @return 캐시된 검증 결과, 없거나 만료되었으면 null
+     */
+    public VerifiedToken get(String token) {
+        ByteBuffer key = digest(token);
+        VerifiedToken verified = entries.get(key);
+        if (verified != null && verified.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, verified);
+            verified = null;
+        }
+        (verified != null ? hits : misses).increment();
+        return verified;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (maxSize <= 0 || verified.getExpiresAtMillis() == Long.MAX_VALUE) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evictExpired();
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(digest(token), verified);
+    }
+
+    public void invalidate(String token) {
+        entries.remove(digest(token));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        if (now < nextEvictionMillis) {
+            return;
+        }
+        nextEvictionMillis = now + EVICTION_INTERVAL_MILLIS;
+        entries.values().removeIf(verified -> verified.isExpired(now));
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
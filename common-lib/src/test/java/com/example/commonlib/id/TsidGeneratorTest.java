@@ -0,0 +1,77 @@
+package com.example.commonlib.id;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TsidGeneratorTest {
+    private static final long NOW = TsidGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @AfterEach
+    void tearDown() {
+        TsidGenerator.setDefault(null);
+    }
+
+    @Test
+    void encodesTimestampNodeAndSequence() {
+        TsidGenerator generator = new TsidGenerator(5, () -> NOW);
+
+        long first = generator.next();
+        long second = generator.next();
+
+        assertThat(TsidGenerator.timestampMillis(first)).isEqualTo(NOW);
+        assertThat((first >>> TsidGenerator.SEQUENCE_BITS) & TsidGenerator.MAX_NODE).isEqualTo(5);
+        assertThat(second).isEqualTo(first + 1);
+    }
+
+    @Test
+    void borrowsNextMillisecondWhenSequenceIsExhausted() {
+        TsidGenerator generator = new TsidGenerator(1, () -> NOW);
+
+        long last = 0;
+        for (int i = 0; i <= 1 << TsidGenerator.SEQUENCE_BITS; i++) {
+            last = generator.next();
+        }
+
+        assertThat(TsidGenerator.timestampMillis(last)).isEqualTo(NOW + 1);
+    }
+
+    @Test
+    void staysMonotonicWhenClockMovesBackwards() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TsidGenerator generator = new TsidGenerator(1, clock::get);
+
+        long before = generator.next();
+        clock.set(NOW - 5_000);
+        long after = generator.next();
+
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    void formattedIdsSortLikeNumericIds() {
+        TsidGenerator generator = new TsidGenerator(1, new AtomicLong(NOW)::getAndIncrement);
+
+        long smaller = generator.next();
+        long larger = generator.next();
+
+        assertThat(TsidGenerator.format(smaller)).hasSize(13).isLessThan(TsidGenerator.format(larger));
+    }
+
+    @Test
+    void rejectsNodeOutOfRange() {
+        assertThatThrownBy(() -> new TsidGenerator(TsidGenerator.MAX_NODE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void refusesToGenerateBeforeNodeIsConfigured() {
+        assertThatThrownBy(TsidGenerator::getDefault)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("id-generator.node-id");
+    }
+}
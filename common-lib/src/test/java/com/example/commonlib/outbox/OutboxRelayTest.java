@@ -0,0 +1,143 @@
+package com.example.commonlib.outbox;
+
+import com.example.commonlib.config.OutboxProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+    private static final String PAYLOAD_TYPE = "java.util.LinkedHashMap";
+
+    private OutboxRepository repository;
+    private KafkaTemplate<Object, Object> kafkaTemplate;
+    private OutboxProperties properties;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(OutboxRepository.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        properties = new OutboxProperties();
+        properties.setBatchSize(10);
+        properties.setSendTimeout(Duration.ofSeconds(1));
+        relay = new OutboxRelay(repository, kafkaTemplate, new ObjectMapper(), properties);
+
+        when(repository.findPendingShards(anyInt(), anyInt(), anyInt())).thenReturn(List.of(1, 2));
+        when(repository.claimShards(anyCollection(), anyString(), any())).thenReturn(List.of(1, 2));
+    }
+
+    @Test
+    void sendsEachKeyInOrderAndHoldsBackRecordsBehindAFailure() {
+        when(repository.findPending(anyCollection(), anyInt(), anyInt())).thenReturn(List.of(
+                record(1, "order-1"),
+                record(2, "order-2"),
+                record(3, "order-1"),
+                record(4, "order-2"),
+                record(5, null)));
+        whenSent(1, failed());
+        whenSent(2, succeeded());
+        whenSent(4, succeeded());
+        whenSent(5, succeeded());
+
+        boolean more = relay.relayBatch(0);
+
+        assertThat(more).isFalse();
+        // order-1 의 첫 행이 실패했으므로 뒤 행(3)은 보내지 않는다
+        verify(kafkaTemplate, never()).send(eq("topic"), eq("order-1"), eq(Map.of("seq", 3)));
+        // order-2 는 앞 행이 성공한 뒤에야 다음 행을 보낸다
+        var sends = inOrder(kafkaTemplate);
+        sends.verify(kafkaTemplate).send("topic", "order-2", Map.of("seq", 2));
+        sends.verify(kafkaTemplate).send("topic", "order-2", Map.of("seq", 4));
+        assertThat(deletedIds()).containsExactlyInAnyOrder(2L, 4L, 5L);
+        String owner = ownerOf();
+        verify(repository).releaseShards(List.of(1, 2), owner);
+    }
+
+    @Test
+    void skipsShardsLeasedByAnotherInstance() {
+        when(repository.claimShards(anyCollection(), anyString(), any())).thenReturn(List.of());
+
+        assertThat(relay.relayBatch(0)).isFalse();
+
+        verify(repository, never()).findPending(anyCollection(), anyInt(), anyInt());
+        verify(kafkaTemplate, never()).send(any(), any(), any());
+    }
+
+    @Test
+    void undecodableRecordBlocksLaterRecordsOfTheSameKey() {
+        when(repository.findPending(anyCollection(), anyInt(), anyInt())).thenReturn(List.of(
+                new OutboxRecord(1, "topic", "order-1", "{", PAYLOAD_TYPE),
+                record(2, "order-1")));
+
+        relay.relayBatch(0);
+
+        verify(kafkaTemplate, never()).send(any(), any(), any());
+        verify(repository).incrementAttempts(List.of(1L));
+        assertThat(deletedIds()).isEmpty();
+    }
+
+    @Test
+    void rejectsLeaseShorterThanSendTimeout() {
+        properties.setLeaseDuration(Duration.ofSeconds(1));
+        properties.setSendTimeout(Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> new OutboxRelay(repository, kafkaTemplate, new ObjectMapper(), properties))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static OutboxRecord record(long id, String key) {
+        return new OutboxRecord(id, "topic", key, "{\"seq\":" + id + "}", PAYLOAD_TYPE);
+    }
+
+    private void whenSent(int seq, SettableListenableFuture<SendResult<Object, Object>> result) {
+        when(kafkaTemplate.send(eq("topic"), any(), eq(Map.of("seq", seq)))).thenReturn(result);
+    }
+
+    private static SettableListenableFuture<SendResult<Object, Object>> succeeded() {
+        SettableListenableFuture<SendResult<Object, Object>> future = new SettableListenableFuture<>();
+        future.set(null);
+        return future;
+    }
+
+    private static SettableListenableFuture<SendResult<Object, Object>> failed() {
+        SettableListenableFuture<SendResult<Object, Object>> future = new SettableListenableFuture<>();
+        future.setException(new IllegalStateException("broker unavailable"));
+        return future;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<Long> deletedIds() {
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).deleteByIds(ids.capture());
+        return ids.getValue();
+    }
+
+    private String ownerOf() {
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        verify(repository).claimShards(anyCollection(), owner.capture(), any());
+        return owner.getValue();
+    }
+}
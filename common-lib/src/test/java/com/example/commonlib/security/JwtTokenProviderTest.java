@@ -0,0 +1,31 @@
+package com.example.commonlib.security;
+
+import com.example.commonlib.config.JwtProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+    private static final String SECRET =
+            "c2VjcmV0LWtleS1mb3ItbWljcm9zZXJ2aWNlcy1wcm9qZWN0LWp3dC10b2tlbi1nZW5lcmF0aW9uLWFuZC12YWxpZGF0aW9u";
+
+    @Test
+    void issuedExpiryIsTheExpTheFilterReads() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(properties, JwtSigningKeys.load(properties), null);
+
+        IssuedToken issued = tokenProvider.issueAccessToken(new UsernamePasswordAuthenticationToken("42", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        VerifiedToken verified = tokenProvider.verify(issued.getToken());
+
+        // 폐기 이벤트는 발급 시각을, 필터는 exp 를 쓰므로 둘이 같아야 같은 버킷을 본다
+        assertThat(issued.getExpiresAtMillis()).isEqualTo(verified.getExpiresAtMillis());
+        assertThat(issued.getExpiresAtMillis() % 1000).isZero();
+        assertThat(verified.getTokenId()).isEqualTo(issued.getTokenId());
+    }
+}
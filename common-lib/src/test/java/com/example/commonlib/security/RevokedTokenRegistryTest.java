@@ -0,0 +1,91 @@
+package com.example.commonlib.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevokedTokenRegistryTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void reportsRevokedTokenOnly() {
+        RevokedTokenRegistry registry = registry(Duration.ofMinutes(1), 100, 0.01);
+        long exp = inSeconds(30);
+
+        registry.revoke("revoked", exp);
+
+        assertThat(registry.isRevoked("revoked", exp)).isTrue();
+        assertThat(registry.isRevoked("active", exp)).isFalse();
+        assertThat(registry.isRevoked(null, exp)).isFalse();
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresTokensThatAlreadyExpired() {
+        RevokedTokenRegistry registry = registry(Duration.ofMinutes(1), 100, 0.01);
+
+        registry.revoke("expired", System.currentTimeMillis() - 1000);
+
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void exactSetRejectsBloomFalsePositives() {
+        // 버킷 하나에 예상보다 훨씬 많이 넣어 Bloom 필터를 포화시킨다
+        RevokedTokenRegistry registry = registry(Duration.ofMinutes(1), 8, 0.5);
+        long exp = inSeconds(30);
+        for (int i = 0; i < 1000; i++) {
+            registry.revoke("revoked-" + i, exp);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(registry.isRevoked("revoked-" + i, exp)).isTrue();
+            assertThat(registry.isRevoked("active-" + i, exp)).isFalse();
+        }
+        assertThat(meterRegistry.get(RevokedTokenRegistry.METRIC_NAME + ".lookups")
+                .tag("result", "false-positive").counter().count()).isPositive();
+    }
+
+    @Test
+    void keepsTokensWhoseExpIsBeyondTheRing() {
+        // 발급 서비스의 유효 시간이 이 서비스 설정보다 길 때
+        RevokedTokenRegistry registry = registry(Duration.ofMinutes(1), 100, 0.01);
+        long exp = inSeconds(3600);
+
+        registry.revoke("long-lived", exp);
+
+        assertThat(registry.isRevoked("long-lived", exp)).isTrue();
+    }
+
+    @Test
+    void millisecondExpiryFindsTheBucketOfTheSecondExp() {
+        // 버킷 경계가 초 중간에 오도록 폭을 1.5초로 두고, 경계를 걸치는 만료 시각을 고른다
+        RevokedTokenRegistry registry = registry(Duration.ofSeconds(10), Duration.ofMillis(1500), 100, 0.01);
+        long exp = inSeconds(5);
+        while (exp / 1500 == (exp + 700) / 1500) {
+            exp += 1000;
+        }
+
+        // 폐기 쪽은 밀리초가 붙은 발급 시각 기준, 검증 쪽은 JWT exp(초) 기준
+        registry.revoke("straddling", exp + 700);
+
+        assertThat(registry.isRevoked("straddling", exp)).isTrue();
+    }
+
+    private RevokedTokenRegistry registry(Duration maxTokenLifetime, int expectedPerBucket, double falsePositiveRate) {
+        return registry(maxTokenLifetime, Duration.ofSeconds(10), expectedPerBucket, falsePositiveRate);
+    }
+
+    private RevokedTokenRegistry registry(Duration maxTokenLifetime, Duration bucketWidth,
+                                          int expectedPerBucket, double falsePositiveRate) {
+        return new RevokedTokenRegistry(maxTokenLifetime, bucketWidth, expectedPerBucket, falsePositiveRate, meterRegistry);
+    }
+
+    // JWT exp 처럼 초 단위로 내린 만료 시각
+    private static long inSeconds(long seconds) {
+        return (System.currentTimeMillis() / 1000 + seconds) * 1000;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.commonlib.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrustedIdentityFilterTest {
+    private final IdentityHeaders identityHeaders = new IdentityHeaders("identity-secret");
+    private final TrustedIdentityFilter filter = new TrustedIdentityFilter(identityHeaders, null);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesRequestSignedForSameMethodAndPath() throws Exception {
+        Authentication authentication = filter(signedRequest("GET", "/api/orders/1", "GET", "/api/orders/1"));
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("42");
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void ignoresHeadersReplayedOnAnotherPath() throws Exception {
+        assertThat(filter(signedRequest("GET", "/api/orders/1", "GET", "/api/orders/2"))).isNull();
+    }
+
+    @Test
+    void ignoresHeadersReplayedWithAnotherMethod() throws Exception {
+        assertThat(filter(signedRequest("GET", "/api/orders/1", "DELETE", "/api/orders/1"))).isNull();
+    }
+
+    @Test
+    void ignoresExpiredIdentity() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/1");
+        String expires = Long.toString(System.currentTimeMillis() - 1000);
+        setIdentity(request, expires, identityHeaders.sign("GET", "/api/orders/1", "42", "ROLE_USER", expires, "jti"));
+
+        assertThat(filter(request)).isNull();
+    }
+
+    private Authentication filter(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private MockHttpServletRequest signedRequest(String signedMethod, String signedPath, String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        String expires = Long.toString(System.currentTimeMillis() + 60_000);
+        setIdentity(request, expires, identityHeaders.sign(signedMethod, signedPath, "42", "ROLE_USER", expires, "jti"));
+        return request;
+    }
+
+    private static void setIdentity(MockHttpServletRequest request, String expires, String signature) {
+        request.addHeader(IdentityHeaders.USER, "42");
+        request.addHeader(IdentityHeaders.ROLES, "ROLE_USER");
+        request.addHeader(IdentityHeaders.EXPIRES, expires);
+        request.addHeader(IdentityHeaders.TOKEN_ID, "jti");
+        request.addHeader(IdentityHeaders.SIGNATURE, signature);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.gatewayservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "jwt")
+public class GatewayJwtProperties {
+    private Algorithm algorithm = Algorithm.HS512;
+    private String secret;              // HS512 서명 키, RS256 에서는 kid 없는 기존 토큰 검증용
+    private String jwksUri;             // RS256 검증 키를 가져올 auth-service JWKS 주소
+    private Duration jwksRefreshInterval = Duration.ofMinutes(5);
+    private Duration jwksMinRefreshInterval = Duration.ofSeconds(10);
+    private Identity identity = new Identity();
+
+    public enum Algorithm {
+        HS512,
+        RS256
+    }
+
+    @Getter
+    @Setter
+    public static class Identity {
+        // 다운스트림 서비스와 공유하는 신원 헤더 서명 키
+        private String secret;
+    }
+}
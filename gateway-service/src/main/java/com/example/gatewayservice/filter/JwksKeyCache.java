@@ -0,0 +1,122 @@
+package com.example.gatewayservice.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * kid → 검증 키 맵. 요청 처리(이벤트 루프)는 메모리 맵만 읽고, JWKS 조회는 항상 별도 스레드에서 수행한다.
+ * common-lib 의 JwtKeyCache 와 같은 동작이며, 게이트웨이는 서블릿 기반 common-lib 을 쓸 수 없어 따로 둔다.
+ */
+@Slf4j
+class JwksKeyCache {
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final URI jwksUri;
+    private final Duration refreshInterval;
+    private final long minRefreshIntervalMillis;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong lastRefreshMillis = new AtomicLong();
+
+    private volatile Map<String, PublicKey> keys;
+    private ScheduledExecutorService scheduler;
+
+    JwksKeyCache(URI jwksUri, Duration refreshInterval, Duration minRefreshInterval) {
+        this.keys = Map.of();
+        this.jwksUri = jwksUri;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshIntervalMillis = minRefreshInterval.toMillis();
+        this.httpClient = HttpClient.newBuilder().connectTimeout(FETCH_TIMEOUT).build();
+    }
+
+    /**
+     * @return kid 에 해당하는 키, 없으면 null (백그라운드 갱신을 예약한다)
+     */
+    PublicKey get(String kid) {
+        PublicKey key = keys.get(kid);
+        if (key == null) {
+            requestRefresh();
+        }
+        return key;
+    }
+
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void requestRefresh() {
+        if (scheduler == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long last = lastRefreshMillis.get();
+        if (now - last >= minRefreshIntervalMillis && lastRefreshMillis.compareAndSet(last, now)) {
+            scheduler.execute(this::refresh);
+        }
+    }
+
+    private void refresh() {
+        lastRefreshMillis.set(System.currentTimeMillis());
+        try {
+            HttpRequest request = HttpRequest.newBuilder(jwksUri).timeout(FETCH_TIMEOUT).GET().build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("JWKS fetch from {} returned {}", jwksUri, response.statusCode());
+                return;
+            }
+            Map<String, PublicKey> refreshed = parse(response.body());
+            keys = Map.copyOf(refreshed);
+            log.debug("Loaded {} JWT verification keys from {}", refreshed.size(), jwksUri);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException | GeneralSecurityException e) {
+            // 기존 키를 유지하고 다음 주기에 다시 시도한다
+            log.warn("Failed to refresh JWKS from {}: {}", jwksUri, e.getMessage());
+        }
+    }
+
+    private Map<String, PublicKey> parse(String body) throws IOException, GeneralSecurityException {
+        Map<String, PublicKey> parsed = new HashMap<>();
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        for (JsonNode jwk : objectMapper.readTree(body).path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").asText()));
+            BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").asText()));
+            parsed.put(jwk.path("kid").asText(), keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.gatewayservice.filter;
+
+import com.example.gatewayservice.config.GatewayJwtProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 엣지에서 JWT 를 한 번 검증하고, 다운스트림에는 서명된 내부 신원 헤더를 전달한다.
+ * 잘못된 토큰은 라우팅 전에 401 로 거절하며, 외부에서 들어온 신원 헤더는 항상 제거해 위조를 막는다.
+ * 다만 토큰 없이 쓸 수 있는 경로(로그인, 토큰 갱신 등)는 만료된 토큰이 남아 있어도 토큰을 떼고 통과시킨다.
+ * 서명에는 요청 메서드와 경로를 포함해, 한 요청의 신원 헤더를 다른 엔드포인트로 재사용할 수 없게 한다.
+ * 헤더 이름과 서명 형식은 common-lib 의 IdentityHeaders / TrustedIdentityFilter 와 같아야 한다.
+ * 폐기 여부는 게이트웨이가 아니라 다운스트림이 X-Auth-Token-Id(jti) 로 확인한다.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(GatewayJwtProperties.class)
+public class JwtAuthenticationGlobalFilter implements GlobalFilter, Ordered {
+    static final String USER = "X-Auth-User";
+    static final String ROLES = "X-Auth-Roles";
+    static final String EXPIRES = "X-Auth-Expires";
+    static final String TOKEN_ID = "X-Auth-Token-Id";
+    static final String SIGNATURE = "X-Auth-Signature";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    // common-lib SecurityAutoConfiguration 의 permitAll 경로 중 토큰을 들고 올 수 있는 것
+    private static final List<PathPattern> PUBLIC_PATHS = List.of(
+            PathPatternParser.defaultInstance.parse("/api/auth/signup"),
+            PathPatternParser.defaultInstance.parse("/api/auth/login"),
+            PathPatternParser.defaultInstance.parse("/api/auth/refresh"));
+    private static final PathPattern PUBLIC_FILES = PathPatternParser.defaultInstance.parse("/api/files/**");
+
+    private final JwtParser jwtParser;
+    private final JwksKeyCache jwksKeyCache;
+    private final ThreadLocal<Mac> identityMac;
+
+    public JwtAuthenticationGlobalFilter(GatewayJwtProperties properties) {
+        Key secretKey = StringUtils.hasText(properties.getSecret())
+                ? Keys.hmacShaKeyFor(properties.getSecret().getBytes())
+                : null;
+        if (properties.getAlgorithm() == GatewayJwtProperties.Algorithm.RS256) {
+            this.jwksKeyCache = new JwksKeyCache(URI.create(properties.getJwksUri()),
+                    properties.getJwksRefreshInterval(), properties.getJwksMinRefreshInterval());
+            this.jwtParser = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                        // 상위 클래스가 raw JwsHeader 로 선언해 재정의도 raw 타입이어야 한다
+                        @Override
+                        @SuppressWarnings("rawtypes")
+                        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                            return resolveKey(header, secretKey);
+                        }
+                    })
+                    .build();
+        } else {
+            this.jwksKeyCache = null;
+            this.jwtParser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+        }
+        SecretKeySpec identityKey = new SecretKeySpec(
+                properties.getIdentity().getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.identityMac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(identityKey);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 not available", e);
+            }
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        if (jwksKeyCache != null) {
+            jwksKeyCache.start();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (jwksKeyCache != null) {
+            jwksKeyCache.stop();
+        }
+    }
+
+    /**
+     * kid 로 JWKS 키를 찾는다. kid 가 없는 토큰은 RS256 전환 이전의 HS512 토큰으로 보고 공유 비밀 키로 검증한다.
+     */
+    private Key resolveKey(JwsHeader<?> header, Key secretKey) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (secretKey == null) {
+                throw new JwtException("Missing key id");
+            }
+            return secretKey;
+        }
+        Key key = jwksKeyCache.get(kid);
+        if (key == null) {
+            throw new JwtException("Unknown key id: " + kid);
+        }
+        return key;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            // 토큰이 없는 요청(로그인, 회원가입 등)은 신원 헤더만 제거하고 통과시킨다
+            return chain.filter(exchange.mutate().request(stripIdentity(exchange.getRequest())).build());
+        }
+
+        Claims claims;
+        try {
+            claims = jwtParser.parseClaimsJws(authorization.substring(BEARER_PREFIX.length())).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            if (isPublic(exchange.getRequest())) {
+                // 만료된 access token 으로 갱신/재로그인하는 클라이언트를 막지 않는다
+                log.debug("Dropping invalid JWT on public path: {}", e.getMessage());
+                ServerHttpRequest request = exchange.getRequest().mutate()
+                        .headers(headers -> {
+                            removeIdentity(headers);
+                            headers.remove(HttpHeaders.AUTHORIZATION);
+                        })
+                        .build();
+                return chain.filter(exchange.mutate().request(request).build());
+            }
+            log.info("Rejecting request with invalid JWT: {}", e.getMessage());
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+
+        String user = claims.getSubject() != null ? claims.getSubject() : "";
+        String roles = roles(claims);
+        Date expiration = claims.getExpiration();
+        String expires = Long.toString(expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+        String tokenId = claims.getId() != null ? claims.getId() : "";
+        String signature = sign(exchange.getRequest().getMethodValue(), exchange.getRequest().getURI().getRawPath(),
+                user, roles, expires, tokenId);
+
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    removeIdentity(headers);
+                    headers.set(USER, user);
+                    headers.set(ROLES, roles);
+                    headers.set(EXPIRES, expires);
+                    headers.set(TOKEN_ID, tokenId);
+                    headers.set(SIGNATURE, signature);
+                })
+                .build();
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+
+    @Override
+    public int getOrder() {
+        // 라우팅/로드밸런싱 필터보다 먼저 실행
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    // 다운스트림은 HttpServletRequest.getMethod() / getRequestURI() 로 같은 값을 얻는다 (라우트가 경로를 바꾸지 않음)
+    private String sign(String method, String path, String user, String roles, String expires, String tokenId) {
+        byte[] payload = (method + '\n' + path + '\n' + user + '\n' + roles + '\n' + expires + '\n' + tokenId)
+                .getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(identityMac.get().doFinal(payload));
+    }
+
+    private static boolean isPublic(ServerHttpRequest request) {
+        PathContainer path = request.getPath().pathWithinApplication();
+        if (request.getMethod() == HttpMethod.GET && PUBLIC_FILES.matches(path)) {
+            return true;
+        }
+        return PUBLIC_PATHS.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private static String roles(Claims claims) {
+        Object roles = claims.get("roles");
+        if (roles instanceof Collection) {
+            return ((Collection<?>) roles).stream().map(String::valueOf).collect(Collectors.joining(","));
+        }
+        return "";
+    }
+
+    private static ServerHttpRequest stripIdentity(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        if (!headers.containsKey(USER) && !headers.containsKey(ROLES)
+                && !headers.containsKey(EXPIRES) && !headers.containsKey(TOKEN_ID)
+                && !headers.containsKey(SIGNATURE)) {
+            return request;
+        }
+        return request.mutate().headers(JwtAuthenticationGlobalFilter::removeIdentity).build();
+    }
+
+    private static void removeIdentity(HttpHeaders headers) {
+        headers.remove(USER);
+        headers.remove(ROLES);
+        headers.remove(EXPIRES);
+        headers.remove(TOKEN_ID);
+        headers.remove(SIGNATURE);
+    }
+}
@@ -5,7 +5,7 @@ CREATE DATABASE IF NOT EXISTS auth_db;
 USE orderdb;
 
 CREATE TABLE IF NOT EXISTS orders (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY, -- TSID, 애플리케이션에서 생성
     user_id BIGINT NOT NULL,
     order_number VARCHAR(255) NOT NULL,
     status VARCHAR(20) NOT NULL,
@@ -14,11 +14,13 @@ CREATE TABLE IF NOT EXISTS orders (
     payment_id BIGINT,
     failure_reason VARCHAR(255),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_orders_user_created (user_id, created_at),
+    INDEX idx_orders_user_status_created (user_id, status, created_at)
 );
 
 CREATE TABLE IF NOT EXISTS order_items (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY, -- TSID, 애플리케이션에서 생성
     order_id BIGINT NOT NULL,
     product_id BIGINT NOT NULL,
     product_name VARCHAR(255) NOT NULL,
@@ -28,10 +30,30 @@ CREATE TABLE IF NOT EXISTS order_items (
     FOREIGN KEY (order_id) REFERENCES orders(id)
 );
 
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload TEXT NOT NULL,
+    payload_type VARCHAR(255) NOT NULL,
+    shard INT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP NULL,
+    INDEX idx_outbox_pending (sent_at, shard, id)
+);
+
+-- 릴레이 인스턴스 간 shard 단위 lease: 한 shard 는 한 번에 한 릴레이만 전송한다
+CREATE TABLE IF NOT EXISTS outbox_events_leases (
+    shard INT PRIMARY KEY,
+    owner VARCHAR(64) NULL,
+    lease_until TIMESTAMP NULL
+);
+
 USE paymentdb;
 
 CREATE TABLE IF NOT EXISTS payments (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY, -- TSID, 애플리케이션에서 생성
     order_id BIGINT NOT NULL,
     user_id BIGINT NOT NULL,
     amount DECIMAL(10,2) NOT NULL,
@@ -45,11 +67,14 @@ CREATE TABLE IF NOT EXISTS payments (
     cancellation_reason VARCHAR(255),
     refund_requested_at TIMESTAMP,
     refunded_at TIMESTAMP,
-    refund_reason VARCHAR(255)
+    refund_reason VARCHAR(255),
+    UNIQUE KEY uk_payments_order_id (order_id),
+    INDEX idx_payments_user_created (user_id, created_at, id),
+    INDEX idx_payments_user_status_created (user_id, status, created_at, id)
 );
 
 CREATE TABLE IF NOT EXISTS payment_histories (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY, -- TSID, 애플리케이션에서 생성
     payment_id BIGINT NOT NULL,
     previous_status VARCHAR(20) NOT NULL,
     new_status VARCHAR(20) NOT NULL,
@@ -58,10 +83,30 @@ CREATE TABLE IF NOT EXISTS payment_histories (
     FOREIGN KEY (payment_id) REFERENCES payments(id)
 );
 
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload TEXT NOT NULL,
+    payload_type VARCHAR(255) NOT NULL,
+    shard INT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP NULL,
+    INDEX idx_outbox_pending (sent_at, shard, id)
+);
+
+-- 릴레이 인스턴스 간 shard 단위 lease: 한 shard 는 한 번에 한 릴레이만 전송한다
+CREATE TABLE IF NOT EXISTS outbox_events_leases (
+    shard INT PRIMARY KEY,
+    owner VARCHAR(64) NULL,
+    lease_until TIMESTAMP NULL
+);
+
 USE auth_db;
 
 CREATE TABLE IF NOT EXISTS users (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY, -- TSID, 애플리케이션에서 생성
     email VARCHAR(100) NOT NULL UNIQUE,
     password VARCHAR(255) NOT NULL,
     name VARCHAR(100) NOT NULL,
@@ -73,7 +118,8 @@ CREATE TABLE IF NOT EXISTS users (
     last_login_attempt TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    last_password_change_at TIMESTAMP
+    last_password_change_at TIMESTAMP,
+    INDEX idx_users_status_id (status, id)
 );
 
 CREATE TABLE IF NOT EXISTS roles (
@@ -91,18 +137,57 @@ CREATE TABLE IF NOT EXISTS user_roles (
 );
 
 CREATE TABLE IF NOT EXISTS auth (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY, -- TSID, 애플리케이션에서 생성
     user_id BIGINT NOT NULL,
-    refresh_token VARCHAR(255) NOT NULL UNIQUE,
+    refresh_token_hash BINARY(32) NOT NULL UNIQUE,
     token_expiry_date TIMESTAMP NOT NULL,
     status VARCHAR(20) NOT NULL,
+    access_token_id VARCHAR(36),
+    access_token_expires_at BIGINT,
     last_login_at TIMESTAMP,
     last_access_at TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_auth_status_expiry (status, token_expiry_date),
     FOREIGN KEY (user_id) REFERENCES users(id)
 );
 
+-- 여러 인스턴스 중 하나만 배치 작업을 실행하기 위한 리스
+CREATE TABLE IF NOT EXISTS job_leases (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(255),
+    lease_until TIMESTAMP NULL
+);
+
+-- 교체된 refresh token digest (재사용 탐지용, 짧은 기간만 보관)
+CREATE TABLE IF NOT EXISTS refresh_token_history (
+    id BIGINT PRIMARY KEY, -- TSID, 애플리케이션에서 생성
+    token_hash BINARY(32) NOT NULL UNIQUE,
+    auth_id BIGINT NOT NULL,
+    rotated_at TIMESTAMP NOT NULL,
+    INDEX idx_refresh_token_history_rotated_at (rotated_at)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload TEXT NOT NULL,
+    payload_type VARCHAR(255) NOT NULL,
+    shard INT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP NULL,
+    INDEX idx_outbox_pending (sent_at, shard, id)
+);
+
+-- 릴레이 인스턴스 간 shard 단위 lease: 한 shard 는 한 번에 한 릴레이만 전송한다
+CREATE TABLE IF NOT EXISTS outbox_events_leases (
+    shard INT PRIMARY KEY,
+    owner VARCHAR(64) NULL,
+    lease_until TIMESTAMP NULL
+);
+
 -- Insert default roles
 INSERT INTO roles (name, description) VALUES 
 ('ROLE_USER', 'Default role for all users'),
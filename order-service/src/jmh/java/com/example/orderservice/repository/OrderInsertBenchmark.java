@@ -0,0 +1,161 @@
+package com.example.orderservice.repository;
+
+import com.example.commonlib.id.TsidGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 생성 트랜잭션 하나(주문 1행 + 항목 N행)의 INSERT 처리량, TSID 도입 전후 비교.
+ * Hibernate 가 두 방식에서 내보내는 JDBC 호출을 그대로 재현한다.
+ * <ul>
+ *   <li>identity (이전): AUTO_INCREMENT 키를 받아야 하므로 행마다 INSERT 한 번씩, 주문 번호는 UUID</li>
+ *   <li>tsid (이후): ID 를 미리 만들어 주문과 항목을 각각 배치 한 번으로, 주문 번호는 TSID 문자열</li>
+ * </ul>
+ * 기본은 H2 메모리 DB 라 네트워크 왕복 절감은 드러나지 않는다. 실제 차이는 MySQL 에서 잰다:
+ * <pre>
+ * ./gradlew :order-service:jmh
+ * java -jar order-service/build/libs/order-service-*-jmh.jar OrderInsertBenchmark \
+ *     -p jdbcUrl='jdbc:mysql://localhost:3306/orderdb?rewriteBatchedStatements=true' -p user=root -p password=root
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderInsertBenchmark {
+    private static final BigDecimal PRICE = new BigDecimal("49.90");
+
+    @Param({"jdbc:h2:mem:order_insert;MODE=MySQL;DB_CLOSE_DELAY=-1"})
+    public String jdbcUrl;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    @Param({"1", "5", "20"})
+    public int items;
+
+    private final TsidGenerator tsidGenerator = new TsidGenerator(1);
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_order_items_identity");
+            statement.execute("DROP TABLE IF EXISTS bench_orders_identity");
+            statement.execute("DROP TABLE IF EXISTS bench_order_items_tsid");
+            statement.execute("DROP TABLE IF EXISTS bench_orders_tsid");
+            statement.execute("CREATE TABLE bench_orders_identity (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "user_id BIGINT NOT NULL, order_number VARCHAR(255) NOT NULL, status VARCHAR(20) NOT NULL, " +
+                    "total_amount DECIMAL(10,2) NOT NULL)");
+            statement.execute("CREATE TABLE bench_order_items_identity (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "order_id BIGINT NOT NULL, product_id BIGINT NOT NULL, product_name VARCHAR(255) NOT NULL, " +
+                    "quantity INT NOT NULL, price DECIMAL(10,2) NOT NULL, subtotal DECIMAL(10,2) NOT NULL)");
+            statement.execute("CREATE TABLE bench_orders_tsid (id BIGINT PRIMARY KEY, " +
+                    "user_id BIGINT NOT NULL, order_number VARCHAR(255) NOT NULL, status VARCHAR(20) NOT NULL, " +
+                    "total_amount DECIMAL(10,2) NOT NULL)");
+            statement.execute("CREATE TABLE bench_order_items_tsid (id BIGINT PRIMARY KEY, " +
+                    "order_id BIGINT NOT NULL, product_id BIGINT NOT NULL, product_name VARCHAR(255) NOT NULL, " +
+                    "quantity INT NOT NULL, price DECIMAL(10,2) NOT NULL, subtotal DECIMAL(10,2) NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long identity() throws SQLException {
+        long orderId;
+        try (PreparedStatement order = connection.prepareStatement(
+                "INSERT INTO bench_orders_identity (user_id, order_number, status, total_amount) VALUES (?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            order.setLong(1, 42L);
+            order.setString(2, UUID.randomUUID().toString());
+            order.setString(3, "PENDING");
+            order.setBigDecimal(4, PRICE.multiply(BigDecimal.valueOf(items)));
+            order.executeUpdate();
+            try (ResultSet keys = order.getGeneratedKeys()) {
+                keys.next();
+                orderId = keys.getLong(1);
+            }
+        }
+        try (PreparedStatement item = connection.prepareStatement(
+                "INSERT INTO bench_order_items_identity (order_id, product_id, product_name, quantity, price, subtotal) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < items; i++) {
+                setItem(item, 1, orderId, i);
+                item.executeUpdate();
+                try (ResultSet keys = item.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        connection.commit();
+        return orderId;
+    }
+
+    @Benchmark
+    public long tsid() throws SQLException {
+        long orderId = tsidGenerator.next();
+        try (PreparedStatement order = connection.prepareStatement(
+                "INSERT INTO bench_orders_tsid (user_id, order_number, status, total_amount, id) VALUES (?, ?, ?, ?, ?)")) {
+            order.setLong(1, 42L);
+            order.setString(2, TsidGenerator.format(orderId));
+            order.setString(3, "PENDING");
+            order.setBigDecimal(4, PRICE.multiply(BigDecimal.valueOf(items)));
+            order.setLong(5, orderId);
+            order.addBatch();
+            order.executeBatch();
+        }
+        try (PreparedStatement item = connection.prepareStatement(
+                "INSERT INTO bench_order_items_tsid (id, order_id, product_id, product_name, quantity, price, subtotal) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < items; i++) {
+                item.setLong(1, tsidGenerator.next());
+                setItem(item, 2, orderId, i);
+                item.addBatch();
+            }
+            item.executeBatch();
+        }
+        connection.commit();
+        return orderId;
+    }
+
+    private static void setItem(PreparedStatement item, int first, long orderId, int index) throws SQLException {
+        item.setLong(first, orderId);
+        item.setLong(first + 1, index + 1L);
+        item.setString(first + 2, "product-" + index);
+        item.setInt(first + 3, 1);
+        item.setBigDecimal(first + 4, PRICE);
+        item.setBigDecimal(first + 5, PRICE);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.orderservice.config;
+
+import com.example.commonlib.kafka.RetryTierMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Bean
+    public RetryTierMetrics retryTierMetrics(MeterRegistry meterRegistry) {
+        return new RetryTierMetrics(meterRegistry);
+    }
+
+    /**
+     * 배치 리스너가 실패 위치를 알리면 그 앞까지 커밋하고, 실패한 레코드를 단건 리스너와 같은 간격으로
+     * 컨테이너 안에서 재시도한 뒤 끝내 실패하면 &lt;토픽&gt;-dlt 로 보낸다.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "order.consumer.batch", name = "enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> paymentBatchListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            KafkaTemplate<Object, Object> kafkaTemplate,
+            @Value("${order.consumer.retry.attempts:4}") int attempts,
+            @Value("${order.consumer.retry.delay:1000}") long delay,
+            @Value("${order.consumer.retry.multiplier:2.0}") double multiplier,
+            @Value("${order.consumer.retry.max-delay:30000}") long maxDelay) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        // 파티션을 -1 로 두면 DLT 파티션 수와 관계없이 프로듀서가 고른다
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, e) -> new TopicPartition(record.topic() + RetryTierMetrics.DLT_SUFFIX, -1));
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(attempts - 1);
+        backOff.setInitialInterval(delay);
+        backOff.setMultiplier(multiplier);
+        backOff.setMaxInterval(maxDelay);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(recoverer, backOff));
+        return factory;
+    }
+}
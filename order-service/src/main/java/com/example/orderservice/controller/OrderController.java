@@ -9,8 +9,8 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -36,18 +36,20 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getOrder(orderId));
     }
 
-    @Operation(summary = "사용자 주문 목록 조회", description = "현재 사용자의 전체 주문 목록을 조회합니다.")
+    @Operation(summary = "사용자 주문 목록 조회", description = "현재 사용자의 전체 주문 목록을 조회합니다. withCount=false 면 전체 건수 없이 다음 페이지 여부만 반환합니다.")
     @GetMapping
-    public ResponseEntity<Page<OrderDto>> getCurrentUserOrders(
-            @Parameter(description = "페이지네이션 정보") Pageable pageable) {
-        return ResponseEntity.ok(orderService.getCurrentUserOrders(pageable));
+    public ResponseEntity<Slice<OrderDto>> getCurrentUserOrders(
+            @Parameter(description = "페이지네이션 정보") Pageable pageable,
+            @Parameter(description = "전체 건수 계산 여부") @RequestParam(defaultValue = "true") boolean withCount) {
+        return ResponseEntity.ok(orderService.getCurrentUserOrders(pageable, withCount));
     }
 
-    @Operation(summary = "상태별 주문 목록 조회", description = "현재 사용자의 주문 목록을 상태별로 조회합니다.")
+    @Operation(summary = "상태별 주문 목록 조회", description = "현재 사용자의 주문 목록을 상태별로 조회합니다. withCount=false 면 전체 건수 없이 다음 페이지 여부만 반환합니다.")
     @GetMapping("/status/{status}")
-    public ResponseEntity<Page<OrderDto>> getCurrentUserOrdersByStatus(
+    public ResponseEntity<Slice<OrderDto>> getCurrentUserOrdersByStatus(
             @Parameter(description = "주문 상태") @PathVariable OrderStatus status,
-            @Parameter(description = "페이지네이션 정보") Pageable pageable) {
-        return ResponseEntity.ok(orderService.getCurrentUserOrdersByStatus(status, pageable));
+            @Parameter(description = "페이지네이션 정보") Pageable pageable,
+            @Parameter(description = "전체 건수 계산 여부") @RequestParam(defaultValue = "true") boolean withCount) {
+        return ResponseEntity.ok(orderService.getCurrentUserOrdersByStatus(status, pageable, withCount));
     }
 } 
\ No newline at end of file
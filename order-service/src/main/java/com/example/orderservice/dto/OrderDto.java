@@ -1,6 +1,8 @@
 package com.example.orderservice.dto;
 
 import com.example.orderservice.model.OrderStatus;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.Data;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
@@ -15,7 +17,10 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderDto {
+    // TSID 는 2^53 을 넘어 JavaScript 의 number 로는 정밀도를 잃으므로 JSON 에서는 문자열로 보낸다
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long userId;
     private String orderNumber;
     private OrderStatus status;
@@ -5,11 +5,15 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderItemRequest {
     private Long productId;
+    private String productName;  // 상품 서비스가 없으므로 주문 시점의 상품명과 단가를 요청으로 받는다
     private Integer quantity;
+    private BigDecimal price;
 } 
\ No newline at end of file
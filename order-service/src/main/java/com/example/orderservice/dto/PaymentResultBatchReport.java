@@ -0,0 +1,18 @@
+package com.example.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentResultBatchReport {
+    private int completed;
+    private int failed;
+    private Map<Long, String> failures;  // 주문 ID → 실패 사유
+}
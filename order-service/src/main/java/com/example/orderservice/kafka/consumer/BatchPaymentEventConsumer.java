@@ -0,0 +1,103 @@
+package com.example.orderservice.kafka.consumer;
+
+import com.example.commonlib.event.PaymentProcessedEvent;
+import com.example.commonlib.kafka.KafkaTopics;
+import com.example.orderservice.dto.PaymentResultBatchReport;
+import com.example.orderservice.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ListenerUtils;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * payment-processed 를 배치로 받아 주문 상태를 집합 기반 UPDATE 로 반영하는 컨슈머.
+ * 장애 이후 밀린 이벤트를 재처리할 때 레코드당 2 번의 DB 왕복을 배치당 몇 번으로 줄인다.
+ * 반영하지 못한 레코드는 {@link BatchListenerFailedException} 으로 위치를 알려, 에러 핸들러가
+ * 그 앞까지만 커밋하고 해당 레코드를 재시도한 뒤 끝내 실패하면 payment-processed-dlt 로 보낸다.
+ * 역직렬화에 실패한 레코드는 재시도 없이 원본 바이트 그대로 보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "order.consumer.batch", name = "enabled", havingValue = "true")
+public class BatchPaymentEventConsumer {
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(BatchPaymentEventConsumer.class);
+
+    private final OrderService orderService;
+
+    @KafkaListener(
+            topics = KafkaTopics.PAYMENT_PROCESSED,
+            groupId = "${spring.application.name}",
+            containerFactory = "paymentBatchListenerContainerFactory",
+            properties = "max.poll.records=${order.consumer.batch.max-poll-records:500}"
+    )
+    public void handlePaymentProcessedEvents(List<ConsumerRecord<String, PaymentProcessedEvent>> received) {
+        // ErrorHandlingDeserializer 가 역직렬화에 실패한 레코드를 null 로 넘긴다: 그 앞까지만 반영하고 위치를 알린다
+        int end = 0;
+        while (end < received.size() && received.get(end).value() != null) {
+            end++;
+        }
+        log.info("Received {} payment processed events", received.size());
+        if (end > 0) {
+            apply(received.subList(0, end));
+        }
+        if (end < received.size()) {
+            ConsumerRecord<String, PaymentProcessedEvent> record = received.get(end);
+            log.error("Undeserializable payment processed record at {}-{}@{}", record.topic(), record.partition(), record.offset());
+            throw new BatchListenerFailedException("Undeserializable payment processed record",
+                    ListenerUtils.getExceptionFromHeader(record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR),
+                    record);
+        }
+    }
+
+    private void apply(List<ConsumerRecord<String, PaymentProcessedEvent>> records) {
+        List<PaymentProcessedEvent> events = records.stream()
+                .map(ConsumerRecord::value)
+                .collect(Collectors.toList());
+        PaymentResultBatchReport report;
+        try {
+            report = orderService.applyPaymentResults(events);
+        } catch (Exception e) {
+            // 배치 트랜잭션이 롤백되면 레코드별로 다시 적용해 실패한 레코드만 골라낸다
+            log.error("Batch update failed for {} payment events, falling back to per-record processing: {}",
+                    events.size(), e.getMessage());
+            for (ConsumerRecord<String, PaymentProcessedEvent> record : records) {
+                applyOne(record);
+            }
+            return;
+        }
+        // 배치의 나머지는 이미 반영됐고, 재전달돼도 같은 상태로 다시 갱신될 뿐이다
+        Map<Long, String> failures = report.getFailures();
+        for (ConsumerRecord<String, PaymentProcessedEvent> record : records) {
+            String reason = failures.get(record.value().getOrderId());
+            if (reason != null) {
+                log.error("Failed to process payment event for order {}: {}", record.value().getOrderId(), reason);
+                throw new BatchListenerFailedException(reason, record);
+            }
+        }
+    }
+
+    private void applyOne(ConsumerRecord<String, PaymentProcessedEvent> record) {
+        PaymentProcessedEvent event = record.value();
+        try {
+            if ("SUCCESS".equals(event.getStatus())) {
+                orderService.completeOrder(event.getOrderId(), event.getPaymentId());
+            } else {
+                orderService.failOrder(event.getOrderId(), event.getFailureReason());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to process payment event for order {}: {}", event.getOrderId(), e.getMessage());
+            throw new BatchListenerFailedException(e.getMessage(), e, record);
+        }
+    }
+}
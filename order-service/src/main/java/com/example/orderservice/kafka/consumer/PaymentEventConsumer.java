@@ -2,29 +2,67 @@ package com.example.orderservice.kafka.consumer;
 
 import com.example.commonlib.event.PaymentProcessedEvent;
 import com.example.commonlib.kafka.KafkaTopics;
+import com.example.commonlib.kafka.RetryTierMetrics;
 import com.example.orderservice.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
+/**
+ * 실패한 레코드는 payment-processed-retry-N 토픽으로 옮겨 지수 백오프로 재시도하고,
+ * 모두 실패하면 payment-processed-dlt 로 보낸다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "order.consumer.batch", name = "enabled", havingValue = "false", matchIfMissing = true)
 public class PaymentEventConsumer {
     private final OrderService orderService;
+    private final RetryTierMetrics retryTierMetrics;
 
+    @RetryableTopic(
+            attempts = "${order.consumer.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${order.consumer.retry.delay:1000}",
+                    multiplierExpression = "${order.consumer.retry.multiplier:2.0}",
+                    maxDelayExpression = "${order.consumer.retry.max-delay:30000}"),
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            dltStrategy = DltStrategy.FAIL_ON_ERROR
+    )
     @KafkaListener(topics = KafkaTopics.PAYMENT_PROCESSED, groupId = "${spring.application.name}")
-    public void handlePaymentProcessedEvent(PaymentProcessedEvent event) {
-        log.info("Received payment processed event: {}");
+    public void handlePaymentProcessedEvent(PaymentProcessedEvent event, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        log.info("Received payment processed event from {}: {}", topic, event);
         try {
             if ("SUCCESS".equals(event.getStatus())) {
                 orderService.completeOrder(event.getOrderId(), event.getPaymentId());
             } else {
                 orderService.failOrder(event.getOrderId(), event.getFailureReason());
             }
-        } catch (Exception e) {
+            retryTierMetrics.success(KafkaTopics.PAYMENT_PROCESSED, topic);
+        } catch (RuntimeException e) {
+            retryTierMetrics.failure(KafkaTopics.PAYMENT_PROCESSED, topic);
             log.error("Failed to process payment event for order {}: {}", event.getOrderId(), e.getMessage());
+            throw e;
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * 역직렬화에 실패한 레코드는 값이 null 이므로 ConsumerRecord 로 받는다.
+     */
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, PaymentProcessedEvent> record) {
+        retryTierMetrics.deadLettered(KafkaTopics.PAYMENT_PROCESSED, record.topic());
+        log.error("Payment processed event moved to DLT - key: {}, offset: {}, value: {}",
+                record.key(), record.offset(), record.value());
+    }
+}
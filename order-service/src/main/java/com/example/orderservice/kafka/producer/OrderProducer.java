@@ -2,28 +2,27 @@ package com.example.orderservice.kafka.producer;
 
 import com.example.commonlib.event.OrderCreatedEvent;
 import com.example.commonlib.kafka.KafkaTopics;
+import com.example.commonlib.outbox.OutboxPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OrderProducer {
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxPublisher outboxPublisher;
 
+    /**
+     * 현재 트랜잭션의 outbox 에 이벤트를 기록한다. Kafka 전송은 커밋 이후 outbox 릴레이가 수행한다.
+     */
     public void sendOrderCreatedEvent(OrderCreatedEvent event) {
         try {
-            log.info("Sending order created event: {}", event);
-            kafkaTemplate.send(KafkaTopics.ORDER_CREATED, event)
-                    .addCallback(
-                            success -> log.info("Order event sent successfully for order ID: {}", event.getOrderId()),
-                            failure -> log.error("Failed to send order event for order ID: {}", event.getOrderId(), failure)
-                    );
+            log.info("Writing order created event to outbox: {}", event);
+            outboxPublisher.publish(KafkaTopics.ORDER_CREATED, event.getOrderId().toString(), event);
         } catch (Exception e) {
-            log.error("Error while sending order created event: {}", e.getMessage(), e);
+            log.error("Error while writing order created event: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to send order created event", e);
         }
     }
-} 
\ No newline at end of file
+}
@@ -1,9 +1,11 @@
 package com.example.orderservice.model;
 
+import com.example.commonlib.id.TsidIdentifierGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.math.BigDecimal;
@@ -13,13 +15,17 @@ import java.util.List;
 
 @Data
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_orders_user_status_created", columnList = "user_id, status, created_at")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TsidIdentifierGenerator.NAME)
+    @GenericGenerator(name = TsidIdentifierGenerator.NAME, strategy = TsidIdentifierGenerator.STRATEGY)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
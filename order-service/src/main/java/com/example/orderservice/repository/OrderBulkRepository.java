@@ -0,0 +1,24 @@
+package com.example.orderservice.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 엔티티를 로딩하지 않고 여러 주문의 상태를 한 번에 변경하는 집합 기반 업데이트.
+ */
+public interface OrderBulkRepository {
+
+    /**
+     * @param paymentIdsByOrderId 주문 ID → 결제 ID
+     * @return 변경된 주문 수
+     */
+    int completeOrders(Map<Long, Long> paymentIdsByOrderId);
+
+    /**
+     * @return 변경된 주문 수
+     */
+    int failOrders(Collection<Long> orderIds, String reason);
+
+    Set<Long> findExistingIds(Collection<Long> orderIds);
+}
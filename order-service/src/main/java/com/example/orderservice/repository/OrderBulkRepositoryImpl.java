@@ -0,0 +1,87 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class OrderBulkRepositoryImpl implements OrderBulkRepository {
+    // IN 목록 하나에 들어가는 최대 ID 수
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int completeOrders(Map<Long, Long> paymentIdsByOrderId) {
+        int updated = 0;
+        for (List<Long> chunk : chunks(paymentIdsByOrderId.keySet())) {
+            // UPDATE orders SET status = ?, payment_id = CASE id WHEN ? THEN ? ... END, updated_at = ? WHERE id IN (...)
+            StringBuilder sql = new StringBuilder("UPDATE orders SET status = ?, payment_id = CASE id");
+            List<Object> args = new ArrayList<>(chunk.size() * 3 + 2);
+            args.add(OrderStatus.COMPLETED.name());
+            for (Long orderId : chunk) {
+                sql.append(" WHEN ? THEN ?");
+                args.add(orderId);
+                args.add(paymentIdsByOrderId.get(orderId));
+            }
+            sql.append(" END, updated_at = ? WHERE id IN (").append(placeholders(chunk.size())).append(')');
+            args.add(Timestamp.valueOf(LocalDateTime.now()));
+            args.addAll(chunk);
+            updated += jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+        return updated;
+    }
+
+    @Override
+    public int failOrders(Collection<Long> orderIds, String reason) {
+        int updated = 0;
+        for (List<Long> chunk : chunks(orderIds)) {
+            String sql = "UPDATE orders SET status = ?, failure_reason = ?, updated_at = ? WHERE id IN ("
+                    + placeholders(chunk.size()) + ")";
+            List<Object> args = new ArrayList<>(chunk.size() + 3);
+            args.add(OrderStatus.FAILED.name());
+            args.add(reason);
+            args.add(Timestamp.valueOf(LocalDateTime.now()));
+            args.addAll(chunk);
+            updated += jdbcTemplate.update(sql, args.toArray());
+        }
+        return updated;
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<Long> existing = new HashSet<>();
+        for (List<Long> chunk : chunks(orderIds)) {
+            existing.addAll(jdbcTemplate.queryForList(
+                    "SELECT id FROM orders WHERE id IN (" + placeholders(chunk.size()) + ")",
+                    Long.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += CHUNK_SIZE) {
+            chunks.add(all.subList(from, Math.min(from + CHUNK_SIZE, all.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
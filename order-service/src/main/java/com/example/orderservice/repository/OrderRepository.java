@@ -4,11 +4,29 @@ import com.example.orderservice.model.Order;
 import com.example.orderservice.model.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderBulkRepository {
     Page<Order> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
     Page<Order> findByUserIdAndStatusOrderByCreatedAtDesc(Long userId, OrderStatus status, Pageable pageable);
-} 
\ No newline at end of file
+
+    // count 쿼리 없이 size + 1 건을 읽어 다음 페이지 여부만 판단한다
+    Slice<Order> findSliceByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    Slice<Order> findSliceByUserIdAndStatusOrderByCreatedAtDesc(Long userId, OrderStatus status, Pageable pageable);
+
+    /**
+     * 여러 주문의 항목을 한 번에 읽는다. 목록 응답에 필요한 열만 읽으며
+     * 각 행은 [orderId, id, productId, productName, quantity, price, subtotal] 이다.
+     */
+    @Query("SELECT i.order.id, i.id, i.productId, i.productName, i.quantity, i.price, i.subtotal FROM OrderItem i " +
+           "WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<Object[]> findItemRowsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
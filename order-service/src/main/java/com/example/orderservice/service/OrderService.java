@@ -1,9 +1,13 @@
 package com.example.orderservice.service;
 
 import com.example.commonlib.event.OrderCreatedEvent;
+import com.example.commonlib.event.PaymentProcessedEvent;
+import com.example.commonlib.id.TsidGenerator;
 import com.example.orderservice.dto.CreateOrderRequest;
 import com.example.orderservice.dto.OrderDto;
 import com.example.orderservice.dto.OrderItemDto;
+import com.example.orderservice.dto.OrderItemRequest;
+import com.example.orderservice.dto.PaymentResultBatchReport;
 import com.example.orderservice.model.Order;
 import com.example.orderservice.model.OrderItem;
 import com.example.orderservice.model.OrderStatus;
@@ -11,16 +15,23 @@ import com.example.orderservice.repository.OrderRepository;
 import com.example.orderservice.kafka.producer.OrderProducer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,6 +40,7 @@ import java.util.stream.Collectors;
 public class OrderService {
     private final OrderRepository orderRepository;
     private final OrderProducer orderProducer;
+    private final TsidGenerator tsidGenerator;
 
     private Long getCurrentUserId() {
         Jwt jwt = (Jwt) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -41,25 +53,27 @@ public class OrderService {
         Long userId = getCurrentUserId();
         log.debug("Creating order for user ID: {}", userId);
 
-        // Calculate total amount from items
-        BigDecimal totalAmount = request.getItems().stream()
-                .map(item -> BigDecimal.valueOf(item.getQuantity()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Order must contain at least one item");
+        }
 
         Order order = Order.builder()
-                .orderNumber(UUID.randomUUID().toString())
+                .orderNumber(tsidGenerator.nextString())
                 .userId(userId)
                 .status(OrderStatus.PENDING)
-                .totalAmount(totalAmount)
                 .shippingAddress(request.getShippingAddress())
-                .orderItems(request.getItems().stream()
-                        .map(item -> OrderItem.builder()
-                                .productId(item.getProductId())
-                                .quantity(item.getQuantity())
-                                .build())
-                        .collect(Collectors.toList()))
                 .build();
+        // 항목별 소계(단가 x 수량)의 합이 주문 금액이다
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (OrderItemRequest itemRequest : request.getItems()) {
+            OrderItem item = toOrderItem(itemRequest);
+            item.setOrder(order);
+            order.getOrderItems().add(item);
+            totalAmount = totalAmount.add(item.getSubtotal());
+        }
+        order.setTotalAmount(totalAmount);
 
+        // ID 를 INSERT 전에 생성하므로 주문과 항목 INSERT 가 flush 시 JDBC 배치로 나간다
         order = orderRepository.save(order);
         log.info("Order created with ID: {} for user ID: {}", order.getId(), userId);
 
@@ -74,6 +88,25 @@ public class OrderService {
         return convertToDto(order);
     }
 
+    private static OrderItem toOrderItem(OrderItemRequest request) {
+        if (request.getProductId() == null || request.getProductName() == null || request.getProductName().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Order item requires productId and productName");
+        }
+        if (request.getQuantity() == null || request.getQuantity() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid quantity for product: " + request.getProductId());
+        }
+        if (request.getPrice() == null || request.getPrice().signum() < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid price for product: " + request.getProductId());
+        }
+        return OrderItem.builder()
+                .productId(request.getProductId())
+                .productName(request.getProductName())
+                .quantity(request.getQuantity())
+                .price(request.getPrice())
+                .subtotal(request.getPrice().multiply(BigDecimal.valueOf(request.getQuantity())))
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public OrderDto getOrder(String orderId) {
         Order order = orderRepository.findById(Long.parseLong(orderId))
@@ -88,18 +121,25 @@ public class OrderService {
         return convertToDto(order);
     }
 
+    /**
+     * 주문 페이지 한 번과 항목 IN 조회 한 번으로 목록을 만든다. withCount 가 false 면 count 쿼리도 생략하고 Slice 를 돌려준다.
+     */
     @Transactional(readOnly = true)
-    public Page<OrderDto> getCurrentUserOrders(Pageable pageable) {
+    public Slice<OrderDto> getCurrentUserOrders(Pageable pageable, boolean withCount) {
         Long userId = getCurrentUserId();
-        return orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
-                .map(this::convertToDto);
+        Slice<Order> orders = withCount
+                ? orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
+                : orderRepository.findSliceByUserIdOrderByCreatedAtDesc(userId, pageable);
+        return toDtos(orders);
     }
 
     @Transactional(readOnly = true)
-    public Page<OrderDto> getCurrentUserOrdersByStatus(OrderStatus status, Pageable pageable) {
+    public Slice<OrderDto> getCurrentUserOrdersByStatus(OrderStatus status, Pageable pageable, boolean withCount) {
         Long userId = getCurrentUserId();
-        return orderRepository.findByUserIdAndStatusOrderByCreatedAtDesc(userId, status, pageable)
-                .map(this::convertToDto);
+        Slice<Order> orders = withCount
+                ? orderRepository.findByUserIdAndStatusOrderByCreatedAtDesc(userId, status, pageable)
+                : orderRepository.findSliceByUserIdAndStatusOrderByCreatedAtDesc(userId, status, pageable);
+        return toDtos(orders);
     }
 
     @Transactional
@@ -124,15 +164,91 @@ public class OrderService {
         log.info("Order failed - orderId: {}, reason: {}", orderId, reason);
     }
 
+    /**
+     * 결제 결과 이벤트 묶음을 결과별로 모아 몇 개의 집합 기반 UPDATE 로 한 트랜잭션에 반영한다.
+     * 같은 주문에 대한 이벤트가 여러 개면 마지막 이벤트만 반영한다.
+     */
+    @Transactional
+    public PaymentResultBatchReport applyPaymentResults(List<PaymentProcessedEvent> events) {
+        Map<Long, String> failures = new LinkedHashMap<>();
+        Map<Long, PaymentProcessedEvent> latestByOrderId = new LinkedHashMap<>();
+        for (PaymentProcessedEvent event : events) {
+            if (event == null || event.getOrderId() == null) {
+                log.warn("Skipping payment event without order ID: {}", event);
+                continue;
+            }
+            latestByOrderId.put(event.getOrderId(), event);
+        }
+
+        Map<Long, Long> paymentIdsByOrderId = new LinkedHashMap<>();
+        Map<String, List<Long>> failedOrderIdsByReason = new LinkedHashMap<>();
+        latestByOrderId.forEach((orderId, event) -> {
+            if ("SUCCESS".equals(event.getStatus())) {
+                paymentIdsByOrderId.put(orderId, event.getPaymentId());
+            } else {
+                failedOrderIdsByReason.computeIfAbsent(event.getFailureReason(), reason -> new ArrayList<>()).add(orderId);
+            }
+        });
+
+        int completed = paymentIdsByOrderId.isEmpty() ? 0 : orderRepository.completeOrders(paymentIdsByOrderId);
+        int failed = 0;
+        for (Map.Entry<String, List<Long>> entry : failedOrderIdsByReason.entrySet()) {
+            failed += orderRepository.failOrders(entry.getValue(), entry.getKey());
+        }
+
+        // 갱신된 행 수가 모자라면 존재하지 않는 주문을 찾아 개별 실패로 보고한다
+        if (completed + failed < latestByOrderId.size()) {
+            Set<Long> existing = orderRepository.findExistingIds(latestByOrderId.keySet());
+            latestByOrderId.keySet().stream()
+                    .filter(orderId -> !existing.contains(orderId))
+                    .forEach(orderId -> failures.put(orderId, "Order not found: " + orderId));
+        }
+
+        log.info("Applied payment results - completed: {}, failed: {}, errors: {}", completed, failed, failures.size());
+        return PaymentResultBatchReport.builder()
+                .completed(completed)
+                .failed(failed)
+                .failures(failures)
+                .build();
+    }
+
+    // 지연 로딩되는 orderItems 를 건드리지 않고 항목을 한 번에 읽어 붙인다
+    private Slice<OrderDto> toDtos(Slice<Order> orders) {
+        if (!orders.hasContent()) {
+            return orders.map(order -> convertToDto(order, Collections.emptyList()));
+        }
+        Map<Long, List<OrderItemDto>> itemsByOrderId = new HashMap<>();
+        List<Long> orderIds = orders.getContent().stream().map(Order::getId).collect(Collectors.toList());
+        for (Object[] row : orderRepository.findItemRowsByOrderIds(orderIds)) {
+            itemsByOrderId.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(OrderItemDto.builder()
+                            .id((Long) row[1])
+                            .productId((Long) row[2])
+                            .productName((String) row[3])
+                            .quantity((Integer) row[4])
+                            .price((BigDecimal) row[5])
+                            .subtotal((BigDecimal) row[6])
+                            .build());
+        }
+        return orders.map(order -> convertToDto(order,
+                itemsByOrderId.getOrDefault(order.getId(), Collections.emptyList())));
+    }
+
     private OrderDto convertToDto(Order order) {
         List<OrderItemDto> itemDtos = order.getOrderItems().stream()
                 .map(item -> OrderItemDto.builder()
                         .id(item.getId())
                         .productId(item.getProductId())
+                        .productName(item.getProductName())
                         .quantity(item.getQuantity())
+                        .price(item.getPrice())
+                        .subtotal(item.getSubtotal())
                         .build())
                 .collect(Collectors.toList());
+        return convertToDto(order, itemDtos);
+    }
 
+    private OrderDto convertToDto(Order order, List<OrderItemDto> itemDtos) {
         return OrderDto.builder()
                 .id(order.getId())
                 .orderNumber(order.getOrderNumber())
@@ -0,0 +1,249 @@
+package com.example.orderservice;
+
+import com.example.commonlib.kafka.KafkaTopics;
+import com.example.orderservice.controller.OrderController;
+import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.OrderDto;
+import com.example.orderservice.dto.OrderItemRequest;
+import com.example.orderservice.model.Order;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.paymentservice.PaymentServiceApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * order-service 와 payment-service 를 embedded Kafka, H2 위에 함께 띄우고 주문 생성부터 COMPLETED 까지의
+ * 지연 분포(p50/p95/p99)를 측정해 build/reports/order-latency.json 에 기록한다.
+ * <p>
+ * 주문 수, 동시 요청 수, 결제 시뮬레이터 지연은 시스템 프로퍼티로 바꿀 수 있다:
+ * {@code -Dorder.latency.orders=2000 -Dorder.latency.concurrency=32 -Dorder.latency.processor-latency=200ms}
+ */
+@EmbeddedKafka(partitions = 3, topics = {KafkaTopics.ORDER_CREATED, KafkaTopics.PAYMENT_PROCESSED})
+class OrderCompletionLatencyTest {
+    private static final int ORDERS = Integer.getInteger("order.latency.orders", 200);
+    private static final int CONCURRENCY = Integer.getInteger("order.latency.concurrency", 8);
+    private static final String PROCESSOR_LATENCY = System.getProperty("order.latency.processor-latency", "50ms");
+    private static final long POLL_INTERVAL_MILLIS = 5;
+    private static final long TIMEOUT_MILLIS = 120_000;
+    private static final Path REPORT = Paths.get("build", "reports", "order-latency.json");
+    private static final String JWT_SECRET =
+            "c2VjcmV0LWtleS1mb3ItbWljcm9zZXJ2aWNlcy1wcm9qZWN0LWp3dC10b2tlbi1nZW5lcmF0aW9uLWFuZC12YWxpZGF0aW9u";
+
+    private static ConfigurableApplicationContext paymentService;
+    private static ConfigurableApplicationContext orderService;
+
+    @BeforeAll
+    static void startServices(EmbeddedKafkaBroker broker) {
+        String brokers = broker.getBrokersAsString();
+        paymentService = new SpringApplicationBuilder(PaymentServiceApplication.class)
+                .properties(commonProperties("payment-service", "paymentdb", brokers, 2))
+                .properties(
+                        "payment.processor.type=simulator",
+                        "payment.processor.simulator.latency=fixed",
+                        "payment.processor.simulator.mean-latency=" + PROCESSOR_LATENCY)
+                .run();
+        orderService = new SpringApplicationBuilder(OrderServiceApplication.class)
+                .properties(commonProperties("order-service", "orderdb", brokers, 1))
+                .run();
+    }
+
+    @AfterAll
+    static void stopServices() {
+        if (orderService != null) {
+            orderService.close();
+        }
+        if (paymentService != null) {
+            paymentService.close();
+        }
+    }
+
+    @Test
+    void measuresTimeFromCreateOrderToCompleted() throws Exception {
+        OrderController orderController = orderService.getBean(OrderController.class);
+        OrderRepository orderRepository = orderService.getBean(OrderRepository.class);
+        Map<Long, Long> submittedAtNanos = new ConcurrentHashMap<>();
+
+        // 컨슈머 그룹 할당과 커넥션 풀 준비가 끝난 뒤부터 잰다
+        warmUp(orderController, orderRepository);
+
+        long startNanos = System.nanoTime();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<?>> requests = new ArrayList<>(ORDERS);
+            for (int i = 0; i < ORDERS; i++) {
+                long userId = 1 + i % 100;
+                requests.add(clients.submit(() -> {
+                    authenticate(userId);
+                    try {
+                        long submittedAt = System.nanoTime();
+                        OrderDto order = orderController.createOrder(orderRequest()).getBody();
+                        submittedAtNanos.put(order.getId(), submittedAt);
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            for (Future<?> request : requests) {
+                request.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+
+        // 상태 변경 시각은 폴링 간격 단위로 관측된다
+        Map<Long, Long> latencyMillis = new HashMap<>();
+        Map<Long, OrderStatus> failed = new HashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (latencyMillis.size() + failed.size() < ORDERS && System.nanoTime() < deadline) {
+            List<Long> pending = new ArrayList<>(submittedAtNanos.keySet());
+            pending.removeAll(latencyMillis.keySet());
+            pending.removeAll(failed.keySet());
+            long observedAt = System.nanoTime();
+            for (Order order : orderRepository.findAllById(pending)) {
+                if (order.getStatus() == OrderStatus.COMPLETED) {
+                    latencyMillis.put(order.getId(),
+                            TimeUnit.NANOSECONDS.toMillis(observedAt - submittedAtNanos.get(order.getId())));
+                } else if (order.getStatus() == OrderStatus.FAILED || order.getStatus() == OrderStatus.CANCELLED) {
+                    failed.put(order.getId(), order.getStatus());
+                }
+            }
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        long[] sorted = latencyMillis.values().stream().mapToLong(Long::longValue).sorted().toArray();
+        writeReport(sorted, failed.size(), ORDERS - sorted.length - failed.size(), elapsedNanos);
+
+        assertThat(failed).isEmpty();
+        assertThat(sorted).hasSize(ORDERS);
+    }
+
+    private static void warmUp(OrderController orderController, OrderRepository orderRepository) throws InterruptedException {
+        authenticate(1);
+        Long orderId;
+        try {
+            orderId = orderController.createOrder(orderRequest()).getBody().getId();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (orderRepository.findById(orderId).map(Order::getStatus).orElseThrow() != OrderStatus.COMPLETED) {
+            assertThat(System.nanoTime()).as("warm-up order completed").isLessThan(deadline);
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+    }
+
+    private static String[] commonProperties(String name, String database, String brokers, int nodeId) {
+        return new String[] {
+                // 각 서비스의 application.yml 대신 아래 설정만 사용한다
+                "spring.config.name=" + name + "-latency-test",
+                "spring.application.name=" + name,
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "spring.jpa.properties.hibernate.order_inserts=true",
+                "spring.jpa.properties.hibernate.order_updates=true",
+                "spring.kafka.bootstrap-servers=" + brokers,
+                "spring.kafka.producer.key-serializer=org.apache.kafka.common.serialization.StringSerializer",
+                "spring.kafka.producer.value-serializer=com.example.commonlib.kafka.codec.BinaryEventSerializer",
+                "spring.kafka.producer.properties.event.codec.binary-topics="
+                        + KafkaTopics.ORDER_CREATED + "," + KafkaTopics.PAYMENT_PROCESSED,
+                "spring.kafka.consumer.group-id=" + name + "-group",
+                "spring.kafka.consumer.auto-offset-reset=earliest",
+                "spring.kafka.consumer.key-deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+                "spring.kafka.consumer.value-deserializer=org.springframework.kafka.support.serializer.ErrorHandlingDeserializer",
+                "spring.kafka.consumer.properties.spring.deserializer.value.delegate.class="
+                        + "com.example.commonlib.kafka.codec.BinaryEventDeserializer",
+                "spring.kafka.consumer.properties.spring.json.trusted.packages=*",
+                "spring.kafka.listener.missing-topics-fatal=false",
+                "outbox.enabled=true",
+                "outbox.poll-interval=100ms",
+                "jwt.algorithm=HS512",
+                "jwt.secret=" + JWT_SECRET,
+                "id-generator.node-id=" + nodeId,
+                "eureka.client.enabled=false"
+        };
+    }
+
+    private static void authenticate(long userId) {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject(Long.toString(userId)).build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    private static CreateOrderRequest orderRequest() {
+        return CreateOrderRequest.builder()
+                .shippingAddress("Seoul")
+                .items(List.of(OrderItemRequest.builder()
+                        .productId(1L)
+                        .productName("Keyboard")
+                        .quantity(1)
+                        .price(new BigDecimal("49.90"))
+                        .build()))
+                .build();
+    }
+
+    private static void writeReport(long[] sortedMillis, int failed, int timedOut, long elapsedNanos) throws Exception {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", percentile(sortedMillis, 50));
+        latency.put("p95", percentile(sortedMillis, 95));
+        latency.put("p99", percentile(sortedMillis, 99));
+        latency.put("max", sortedMillis.length > 0 ? sortedMillis[sortedMillis.length - 1] : null);
+        latency.put("mean", sortedMillis.length > 0 ? Arrays.stream(sortedMillis).average().getAsDouble() : null);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("orders", ORDERS);
+        report.put("concurrency", CONCURRENCY);
+        report.put("processorLatency", PROCESSOR_LATENCY);
+        report.put("pollIntervalMillis", POLL_INTERVAL_MILLIS);
+        report.put("completed", sortedMillis.length);
+        report.put("failed", failed);
+        report.put("timedOut", timedOut);
+        report.put("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        report.put("latencyMillis", latency);
+
+        Files.createDirectories(REPORT.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT.toFile(), report);
+    }
+
+    // nearest-rank
+    private static Long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return null;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
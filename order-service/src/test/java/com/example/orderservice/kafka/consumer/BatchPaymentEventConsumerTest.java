@@ -0,0 +1,108 @@
+package com.example.orderservice.kafka.consumer;
+
+import com.example.commonlib.event.PaymentProcessedEvent;
+import com.example.commonlib.kafka.KafkaTopics;
+import com.example.orderservice.dto.PaymentResultBatchReport;
+import com.example.orderservice.service.OrderService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchPaymentEventConsumerTest {
+    private OrderService orderService;
+    private BatchPaymentEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderService.class);
+        consumer = new BatchPaymentEventConsumer(orderService);
+    }
+
+    @Test
+    void completesBatchWithoutFailures() {
+        List<ConsumerRecord<String, PaymentProcessedEvent>> records = List.of(record(0, 1L), record(1, 2L));
+        when(orderService.applyPaymentResults(any())).thenReturn(report(Map.of()));
+
+        consumer.handlePaymentProcessedEvents(records);
+
+        verify(orderService).applyPaymentResults(List.of(records.get(0).value(), records.get(1).value()));
+    }
+
+    @Test
+    void reportsFirstUnappliedRecordToErrorHandler() {
+        List<ConsumerRecord<String, PaymentProcessedEvent>> records = List.of(record(0, 1L), record(1, 2L), record(2, 3L));
+        when(orderService.applyPaymentResults(any())).thenReturn(report(Map.of(3L, "Order not found: 3", 2L, "Order not found: 2")));
+
+        assertThatThrownBy(() -> consumer.handlePaymentProcessedEvents(records))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getRecord()).isSameAs(records.get(1)));
+    }
+
+    @Test
+    void fallsBackPerRecordAndStopsAtFailedRecord() {
+        List<ConsumerRecord<String, PaymentProcessedEvent>> records = List.of(record(0, 1L), record(1, 2L), record(2, 3L));
+        when(orderService.applyPaymentResults(any())).thenThrow(new IllegalStateException("deadlock"));
+        doThrow(new IllegalStateException("Order not found: 2")).when(orderService).completeOrder(2L, 102L);
+
+        assertThatThrownBy(() -> consumer.handlePaymentProcessedEvents(records))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getRecord()).isSameAs(records.get(1)));
+        verify(orderService).completeOrder(1L, 101L);
+        verify(orderService, never()).completeOrder(3L, 103L);
+    }
+
+    @Test
+    void appliesRecordsBeforeUndeserializableRecordAndReportsItWithOriginalBytes() {
+        byte[] data = "garbage".getBytes(StandardCharsets.UTF_8);
+        ConsumerRecord<String, PaymentProcessedEvent> undeserializable = undeserializable(1, data);
+        List<ConsumerRecord<String, PaymentProcessedEvent>> records = List.of(record(0, 1L), undeserializable, record(2, 3L));
+        when(orderService.applyPaymentResults(any())).thenReturn(report(Map.of()));
+
+        assertThatThrownBy(() -> consumer.handlePaymentProcessedEvents(records))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, e -> {
+                    assertThat(e.getRecord()).isSameAs(undeserializable);
+                    assertThat(e.getCause()).isInstanceOfSatisfying(DeserializationException.class,
+                            cause -> assertThat(cause.getData()).isEqualTo(data));
+                });
+        verify(orderService).applyPaymentResults(List.of(records.get(0).value()));
+    }
+
+    private static ConsumerRecord<String, PaymentProcessedEvent> undeserializable(long offset, byte[] data) {
+        RecordHeaders headers = new RecordHeaders();
+        SerializationUtils.deserializationException(headers, data, new IllegalArgumentException("Unknown type id"), false);
+        return new ConsumerRecord<>(KafkaTopics.PAYMENT_PROCESSED, 0, offset, ConsumerRecord.NO_TIMESTAMP,
+                TimestampType.NO_TIMESTAMP_TYPE, ConsumerRecord.NULL_SIZE, ConsumerRecord.NULL_SIZE,
+                null, null, headers, Optional.empty());
+    }
+
+    private static ConsumerRecord<String, PaymentProcessedEvent> record(long offset, Long orderId) {
+        PaymentProcessedEvent event = new PaymentProcessedEvent();
+        event.setOrderId(orderId);
+        event.setPaymentId(orderId + 100);
+        event.setStatus("SUCCESS");
+        return new ConsumerRecord<>(KafkaTopics.PAYMENT_PROCESSED, 0, offset, orderId.toString(), event);
+    }
+
+    private static PaymentResultBatchReport report(Map<Long, String> failures) {
+        return PaymentResultBatchReport.builder().failures(failures).build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.orderservice.service;
+
+import com.example.commonlib.event.OrderCreatedEvent;
+import com.example.commonlib.id.TsidGenerator;
+import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.OrderDto;
+import com.example.orderservice.dto.OrderItemRequest;
+import com.example.orderservice.kafka.producer.OrderProducer;
+import com.example.orderservice.model.Order;
+import com.example.orderservice.model.OrderItem;
+import com.example.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderServiceTest {
+    private OrderRepository orderRepository;
+    private OrderProducer orderProducer;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        orderProducer = mock(OrderProducer.class);
+        orderService = new OrderService(orderRepository, orderProducer, new TsidGenerator(1));
+        when(orderRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("42").build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createOrderPricesItemsAndSumsSubtotals() {
+        OrderDto order = orderService.createOrder(request(
+                item(1L, "Keyboard", 2, "49.90"),
+                item(2L, "Mouse", 1, "19.99")));
+
+        ArgumentCaptor<Order> saved = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(saved.capture());
+        List<OrderItem> items = saved.getValue().getOrderItems();
+        assertThat(items).allSatisfy(item -> assertThat(item.getOrder()).isSameAs(saved.getValue()));
+        assertThat(items).extracting(OrderItem::getSubtotal)
+                .containsExactly(new BigDecimal("99.80"), new BigDecimal("19.99"));
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("119.79");
+        assertThat(order.getOrderItems()).extracting("productName").containsExactly("Keyboard", "Mouse");
+
+        ArgumentCaptor<OrderCreatedEvent> event = ArgumentCaptor.forClass(OrderCreatedEvent.class);
+        verify(orderProducer).sendOrderCreatedEvent(event.capture());
+        assertThat(event.getValue().getTotalAmount()).isEqualByComparingTo("119.79");
+        assertThat(event.getValue().getUserId()).isEqualTo(42L);
+    }
+
+    @Test
+    void createOrderRejectsItemWithoutPrice() {
+        assertThatThrownBy(() -> orderService.createOrder(request(item(1L, "Keyboard", 1, null))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void createOrderRejectsEmptyOrder() {
+        assertThatThrownBy(() -> orderService.createOrder(request()))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private static CreateOrderRequest request(OrderItemRequest... items) {
+        return CreateOrderRequest.builder()
+                .shippingAddress("Seoul")
+                .items(List.of(items))
+                .build();
+    }
+
+    private static OrderItemRequest item(Long productId, String name, int quantity, String price) {
+        return OrderItemRequest.builder()
+                .productId(productId)
+                .productName(name)
+                .quantity(quantity)
+                .price(price != null ? new BigDecimal(price) : null)
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.paymentservice.config;
+
+import com.example.paymentservice.idempotency.LongLruSet;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    public LongLruSet processedOrderIds(IdempotencyProperties properties) {
+        return new LongLruSet(properties.getCacheSize(), properties.getConcurrency());
+    }
+}
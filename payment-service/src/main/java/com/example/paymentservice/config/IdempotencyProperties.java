@@ -0,0 +1,13 @@
+package com.example.paymentservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.idempotency")
+public class IdempotencyProperties {
+    private int cacheSize = 100_000;   // 최근 처리한 orderId 보관 개수 (초과분은 DB unique 제약으로 걸러진다)
+    private int concurrency = 16;
+}
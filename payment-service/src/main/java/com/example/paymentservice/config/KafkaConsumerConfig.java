@@ -0,0 +1,83 @@
+package com.example.paymentservice.config;
+
+import com.example.commonlib.kafka.RetryTierMetrics;
+import com.example.paymentservice.kafka.consumer.ParallelOrderEventConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+
+import java.util.Collection;
+
+@Configuration
+@EnableConfigurationProperties(ParallelConsumerProperties.class)
+public class KafkaConsumerConfig {
+
+    @Bean
+    public RetryTierMetrics retryTierMetrics(MeterRegistry meterRegistry) {
+        return new RetryTierMetrics(meterRegistry);
+    }
+
+    /**
+     * 병렬 컨슈머가 처리하지 못한 레코드를 &lt;토픽&gt;-dlt 로 보낸다.
+     * 병렬 모드에서는 재시도 토픽을 구독하는 리스너가 없으므로 재시도 단계를 거치지 않는다.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "payment.consumer.parallel", name = "enabled", havingValue = "true")
+    public DeadLetterPublishingRecoverer parallelOrderDeadLetterRecoverer(KafkaTemplate<Object, Object> kafkaTemplate) {
+        // 파티션을 -1 로 두면 DLT 파티션 수와 관계없이 프로듀서가 고른다
+        return new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, e) -> new TopicPartition(record.topic() + RetryTierMetrics.DLT_SUFFIX, -1));
+    }
+
+    /**
+     * 병렬 컨슈머 전용 팩토리: 배치 리스너로 받아 작업 풀에 넘기고, 오프셋은 리스너가 직접 커밋한다.
+     * 레코드별 실패는 리스너가 직접 DLT 로 보내며, 리스너 자체가 던진 예외만 에러 핸들러가 재시도 후 DLT 로 보낸다.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "payment.consumer.parallel", name = "enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> parallelOrderListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            ParallelConsumerProperties properties,
+            DeadLetterPublishingRecoverer parallelOrderDeadLetterRecoverer,
+            ObjectProvider<ParallelOrderEventConsumer> parallelOrderEventConsumer,
+            @Value("${payment.consumer.retry.attempts:4}") int attempts,
+            @Value("${payment.consumer.retry.delay:1000}") long delay,
+            @Value("${payment.consumer.retry.multiplier:2.0}") double multiplier,
+            @Value("${payment.consumer.retry.max-delay:30000}") long maxDelay) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setIdleEventInterval(properties.getCommitInterval().toMillis());
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(attempts - 1);
+        backOff.setInitialInterval(delay);
+        backOff.setMultiplier(multiplier);
+        backOff.setMaxInterval(maxDelay);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(parallelOrderDeadLetterRecoverer, backOff));
+        // 컨슈머 빈은 @KafkaListener 등록 중에 이 팩토리를 찾으므로 리밸런스 시점에 꺼내 쓴다.
+        // 컨슈머가 리밸런스 리스너 빈이면 부트가 모든 팩토리에 적용하려다 순환 참조가 생기므로 여기서만 감싸서 넘긴다
+        factory.getContainerProperties().setConsumerRebalanceListener(new ConsumerAwareRebalanceListener() {
+            @Override
+            public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                parallelOrderEventConsumer.getObject().onPartitionsRevokedBeforeCommit(consumer, partitions);
+            }
+        });
+        return factory;
+    }
+}
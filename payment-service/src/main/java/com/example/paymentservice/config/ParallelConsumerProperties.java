@@ -0,0 +1,25 @@
+package com.example.paymentservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.consumer.parallel")
+public class ParallelConsumerProperties {
+    private boolean enabled = false;
+    private OrderingKey orderingKey = OrderingKey.ORDER_ID;
+    private int maxInFlight = 256;      // 컨슈머 인스턴스당 동시에 처리 중인 레코드 수 상한
+    private int workerThreads = 16;
+    private int maxPollRecords = 500;
+    private Duration commitInterval = Duration.ofSeconds(1);
+    private Duration drainTimeout = Duration.ofSeconds(30);
+
+    public enum OrderingKey {
+        ORDER_ID,
+        USER_ID
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.paymentservice.config;
+
+import com.example.paymentservice.processor.HttpPaymentProcessor;
+import com.example.paymentservice.processor.PaymentCompletionExecutor;
+import com.example.paymentservice.processor.PaymentProcessor;
+import com.example.paymentservice.processor.SimulatedPaymentProcessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PaymentProcessorProperties.class)
+public class PaymentProcessorConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "payment.processor", name = "type", havingValue = "http")
+    public PaymentProcessor httpPaymentProcessor(PaymentProcessorProperties properties, ObjectMapper objectMapper) {
+        return new HttpPaymentProcessor(properties, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "payment.processor", name = "type", havingValue = "simulator", matchIfMissing = true)
+    public PaymentProcessor simulatedPaymentProcessor(PaymentProcessorProperties properties) {
+        return new SimulatedPaymentProcessor(properties);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public PaymentCompletionExecutor paymentCompletionExecutor(PaymentProcessorProperties properties, MeterRegistry meterRegistry) {
+        return new PaymentCompletionExecutor(properties.getCompletionThreads(), properties.getCompletionQueueCapacity(), meterRegistry);
+    }
+}
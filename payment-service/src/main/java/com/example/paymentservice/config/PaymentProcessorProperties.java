@@ -0,0 +1,48 @@
+package com.example.paymentservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.processor")
+public class PaymentProcessorProperties {
+    private Type type = Type.SIMULATOR;
+    private Duration timeout = Duration.ofSeconds(5);
+    private int completionThreads = 8;           // 응답 이후 완료 트랜잭션을 실행하는 스레드 수 (DB 커넥션 풀보다 작게)
+    private int completionQueueCapacity = 1000;
+    private Http http = new Http();
+    private Simulator simulator = new Simulator();
+
+    public enum Type {
+        SIMULATOR,
+        HTTP
+    }
+
+    public enum LatencyDistribution {
+        FIXED,      // 항상 mean-latency
+        NORMAL,     // mean-latency, std-dev-latency 의 정규분포
+        LONG_TAIL   // 중앙값 mean-latency, 99 분위 p99-latency 의 로그정규분포
+    }
+
+    @Getter
+    @Setter
+    public static class Http {
+        private String baseUrl = "http://localhost:9090";
+        private Duration connectTimeout = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Simulator {
+        private LatencyDistribution latency = LatencyDistribution.FIXED;
+        private Duration meanLatency = Duration.ofSeconds(1);
+        private Duration stdDevLatency = Duration.ofMillis(100);
+        private Duration p99Latency = Duration.ofSeconds(3);
+        private double failureRate = 0.0;
+        private double timeoutRate = 0.0;
+    }
+}
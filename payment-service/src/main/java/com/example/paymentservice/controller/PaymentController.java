@@ -1,6 +1,7 @@
 package com.example.paymentservice.controller;
 
 import com.example.paymentservice.dto.PaymentDto;
+import com.example.paymentservice.dto.PaymentPageResponse;
 import com.example.paymentservice.dto.RefundRequest;
 import com.example.paymentservice.model.PaymentStatus;
 import com.example.paymentservice.service.PaymentService;
@@ -20,6 +21,8 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Payment Management", description = "결제 관리 API")
 @SecurityRequirement(name = "bearerAuth")
 public class PaymentController {
+    private static final String DEFAULT_CURSOR_PAGE_SIZE = "20";
+
     private final PaymentService paymentService;
 
     @Operation(summary = "결제 정보 조회", description = "특정 결제의 상세 정보를 조회합니다.")
@@ -43,6 +46,22 @@ public class PaymentController {
         return ResponseEntity.ok(paymentService.getCurrentUserPayments(pageable));
     }
 
+    @Operation(summary = "사용자 결제 목록 커서 조회", description = "현재 사용자의 결제 목록을 최신순으로 조회합니다. 다음 페이지는 nextCursor 를 after 로 전달합니다.")
+    @GetMapping(params = "limit")
+    public ResponseEntity<PaymentPageResponse> getCurrentUserPaymentsByCursor(
+            @Parameter(description = "이전 페이지의 nextCursor") @RequestParam(required = false) String after,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = DEFAULT_CURSOR_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(paymentService.getCurrentUserPayments(null, after, limit));
+    }
+
+    // limit 없이 after 만 넘긴 다음 페이지 요청도 오프셋 목록이 아닌 커서 조회로 보낸다
+    @Operation(hidden = true)
+    @GetMapping(params = {"after", "!limit"})
+    public ResponseEntity<PaymentPageResponse> getCurrentUserPaymentsAfterCursor(
+            @RequestParam String after, @RequestParam(defaultValue = DEFAULT_CURSOR_PAGE_SIZE) int limit) {
+        return getCurrentUserPaymentsByCursor(after, limit);
+    }
+
     @Operation(summary = "상태별 결제 목록 조회", description = "현재 사용자의 결제 목록을 상태별로 조회합니다.")
     @GetMapping("/status/{status}")
     public ResponseEntity<Page<PaymentDto>> getCurrentUserPaymentsByStatus(
@@ -51,6 +70,23 @@ public class PaymentController {
         return ResponseEntity.ok(paymentService.getCurrentUserPaymentsByStatus(status, pageable));
     }
 
+    @Operation(summary = "상태별 결제 목록 커서 조회", description = "현재 사용자의 결제 목록을 상태별로 최신순 조회합니다. 다음 페이지는 nextCursor 를 after 로 전달합니다.")
+    @GetMapping(value = "/status/{status}", params = "limit")
+    public ResponseEntity<PaymentPageResponse> getCurrentUserPaymentsByStatusAndCursor(
+            @Parameter(description = "결제 상태") @PathVariable PaymentStatus status,
+            @Parameter(description = "이전 페이지의 nextCursor") @RequestParam(required = false) String after,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = DEFAULT_CURSOR_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(paymentService.getCurrentUserPayments(status, after, limit));
+    }
+
+    @Operation(hidden = true)
+    @GetMapping(value = "/status/{status}", params = {"after", "!limit"})
+    public ResponseEntity<PaymentPageResponse> getCurrentUserPaymentsByStatusAfterCursor(
+            @PathVariable PaymentStatus status,
+            @RequestParam String after, @RequestParam(defaultValue = DEFAULT_CURSOR_PAGE_SIZE) int limit) {
+        return getCurrentUserPaymentsByStatusAndCursor(status, after, limit);
+    }
+
     @Operation(summary = "결제 취소", description = "결제를 취소합니다.")
     @PostMapping("/{paymentId}/cancel")
     public ResponseEntity<PaymentDto> cancelPayment(
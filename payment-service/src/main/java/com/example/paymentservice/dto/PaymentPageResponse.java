@@ -0,0 +1,17 @@
+package com.example.paymentservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentPageResponse {
+    private List<PaymentDto> payments;
+    private String nextCursor;  // 마지막 페이지면 null
+}
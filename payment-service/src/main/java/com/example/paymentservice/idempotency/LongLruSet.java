@@ -0,0 +1,189 @@
+package com.example.paymentservice.idempotency;
+
+/**
+ * long 키 전용 고정 크기 LRU 집합. 박싱 없이 배열만 사용하며, 가득 차면 가장 오래 사용되지 않은 키를 버린다.
+ * 키 해시로 나눈 세그먼트별로 동기화하므로 여러 컨슈머 스레드가 동시에 사용해도 경합이 적다.
+ */
+public class LongLruSet {
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    public LongLruSet(int capacity, int concurrency) {
+        if (capacity <= 0 || concurrency <= 0) {
+            throw new IllegalArgumentException("capacity and concurrency must be positive");
+        }
+        int segmentCount = Integer.highestOneBit(Math.min(concurrency, capacity));
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        int perSegment = (capacity + segmentCount - 1) / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * @return 새로 추가되었으면 true, 이미 있었으면 false (이 경우 최근 사용으로 갱신된다)
+     */
+    public boolean add(long key) {
+        int hash = hash(key);
+        return segmentFor(hash).add(key, hash);
+    }
+
+    public boolean contains(long key) {
+        int hash = hash(key);
+        return segmentFor(hash).contains(key, hash);
+    }
+
+    public void remove(long key) {
+        int hash = hash(key);
+        segmentFor(hash).remove(key, hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(int hash) {
+        // 세그먼트 선택은 상위 비트, 세그먼트 내부 슬롯은 하위 비트를 사용한다
+        return segments[(hash >>> 16) & segmentMask];
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * 선형 탐사 해시 테이블(table: 노드 번호 + 1, 0 은 빈 슬롯)과
+     * 노드 배열 위의 이중 연결 리스트(head: 가장 최근, tail: 가장 오래됨)로 구성된다.
+     */
+    private static final class Segment {
+        private static final int NONE = -1;
+
+        private final long[] keys;
+        private final int[] prev;
+        private final int[] next;
+        private final int[] table;
+        private final int tableMask;
+        private int size;
+        private int head = NONE;
+        private int tail = NONE;
+
+        Segment(int capacity) {
+            keys = new long[capacity];
+            prev = new int[capacity];
+            next = new int[capacity];
+            // 적재율 50% 이하 유지
+            table = new int[Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1];
+            tableMask = table.length - 1;
+        }
+
+        synchronized boolean add(long key, int hash) {
+            int slot = find(key, hash);
+            if (table[slot] != 0) {
+                moveToHead(table[slot] - 1);
+                return false;
+            }
+            int node;
+            if (size < keys.length) {
+                node = size++;
+            } else {
+                node = tail;
+                unlink(node);
+                deleteSlot(find(keys[node], hash(keys[node])));
+                slot = find(key, hash);
+            }
+            keys[node] = key;
+            table[slot] = node + 1;
+            linkHead(node);
+            return true;
+        }
+
+        synchronized boolean contains(long key, int hash) {
+            return table[find(key, hash)] != 0;
+        }
+
+        synchronized void remove(long key, int hash) {
+            int slot = find(key, hash);
+            if (table[slot] == 0) {
+                return;
+            }
+            int node = table[slot] - 1;
+            unlink(node);
+            deleteSlot(slot);
+            // 마지막 노드를 빈 자리로 옮겨 노드 배열을 빈틈없이 유지한다
+            int last = --size;
+            if (node != last) {
+                keys[node] = keys[last];
+                table[find(keys[last], hash(keys[last]))] = node + 1;
+                prev[node] = prev[last];
+                next[node] = next[last];
+                if (prev[node] != NONE) next[prev[node]] = node; else head = node;
+                if (next[node] != NONE) prev[next[node]] = node; else tail = node;
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        /**
+         * @return key 가 있는 슬롯, 없으면 key 가 들어갈 빈 슬롯
+         */
+        private int find(long key, int hash) {
+            int slot = hash & tableMask;
+            while (table[slot] != 0 && keys[table[slot] - 1] != key) {
+                slot = (slot + 1) & tableMask;
+            }
+            return slot;
+        }
+
+        /**
+         * 선형 탐사 테이블의 backward-shift 삭제. 툼스톤을 남기지 않아 탐사 길이가 늘어나지 않는다.
+         */
+        private void deleteSlot(int slot) {
+            int hole = slot;
+            int cursor = slot;
+            while (true) {
+                cursor = (cursor + 1) & tableMask;
+                if (table[cursor] == 0) {
+                    break;
+                }
+                int ideal = hash(keys[table[cursor] - 1]) & tableMask;
+                // ideal 이 (hole, cursor] 구간 밖이면 hole 로 당겨도 탐사 경로가 유지된다
+                boolean movable = hole <= cursor
+                        ? ideal <= hole || ideal > cursor
+                        : ideal <= hole && ideal > cursor;
+                if (movable) {
+                    table[hole] = table[cursor];
+                    hole = cursor;
+                }
+            }
+            table[hole] = 0;
+        }
+
+        private void moveToHead(int node) {
+            if (node != head) {
+                unlink(node);
+                linkHead(node);
+            }
+        }
+
+        private void linkHead(int node) {
+            prev[node] = NONE;
+            next[node] = head;
+            if (head != NONE) prev[head] = node;
+            head = node;
+            if (tail == NONE) tail = node;
+        }
+
+        private void unlink(int node) {
+            if (prev[node] != NONE) next[prev[node]] = next[node]; else head = next[node];
+            if (next[node] != NONE) prev[next[node]] = prev[node]; else tail = prev[node];
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.paymentservice.kafka.consumer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 작업은 제출 순서대로 하나씩, 서로 다른 키의 작업은 병렬로 실행한다.
+ * 키마다 마지막 작업의 future 만 보관하므로 메모리는 처리 중인 키 수에 비례한다.
+ */
+class KeyOrderedExecutor {
+    private final ConcurrentHashMap<Object, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    KeyOrderedExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @param task 비동기 작업. 반환한 future 가 완료되어야 같은 키의 다음 작업이 시작된다.
+     * @return 작업 완료 시 정상 완료되는 future (작업의 예외는 전파하지 않는다)
+     */
+    CompletableFuture<Void> submit(Object key, Supplier<CompletableFuture<Void>> task) {
+        CompletableFuture<Void> next = tails.compute(key, (k, previous) ->
+                (previous != null ? previous : CompletableFuture.<Void>completedFuture(null))
+                        .thenComposeAsync(ignored -> task.get(), executor)
+                        .handle((ignored, error) -> null));
+        next.whenComplete((ignored, error) -> tails.remove(key, next));
+        return next;
+    }
+}
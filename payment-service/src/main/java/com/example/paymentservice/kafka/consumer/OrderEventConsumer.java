@@ -1,27 +1,64 @@
 package com.example.paymentservice.kafka.consumer;
 
 import com.example.commonlib.event.OrderCreatedEvent;
-import com.example.commonlib.event.PaymentProcessedEvent;
 import com.example.commonlib.kafka.KafkaTopics;
+import com.example.commonlib.kafka.RetryTierMetrics;
 import com.example.paymentservice.service.PaymentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
+/**
+ * 실패한 레코드는 order-created-retry-N 토픽으로 옮겨 지수 백오프로 재시도하고,
+ * 모두 실패하면 order-created-dlt 로 보낸다. 메인 파티션은 실패 레코드 때문에 멈추지 않는다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "payment.consumer.parallel", name = "enabled", havingValue = "false", matchIfMissing = true)
 public class OrderEventConsumer {
     private final PaymentService paymentService;
+    private final RetryTierMetrics retryTierMetrics;
 
+    @RetryableTopic(
+            attempts = "${payment.consumer.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${payment.consumer.retry.delay:1000}",
+                    multiplierExpression = "${payment.consumer.retry.multiplier:2.0}",
+                    maxDelayExpression = "${payment.consumer.retry.max-delay:30000}"),
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            dltStrategy = DltStrategy.FAIL_ON_ERROR
+    )
     @KafkaListener(topics = KafkaTopics.ORDER_CREATED, groupId = "${spring.application.name}")
-    public void handleOrderCreatedEvent(OrderCreatedEvent event) {
-        log.info("Received order created event: {}", event);
+    public void handleOrderCreatedEvent(OrderCreatedEvent event, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        log.info("Received order created event from {}: {}", topic, event);
         try {
             paymentService.processPayment(event);
-        } catch (Exception e) {
+            retryTierMetrics.success(KafkaTopics.ORDER_CREATED, topic);
+        } catch (RuntimeException e) {
+            retryTierMetrics.failure(KafkaTopics.ORDER_CREATED, topic);
             log.error("Failed to process payment for order {}: {}", event.getOrderId(), e.getMessage(), e);
+            throw e;
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * 역직렬화에 실패한 레코드는 값이 null 이므로 ConsumerRecord 로 받는다.
+     */
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, OrderCreatedEvent> record) {
+        retryTierMetrics.deadLettered(KafkaTopics.ORDER_CREATED, record.topic());
+        log.error("Order created event moved to DLT - key: {}, offset: {}, value: {}",
+                record.key(), record.offset(), record.value());
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.paymentservice.kafka.consumer;
+
+import com.example.commonlib.event.OrderCreatedEvent;
+import com.example.commonlib.kafka.KafkaTopics;
+import com.example.paymentservice.config.ParallelConsumerProperties;
+import com.example.paymentservice.service.PaymentService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.ListenerUtils;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * order-created 레코드를 파티션 수와 무관하게 병렬 처리하는 컨슈머.
+ * 같은 키(orderId 또는 userId)의 레코드는 순서대로 처리되고, 오프셋은 파티션별로
+ * 아직 끝나지 않은 가장 낮은 레코드 직전까지만 커밋된다.
+ * 처리에 실패한 레코드는 order-created-dlt 로 보낸 뒤에야 끝난 것으로 보고, 보내지 못하면 커밋이 그 오프셋에서 멈춘다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "payment.consumer.parallel", name = "enabled", havingValue = "true")
+public class ParallelOrderEventConsumer {
+    public static final String LISTENER_ID = "parallelOrderEventConsumer";
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(ParallelOrderEventConsumer.class);
+
+    private final PaymentService paymentService;
+    private final ParallelConsumerProperties properties;
+    private final ConsumerRecordRecoverer deadLetterRecoverer;
+    private final ExecutorService workers;
+    private final KeyOrderedExecutor keyOrderedExecutor;
+    private final Semaphore inFlightPermits;
+    private final Map<TopicPartition, PartitionOffsetTracker> trackers = new ConcurrentHashMap<>();
+
+    public ParallelOrderEventConsumer(PaymentService paymentService, ParallelConsumerProperties properties,
+                                      ConsumerRecordRecoverer deadLetterRecoverer) {
+        this.paymentService = paymentService;
+        this.properties = properties;
+        this.deadLetterRecoverer = deadLetterRecoverer;
+        this.workers = Executors.newFixedThreadPool(properties.getWorkerThreads());
+        this.keyOrderedExecutor = new KeyOrderedExecutor(workers);
+        this.inFlightPermits = new Semaphore(properties.getMaxInFlight());
+    }
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            topics = KafkaTopics.ORDER_CREATED,
+            groupId = "${spring.application.name}",
+            containerFactory = "parallelOrderListenerContainerFactory",
+            properties = {"enable.auto.commit=false", "max.poll.records=${payment.consumer.parallel.max-poll-records:500}"}
+    )
+    public void handleOrderCreatedEvents(List<ConsumerRecord<String, OrderCreatedEvent>> records, Consumer<?, ?> consumer)
+            throws InterruptedException {
+        for (ConsumerRecord<String, OrderCreatedEvent> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            PartitionOffsetTracker tracker = trackers.computeIfAbsent(partition, p -> new PartitionOffsetTracker());
+            if (record.value() == null) {
+                // ErrorHandlingDeserializer 가 역직렬화에 실패한 레코드를 null 로 넘긴다: 원본 바이트 그대로 DLT 로 보낸다
+                log.error("Undeserializable record at {}-{}@{}", record.topic(), record.partition(), record.offset());
+                tracker.started(record.offset());
+                deadLetter(record, deserializationException(record), tracker);
+                continue;
+            }
+
+            // 처리 중인 레코드가 상한에 도달하면 poll 루프를 멈춰 백프레셔를 건다
+            inFlightPermits.acquire();
+            tracker.started(record.offset());
+
+            keyOrderedExecutor.submit(orderingKey(record), () -> process(record, tracker))
+                    .whenComplete((ignored, error) -> inFlightPermits.release());
+        }
+        commitCompleted(consumer);
+    }
+
+    @EventListener(condition = "event.listenerId.startsWith('" + LISTENER_ID + "')")
+    public void onIdle(ListenerContainerIdleEvent event) {
+        // 새 레코드가 없어도 완료된 오프셋은 커밋한다 (컨슈머 스레드에서 호출됨)
+        commitCompleted(event.getConsumer());
+    }
+
+    /**
+     * 파티션을 내놓기 전에 처리 중인 레코드를 drainTimeout 까지 기다린 뒤 끝난 오프셋을 동기 커밋한다.
+     */
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        long deadline = System.currentTimeMillis() + properties.getDrainTimeout().toMillis();
+        for (TopicPartition partition : partitions) {
+            PartitionOffsetTracker tracker = trackers.get(partition);
+            while (tracker != null && !tracker.isIdle() && System.currentTimeMillis() < deadline) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = collectCommittableOffsets(partitions);
+        if (!offsets.isEmpty()) {
+            consumer.commitSync(offsets);
+        }
+        partitions.forEach(trackers::remove);
+    }
+
+    /**
+     * 같은 키의 다음 레코드는 이 future 가 끝난 뒤 시작하므로, 실패한 레코드의 DLT 발행까지 마친 뒤 완료한다.
+     */
+    private CompletableFuture<Void> process(ConsumerRecord<String, OrderCreatedEvent> record, PartitionOffsetTracker tracker) {
+        OrderCreatedEvent event = record.value();
+        log.info("Received order created event: {}", event);
+        CompletableFuture<Void> payment;
+        try {
+            payment = paymentService.processPaymentAsync(event);
+        } catch (RuntimeException e) {
+            payment = CompletableFuture.failedFuture(e);
+        }
+        return payment.handle((ignored, error) -> error)
+                .thenCompose(error -> {
+                    if (error == null) {
+                        tracker.completed(record.offset());
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    log.error("Failed to process payment for order {}: {}", event.getOrderId(), cause.getMessage(), cause);
+                    // DLT 발행은 전송 결과를 기다리므로 결제를 완료한 스레드가 아닌 작업 풀에서 한다
+                    return CompletableFuture.runAsync(() -> deadLetter(record, cause, tracker), workers);
+                });
+    }
+
+    private void deadLetter(ConsumerRecord<?, ?> record, Throwable cause, PartitionOffsetTracker tracker) {
+        try {
+            deadLetterRecoverer.accept(record, cause instanceof Exception ? (Exception) cause : new IllegalStateException(cause));
+            tracker.completed(record.offset());
+        } catch (RuntimeException e) {
+            // 완료로 표시하지 않으므로 이 오프셋부터는 커밋되지 않고, 재시작이나 리밸런스 뒤 다시 처리된다
+            log.error("Failed to dead-letter record at {}-{}@{}: {}",
+                    record.topic(), record.partition(), record.offset(), e.getMessage(), e);
+        }
+    }
+
+    private static Exception deserializationException(ConsumerRecord<?, ?> record) {
+        DeserializationException e = ListenerUtils.getExceptionFromHeader(
+                record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR);
+        return e != null ? e : new IllegalStateException("Record has no value");
+    }
+
+    private Object orderingKey(ConsumerRecord<String, OrderCreatedEvent> record) {
+        OrderCreatedEvent event = record.value();
+        if (properties.getOrderingKey() == ParallelConsumerProperties.OrderingKey.USER_ID) {
+            return event.getUserId();
+        }
+        return event.getOrderId();
+    }
+
+    private void commitCompleted(Consumer<?, ?> consumer) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = collectCommittableOffsets(trackers.keySet());
+        if (offsets.isEmpty()) {
+            return;
+        }
+        consumer.commitAsync(offsets, (committed, e) -> {
+            if (e != null) {
+                log.warn("Failed to commit offsets {}: {}", committed, e.getMessage());
+            }
+        });
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> collectCommittableOffsets(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            PartitionOffsetTracker tracker = trackers.get(partition);
+            long offset = tracker != null ? tracker.pollCommittableOffset() : -1;
+            if (offset >= 0) {
+                offsets.put(partition, new OffsetAndMetadata(offset));
+            }
+        }
+        return offsets;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
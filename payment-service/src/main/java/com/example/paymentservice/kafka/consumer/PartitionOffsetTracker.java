@@ -0,0 +1,40 @@
+package com.example.paymentservice.kafka.consumer;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 파티션 하나에서 처리 중인 오프셋을 추적한다.
+ * 레코드는 순서와 무관하게 완료될 수 있으며, 커밋 가능한 오프셋은 아직 끝나지 않은 가장 낮은 오프셋이다.
+ * started/committableOffset 은 컨슈머 스레드에서만, completed 는 어느 스레드에서든 호출된다.
+ */
+class PartitionOffsetTracker {
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    private long nextOffset = -1;
+    private long committedOffset = -1;
+
+    void started(long offset) {
+        inFlight.add(offset);
+        nextOffset = Math.max(nextOffset, offset + 1);
+    }
+
+    void completed(long offset) {
+        inFlight.remove(offset);
+    }
+
+    boolean isIdle() {
+        return inFlight.isEmpty();
+    }
+
+    /**
+     * @return 새로 커밋할 오프셋, 이미 커밋된 위치에서 진전이 없으면 -1
+     */
+    long pollCommittableOffset() {
+        Long lowestUnfinished = inFlight.ceiling(Long.MIN_VALUE);
+        long committable = lowestUnfinished != null ? lowestUnfinished : nextOffset;
+        if (committable <= committedOffset) {
+            return -1;
+        }
+        committedOffset = committable;
+        return committable;
+    }
+}
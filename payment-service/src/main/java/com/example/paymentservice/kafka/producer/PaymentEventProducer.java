@@ -2,28 +2,27 @@ package com.example.paymentservice.kafka.producer;
 
 import com.example.commonlib.event.PaymentProcessedEvent;
 import com.example.commonlib.kafka.KafkaTopics;
+import com.example.commonlib.outbox.OutboxPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class PaymentEventProducer {
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxPublisher outboxPublisher;
 
+    /**
+     * 현재 트랜잭션의 outbox 에 이벤트를 기록한다. Kafka 전송은 커밋 이후 outbox 릴레이가 수행한다.
+     */
     public void sendPaymentProcessedEvent(PaymentProcessedEvent event) {
         try {
-            log.info("Sending payment processed event: {}", event);
-            kafkaTemplate.send(KafkaTopics.PAYMENT_PROCESSED, event.getOrderId().toString(), event)
-                    .addCallback(
-                            success -> log.info("Payment event sent successfully for order ID: {}", event.getOrderId()),
-                            failure -> log.error("Failed to send payment event for order ID: {}", event.getOrderId(), failure)
-                    );
+            log.info("Writing payment processed event to outbox: {}", event);
+            outboxPublisher.publish(KafkaTopics.PAYMENT_PROCESSED, event.getOrderId().toString(), event);
         } catch (Exception e) {
-            log.error("Error while sending payment processed event: {}", e.getMessage(), e);
+            log.error("Error while writing payment processed event: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to send payment processed event", e);
         }
     }
-} 
\ No newline at end of file
+}
@@ -1,10 +1,12 @@
 package com.example.paymentservice.model;
 
+import com.example.commonlib.id.TsidIdentifierGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import javax.persistence.*;
@@ -16,10 +18,16 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "payments")
+@Table(name = "payments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payments_order_id", columnNames = "order_id"),
+        indexes = {
+                @Index(name = "idx_payments_user_created", columnList = "user_id, created_at, id"),
+                @Index(name = "idx_payments_user_status_created", columnList = "user_id, status, created_at, id")
+        })
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TsidIdentifierGenerator.NAME)
+    @GenericGenerator(name = TsidIdentifierGenerator.NAME, strategy = TsidIdentifierGenerator.STRATEGY)
     private Long id;
 
     @Column(name = "order_id", nullable = false)
@@ -1,10 +1,12 @@
 package com.example.paymentservice.model;
 
+import com.example.commonlib.id.TsidIdentifierGenerator;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -17,7 +19,8 @@ import java.time.LocalDateTime;
 @Builder
 public class PaymentHistory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TsidIdentifierGenerator.NAME)
+    @GenericGenerator(name = TsidIdentifierGenerator.NAME, strategy = TsidIdentifierGenerator.STRATEGY)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
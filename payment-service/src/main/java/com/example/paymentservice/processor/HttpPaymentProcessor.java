@@ -0,0 +1,87 @@
+package com.example.paymentservice.processor;
+
+import com.example.paymentservice.config.PaymentProcessorProperties;
+import com.example.paymentservice.exception.PaymentException;
+import com.example.paymentservice.model.Payment;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * JDK HttpClient 의 sendAsync 를 사용하는 논블로킹 결제 프로세서 클라이언트.
+ * POST {base-url}/{operation} 에 결제 정보를 보내고
+ * {"approved": true, "transactionId": "...", "message": "..."} 형식의 응답을 기대한다.
+ */
+@Slf4j
+public class HttpPaymentProcessor implements PaymentProcessor {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    public HttpPaymentProcessor(PaymentProcessorProperties properties, ObjectMapper objectMapper) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getHttp().getConnectTimeout())
+                .build();
+        this.objectMapper = objectMapper;
+        this.baseUrl = properties.getHttp().getBaseUrl();
+        this.timeout = properties.getTimeout();
+    }
+
+    @Override
+    public CompletableFuture<PaymentProcessorResult> authorize(Payment payment) {
+        return call("authorize", payment);
+    }
+
+    @Override
+    public CompletableFuture<PaymentProcessorResult> cancel(Payment payment) {
+        return call("cancel", payment);
+    }
+
+    @Override
+    public CompletableFuture<PaymentProcessorResult> refund(Payment payment) {
+        return call("refund", payment);
+    }
+
+    private CompletableFuture<PaymentProcessorResult> call(String operation, Payment payment) {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("paymentId", payment.getId())
+                .put("orderId", payment.getOrderId())
+                .put("amount", payment.getAmount())
+                .put("transactionId", payment.getTransactionId());
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + operation))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> toResult(operation, payment, response));
+    }
+
+    private PaymentProcessorResult toResult(String operation, Payment payment, HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            log.warn("Payment processor {} returned HTTP {} for payment {}", operation, response.statusCode(), payment.getId());
+            return PaymentProcessorResult.declined("Payment processor returned HTTP " + response.statusCode());
+        }
+        try {
+            JsonNode json = objectMapper.readTree(response.body());
+            if (json.path("approved").asBoolean(false)) {
+                return PaymentProcessorResult.approved(json.path("transactionId").asText(null));
+            }
+            return PaymentProcessorResult.declined(json.path("message").asText("Declined by payment processor"));
+        } catch (Exception e) {
+            throw new PaymentException("Invalid payment processor response for " + operation, e);
+        }
+    }
+}
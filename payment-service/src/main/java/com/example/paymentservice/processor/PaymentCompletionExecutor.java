@@ -0,0 +1,72 @@
+package com.example.paymentservice.processor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 프로세서 응답 이후의 결제 완료 단계(DB 트랜잭션, 이벤트 기록)를 실행하는 전용 풀.
+ * 응답을 완료한 스레드(ForkJoinPool.commonPool, JDK 의 단일 지연 스케줄러 스레드, HttpClient 스레드)에서
+ * JDBC 커밋을 하면 느린 DB 가 그 스레드를 공유하는 모든 future 를 멈추게 하므로 여기로 넘긴다.
+ * 큐가 넘치지 않도록 외부 호출 전에 {@link #acquire()} 로 자리를 잡고, 완료 단계가 끝나면 {@link #release()} 한다.
+ */
+public class PaymentCompletionExecutor implements Executor {
+    public static final String METRIC_NAME = "payment.completion";
+
+    private final ThreadPoolExecutor executor;
+    // 실행 중 + 대기 중인 완료 단계 수와 같으므로, 자리를 잡은 작업은 거절되지 않는다
+    private final Semaphore permits;
+
+    public PaymentCompletionExecutor(int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        AtomicInteger sequence = new AtomicInteger();
+        // 완료 단계가 끝나며 자리를 돌려준 스레드가 아직 다음 작업을 꺼내기 전에 새 작업이 들어올 수 있으므로
+        // 큐는 자리 수만큼 잡아 둔다. 실제 대기 건수는 자리 수가 제한한다
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads + queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "payment-completion-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // 자리를 잡지 않고 제출한 경우의 안전장치. 응답을 완료한 스레드에서 대신 실행하지 않는다
+                new ThreadPoolExecutor.AbortPolicy());
+        this.permits = new Semaphore(threads + queueCapacity);
+        new ExecutorServiceMetrics(executor, METRIC_NAME, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * 완료 단계가 들어갈 자리가 날 때까지 호출 스레드를 멈춰, 외부 호출이 완료 풀이 처리할 수 있는 속도를 넘지 않게 한다.
+     */
+    public void acquire() throws InterruptedException {
+        permits.acquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            // 진행 중인 완료 단계가 커밋될 시간을 준다
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
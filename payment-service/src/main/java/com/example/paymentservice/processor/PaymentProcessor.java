@@ -0,0 +1,19 @@
+package com.example.paymentservice.processor;
+
+import com.example.paymentservice.model.Payment;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 외부 결제 시스템 연동 SPI.
+ * 모든 호출은 호출 스레드를 블로킹하지 않고 CompletableFuture 로 결과를 돌려준다.
+ * 응답이 payment.processor.timeout 안에 오지 않으면 future 는 예외로 완료된다.
+ */
+public interface PaymentProcessor {
+
+    CompletableFuture<PaymentProcessorResult> authorize(Payment payment);
+
+    CompletableFuture<PaymentProcessorResult> cancel(Payment payment);
+
+    CompletableFuture<PaymentProcessorResult> refund(Payment payment);
+}
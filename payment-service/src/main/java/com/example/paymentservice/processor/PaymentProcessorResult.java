@@ -0,0 +1,22 @@
+package com.example.paymentservice.processor;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class PaymentProcessorResult {
+    private final boolean approved;
+    private final String transactionId;
+    private final String failureReason;
+
+    public static PaymentProcessorResult approved(String transactionId) {
+        return new PaymentProcessorResult(true, transactionId, null);
+    }
+
+    public static PaymentProcessorResult declined(String failureReason) {
+        return new PaymentProcessorResult(false, null, failureReason);
+    }
+}
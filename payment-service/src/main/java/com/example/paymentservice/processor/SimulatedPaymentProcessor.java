@@ -0,0 +1,76 @@
+package com.example.paymentservice.processor;
+
+import com.example.paymentservice.config.PaymentProcessorProperties;
+import com.example.paymentservice.model.Payment;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 환경에서 외부 결제 시스템을 흉내내는 프로세서.
+ * 지연은 delayedExecutor 로 예약되므로 응답을 기다리는 동안 어떤 스레드도 점유하지 않는다.
+ */
+public class SimulatedPaymentProcessor implements PaymentProcessor {
+
+    // 표준정규분포의 99 분위 z 값
+    private static final double Z_99 = 2.326;
+
+    private final PaymentProcessorProperties.Simulator config;
+    private final long timeoutMillis;
+
+    public SimulatedPaymentProcessor(PaymentProcessorProperties properties) {
+        this.config = properties.getSimulator();
+        this.timeoutMillis = properties.getTimeout().toMillis();
+    }
+
+    @Override
+    public CompletableFuture<PaymentProcessorResult> authorize(Payment payment) {
+        return simulate("authorize", payment);
+    }
+
+    @Override
+    public CompletableFuture<PaymentProcessorResult> cancel(Payment payment) {
+        return simulate("cancel", payment);
+    }
+
+    @Override
+    public CompletableFuture<PaymentProcessorResult> refund(Payment payment) {
+        return simulate("refund", payment);
+    }
+
+    private CompletableFuture<PaymentProcessorResult> simulate(String operation, Payment payment) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        boolean timedOut = random.nextDouble() < config.getTimeoutRate();
+        boolean declined = random.nextDouble() < config.getFailureRate();
+        long latencyMillis = sampleLatencyMillis(random);
+
+        if (timedOut || latencyMillis >= timeoutMillis) {
+            // 타임아웃 안에 응답이 오지 않는 상황: 타임아웃이 지나면 예외로 완료
+            return new CompletableFuture<PaymentProcessorResult>()
+                    .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        return CompletableFuture.supplyAsync(() -> declined
+                        ? PaymentProcessorResult.declined("Simulated " + operation + " declined")
+                        : PaymentProcessorResult.approved(UUID.randomUUID().toString()),
+                CompletableFuture.delayedExecutor(latencyMillis, TimeUnit.MILLISECONDS));
+    }
+
+    private long sampleLatencyMillis(ThreadLocalRandom random) {
+        double mean = config.getMeanLatency().toMillis();
+        switch (config.getLatency()) {
+            case NORMAL:
+                return Math.max(0L, Math.round(mean + random.nextGaussian() * config.getStdDevLatency().toMillis()));
+            case LONG_TAIL:
+                double median = Math.max(1.0, mean);
+                double sigma = Math.log(Math.max(median, config.getP99Latency().toMillis()) / median) / Z_99;
+                return Math.round(median * Math.exp(sigma * random.nextGaussian()));
+            case FIXED:
+            default:
+                return Math.round(mean);
+        }
+    }
+}
@@ -5,8 +5,13 @@ import com.example.paymentservice.model.PaymentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +19,52 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Page<Payment> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
     Page<Payment> findByUserIdAndStatusOrderByCreatedAtDesc(Long userId, PaymentStatus status, Pageable pageable);
     Optional<Payment> findByOrderId(Long orderId);
-} 
\ No newline at end of file
+
+    // 커서 페이지: (created_at, id) 내림차순으로 커서 다음 행부터 읽어 count 없이 깊은 페이지도 첫 페이지와 같은 비용이 든다
+    List<Payment> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+    List<Payment> findByUserIdAndStatusOrderByCreatedAtDescIdDesc(Long userId, PaymentStatus status, Pageable pageable);
+
+    @Query("SELECT p FROM Payment p WHERE p.userId = :userId " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Payment> findByUserIdAfter(@Param("userId") Long userId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
+    @Query("SELECT p FROM Payment p WHERE p.userId = :userId AND p.status = :status " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Payment> findByUserIdAndStatusAfter(@Param("userId") Long userId,
+                                             @Param("status") PaymentStatus status,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    // 상태 조건부 업데이트: expectedStatus 가 아니면 0 을 반환한다
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = :newStatus, p.transactionId = :transactionId, " +
+            "p.failureReason = :failureReason, p.updatedAt = :now " +
+            "WHERE p.id = :id AND p.status = :expectedStatus")
+    int updateStatus(@Param("id") Long id,
+                     @Param("expectedStatus") PaymentStatus expectedStatus,
+                     @Param("newStatus") PaymentStatus newStatus,
+                     @Param("transactionId") String transactionId,
+                     @Param("failureReason") String failureReason,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = com.example.paymentservice.model.PaymentStatus.CANCELLED, " +
+            "p.cancellationReason = :reason, p.cancelledAt = :now, p.updatedAt = :now " +
+            "WHERE p.id = :id AND p.status = :expectedStatus")
+    int markCancelled(@Param("id") Long id,
+                      @Param("expectedStatus") PaymentStatus expectedStatus,
+                      @Param("reason") String reason,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = com.example.paymentservice.model.PaymentStatus.REFUNDED, " +
+            "p.refundedAt = :now, p.updatedAt = :now " +
+            "WHERE p.id = :id AND p.status = com.example.paymentservice.model.PaymentStatus.REFUND_PENDING")
+    int markRefunded(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -4,26 +4,37 @@ import com.example.commonlib.event.OrderCreatedEvent;
 import com.example.commonlib.event.PaymentProcessedEvent;
 import com.example.paymentservice.dto.CreatePaymentRequest;
 import com.example.paymentservice.dto.PaymentDto;
+import com.example.paymentservice.dto.PaymentPageResponse;
 import com.example.paymentservice.dto.RefundRequest;
 import com.example.paymentservice.exception.PaymentException;
+import com.example.paymentservice.idempotency.LongLruSet;
 import com.example.paymentservice.model.Payment;
 import com.example.paymentservice.model.PaymentStatus;
 import com.example.paymentservice.kafka.producer.PaymentEventProducer;
+import com.example.paymentservice.processor.PaymentCompletionExecutor;
+import com.example.paymentservice.processor.PaymentProcessor;
+import com.example.paymentservice.processor.PaymentProcessorResult;
 import com.example.paymentservice.repository.PaymentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,7 +44,13 @@ public class PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final PaymentEventProducer paymentEventProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentProcessor paymentProcessor;
+    private final LongLruSet processedOrderIds;
+    private final PaymentCompletionExecutor completionExecutor;
 
+    // 커서 조회 한 페이지 최대 크기
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
     private static final Set<PaymentStatus> CANCELLABLE_STATUSES = Set.of(
             PaymentStatus.SUCCESS,
             PaymentStatus.PENDING,
@@ -49,43 +66,74 @@ public class PaymentService {
         return Long.parseLong(jwt.getSubject());
     }
 
-    @Transactional
+    /**
+     * 결제를 세 단계로 처리한다.
+     * 1) PROCESSING 상태를 짧은 트랜잭션으로 저장
+     * 2) 트랜잭션 없이 외부 결제 시스템 호출 (DB 커넥션을 점유하지 않음)
+     * 3) 두 번째 짧은 트랜잭션에서 PROCESSING 인 경우에만 SUCCESS/FAILED 로 전이
+     */
     public void processPayment(OrderCreatedEvent event) {
         try {
-            Payment payment = Payment.builder()
+            processPaymentAsync(event).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof PaymentException
+                    ? (PaymentException) e.getCause()
+                    : new PaymentException("Payment processing failed", e.getCause());
+        }
+    }
+
+    /**
+     * {@link #processPayment} 의 논블로킹 버전. 외부 결제 시스템 응답을 기다리는 동안 호출 스레드를 점유하지 않으며,
+     * 3 단계는 응답을 완료한 스레드가 아니라 크기가 정해진 완료 전용 풀에서 실행된다.
+     * 완료 풀의 실행 중 + 대기 자리가 모두 차 있으면 외부 호출 전에 자리가 날 때까지 기다린다.
+     */
+    public CompletableFuture<Void> processPaymentAsync(OrderCreatedEvent event) {
+        // 재전송된 이벤트는 DB 조회 없이 메모리에서 먼저 걸러낸다. 캐시에는 처리 중이거나 결과가 기록된 orderId 만 남는다
+        if (!processedOrderIds.add(event.getOrderId())) {
+            log.info("Duplicate order-created event for order ID: {}, skipping", event.getOrderId());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> processing;
+        try {
+            processing = startPayment(event);
+        } catch (RuntimeException e) {
+            processedOrderIds.remove(event.getOrderId());
+            throw e;
+        }
+        // 결과를 기록하지 못한 실패는 재시도가 캐시에 걸러지지 않도록 제외한다
+        return processing.whenComplete((ignored, error) -> {
+            if (error != null) {
+                processedOrderIds.remove(event.getOrderId());
+            }
+        });
+    }
+
+    private CompletableFuture<Void> startPayment(OrderCreatedEvent event) {
+        Payment payment;
+        try {
+            payment = transactionTemplate.execute(status -> paymentRepository.save(Payment.builder()
                     .orderId(event.getOrderId())
                     .userId(event.getUserId())
                     .amount(event.getTotalAmount())
                     .status(PaymentStatus.PROCESSING)
-                    .build();
-            
-            payment = paymentRepository.save(payment);
+                    .build()));
             log.info("Payment processing started for order ID: {}", event.getOrderId());
-
-            // 결제 처리 로직
-            boolean isPaymentSuccessful = processPaymentWithExternalSystem(payment);
-            
-            if (isPaymentSuccessful) {
-                payment.setStatus(PaymentStatus.SUCCESS);
-                payment = paymentRepository.save(payment);
-                log.info("Payment processed successfully for order ID: {}", event.getOrderId());
-
-                // 성공 이벤트 발행
-                PaymentProcessedEvent successEvent = new PaymentProcessedEvent(
-                        event.getOrderId(),
-                        payment.getId(),
-                        payment.getAmount(),
-                        "SUCCESS",
-                        null
-                );
-                paymentEventProducer.sendPaymentProcessedEvent(successEvent);
-            } else {
-                throw new PaymentException("Payment processing failed");
+        } catch (DataIntegrityViolationException e) {
+            // 캐시에서 밀려났거나 재시작 이후의 중복: payments.order_id unique 제약이 최종 방어선
+            Payment existing = paymentRepository.findByOrderId(event.getOrderId()).orElseThrow(() -> e);
+            if (existing.getStatus() != PaymentStatus.PROCESSING) {
+                log.info("Payment already exists for order ID: {} with status {}, skipping duplicate event",
+                        event.getOrderId(), existing.getStatus());
+                return CompletableFuture.completedFuture(null);
             }
-
+            // 이전 시도가 1 단계 이후 멈췄다 (3 단계 실패, 프로세스 종료): 같은 결제로 2, 3 단계를 다시 진행한다.
+            // 프로세서는 paymentId 기준으로 멱등해야 하고, 3 단계는 PROCESSING 일 때만 전이하므로 결과는 한 번만 기록된다
+            log.info("Resuming payment {} left in PROCESSING for order ID: {}", existing.getId(), event.getOrderId());
+            payment = existing;
         } catch (Exception e) {
             log.error("Payment processing failed for order ID: {}", event.getOrderId(), e);
-            
+
             // 실패 이벤트 발행
             PaymentProcessedEvent failedEvent = new PaymentProcessedEvent(
                     event.getOrderId(),
@@ -94,53 +142,125 @@ public class PaymentService {
                     "FAILED",
                     e.getMessage()
             );
-            paymentEventProducer.sendPaymentProcessedEvent(failedEvent);
-            
-            throw new PaymentException("Payment processing failed", e);
+            failedEvent.correlateWith(event);
+            try {
+                paymentEventProducer.sendPaymentProcessedEvent(failedEvent);
+            } catch (RuntimeException publishError) {
+                publishError.addSuppressed(e);
+                throw publishError;
+            }
+            // 실패 결과가 기록됐으므로 재시도하지 않는다 (재시도가 성공하면 FAILED 뒤에 SUCCESS 가 발행된다)
+            return CompletableFuture.completedFuture(null);
         }
+
+        return authorizeAndComplete(event, payment);
     }
 
-    @Transactional
-    public PaymentDto cancelPayment(Long paymentId, String reason) {
-        Payment payment = paymentRepository.findById(paymentId)
-                .orElseThrow(() -> new PaymentException("Payment not found: " + paymentId));
+    private CompletableFuture<Void> authorizeAndComplete(OrderCreatedEvent event, Payment payment) {
+        try {
+            completionExecutor.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentException("Interrupted while waiting for payment completion capacity", e);
+        }
+        CompletableFuture<PaymentProcessorResult> authorization;
+        try {
+            // 결제 처리 로직 (트랜잭션 밖에서 실행)
+            authorization = paymentProcessor.authorize(payment);
+        } catch (RuntimeException e) {
+            completionExecutor.release();
+            throw e;
+        }
+        return authorization
+                .handle((result, error) -> {
+                    if (error != null) {
+                        log.error("External payment call failed for order ID: {}", event.getOrderId(), error);
+                        return PaymentProcessorResult.declined(describe(error));
+                    }
+                    return result;
+                })
+                .thenAcceptAsync(result -> completePayment(event, payment, result), completionExecutor)
+                .whenComplete((ignored, error) -> completionExecutor.release());
+    }
 
-        // 권한 검증
-        Long currentUserId = getCurrentUserId();
-        if (!payment.getUserId().equals(currentUserId)) {
-            throw new PaymentException("Access denied to payment: " + paymentId);
+    private void completePayment(OrderCreatedEvent event, Payment payment, PaymentProcessorResult result) {
+        PaymentStatus next = result.isApproved() ? PaymentStatus.SUCCESS : PaymentStatus.FAILED;
+        // 상태 전이와 이벤트(outbox) 기록을 같은 트랜잭션으로 커밋한다
+        Boolean transitioned = transactionTemplate.execute(status -> {
+            if (paymentRepository.updateStatus(payment.getId(), PaymentStatus.PROCESSING, next,
+                    result.getTransactionId(), result.getFailureReason(), LocalDateTime.now()) == 0) {
+                return false;
+            }
+            PaymentProcessedEvent processedEvent = new PaymentProcessedEvent(
+                    event.getOrderId(),
+                    payment.getId(),
+                    result.isApproved() ? payment.getAmount() : event.getTotalAmount(),
+                    next.name(),
+                    result.getFailureReason()
+            );
+            processedEvent.correlateWith(event);
+            paymentEventProducer.sendPaymentProcessedEvent(processedEvent);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(transitioned)) {
+            // 처리 중에 다른 요청(예: 취소)이 상태를 먼저 변경한 경우
+            log.warn("Payment {} is no longer PROCESSING, skipping {} transition", payment.getId(), next);
+            return;
         }
 
-        // 상태 검증
-        if (!CANCELLABLE_STATUSES.contains(payment.getStatus())) {
-            throw new PaymentException("Payment cannot be cancelled. Current status: " + payment.getStatus());
+        // 거절도 FAILED 이벤트까지 기록된 정상 결과다. 예외로 끝내면 재시도 토픽으로 넘어가 재시도 실패로 집계된다
+        if (result.isApproved()) {
+            log.info("Payment processed successfully for order ID: {}", event.getOrderId());
+        } else {
+            log.warn("Payment declined for order ID: {}, reason: {}", event.getOrderId(), result.getFailureReason());
         }
+    }
+
+    public PaymentDto cancelPayment(Long paymentId, String reason) {
+        Long currentUserId = getCurrentUserId();
+        Payment payment = transactionTemplate.execute(status -> {
+            Payment found = paymentRepository.findById(paymentId)
+                    .orElseThrow(() -> new PaymentException("Payment not found: " + paymentId));
+
+            // 권한 검증
+            if (!found.getUserId().equals(currentUserId)) {
+                throw new PaymentException("Access denied to payment: " + paymentId);
+            }
+
+            // 상태 검증
+            if (!CANCELLABLE_STATUSES.contains(found.getStatus())) {
+                throw new PaymentException("Payment cannot be cancelled. Current status: " + found.getStatus());
+            }
+            return found;
+        });
 
         try {
-            // 외부 결제 시스템에 취소 요청
-            boolean isCancellationSuccessful = cancelPaymentWithExternalSystem(payment);
-            
-            if (isCancellationSuccessful) {
-                payment.setStatus(PaymentStatus.CANCELLED);
-                payment.setCancellationReason(reason);
-                payment.setCancelledAt(LocalDateTime.now());
-                payment = paymentRepository.save(payment);
-                
+            // 외부 결제 시스템에 취소 요청 (트랜잭션 밖에서 실행)
+            PaymentProcessorResult result = awaitProcessor(paymentProcessor.cancel(payment));
+            if (!result.isApproved()) {
+                throw new PaymentException("Payment cancellation failed with external system: " + result.getFailureReason());
+            }
+
+            Payment cancelled = transactionTemplate.execute(status -> {
+                if (paymentRepository.markCancelled(paymentId, payment.getStatus(), reason, LocalDateTime.now()) == 0) {
+                    throw new PaymentException("Payment status changed during cancellation: " + paymentId);
+                }
+                Payment updated = paymentRepository.findById(paymentId)
+                        .orElseThrow(() -> new PaymentException("Payment not found: " + paymentId));
+
                 // 취소 이벤트 발행
-                PaymentProcessedEvent cancelEvent = new PaymentProcessedEvent(
-                        payment.getOrderId(),
-                        payment.getId(),
-                        payment.getAmount(),
+                paymentEventProducer.sendPaymentProcessedEvent(new PaymentProcessedEvent(
+                        updated.getOrderId(),
+                        updated.getId(),
+                        updated.getAmount(),
                         "CANCELLED",
                         reason
-                );
-                paymentEventProducer.sendPaymentProcessedEvent(cancelEvent);
-                
-                log.info("Payment cancelled successfully - paymentId: {}, reason: {}", paymentId, reason);
-                return convertToDto(payment);
-            } else {
-                throw new PaymentException("Payment cancellation failed with external system");
-            }
+                ));
+                return updated;
+            });
+
+            log.info("Payment cancelled successfully - paymentId: {}, reason: {}", paymentId, reason);
+            return convertToDto(cancelled);
         } catch (Exception e) {
             log.error("Failed to cancel payment: {}", paymentId, e);
             throw new PaymentException("Payment cancellation failed", e);
@@ -188,78 +308,65 @@ public class PaymentService {
         }
     }
 
-    @Transactional
     public PaymentDto processRefund(Long paymentId) {
-        Payment payment = paymentRepository.findById(paymentId)
-                .orElseThrow(() -> new PaymentException("Payment not found: " + paymentId));
+        Payment payment = transactionTemplate.execute(status -> {
+            Payment found = paymentRepository.findById(paymentId)
+                    .orElseThrow(() -> new PaymentException("Payment not found: " + paymentId));
 
-        if (payment.getStatus() != PaymentStatus.REFUND_PENDING) {
-            throw new PaymentException("Payment is not in REFUND_PENDING status: " + paymentId);
-        }
+            if (found.getStatus() != PaymentStatus.REFUND_PENDING) {
+                throw new PaymentException("Payment is not in REFUND_PENDING status: " + paymentId);
+            }
+            return found;
+        });
 
         try {
-            // 외부 시스템에 환불 요청
-            boolean isRefundSuccessful = processRefundWithExternalSystem(payment);
+            // 외부 시스템에 환불 요청 (트랜잭션 밖에서 실행)
+            PaymentProcessorResult result = awaitProcessor(paymentProcessor.refund(payment));
+            if (!result.isApproved()) {
+                throw new PaymentException("Refund processing failed with external system: " + result.getFailureReason());
+            }
 
-            if (isRefundSuccessful) {
-                payment.setStatus(PaymentStatus.REFUNDED);
-                payment.setRefundedAt(LocalDateTime.now());
-                payment = paymentRepository.save(payment);
+            Payment refunded = transactionTemplate.execute(status -> {
+                if (paymentRepository.markRefunded(paymentId, LocalDateTime.now()) == 0) {
+                    throw new PaymentException("Payment status changed during refund: " + paymentId);
+                }
+                Payment updated = paymentRepository.findById(paymentId)
+                        .orElseThrow(() -> new PaymentException("Payment not found: " + paymentId));
 
                 // 환불 완료 이벤트 발행
-                PaymentProcessedEvent refundedEvent = new PaymentProcessedEvent(
-                        payment.getOrderId(),
-                        payment.getId(),
-                        payment.getAmount(),
+                paymentEventProducer.sendPaymentProcessedEvent(new PaymentProcessedEvent(
+                        updated.getOrderId(),
+                        updated.getId(),
+                        updated.getAmount(),
                         "REFUNDED",
-                        payment.getRefundReason()
-                );
-                paymentEventProducer.sendPaymentProcessedEvent(refundedEvent);
-
-                log.info("Refund processed successfully for payment: {}", paymentId);
-                return convertToDto(payment);
-            } else {
-                throw new PaymentException("Refund processing failed with external system");
-            }
+                        updated.getRefundReason()
+                ));
+                return updated;
+            });
+
+            log.info("Refund processed successfully for payment: {}", paymentId);
+            return convertToDto(refunded);
         } catch (Exception e) {
             log.error("Failed to process refund for payment: {}", paymentId, e);
             throw new PaymentException("Failed to process refund", e);
         }
     }
 
-    // 외부 결제 시스템과의 통신을 시뮬레이션하는 메서드
-    private boolean processPaymentWithExternalSystem(Payment payment) {
-        // 실제 구현에서는 외부 결제 시스템과 통신
+    // 동기 API(취소/환불)에서 프로세서 응답을 기다린다. 타임아웃은 프로세서 구현이 보장한다.
+    private PaymentProcessorResult awaitProcessor(CompletableFuture<PaymentProcessorResult> future) {
         try {
-            Thread.sleep(1000); // 결제 처리 시뮬레이션
-            return true;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
-        }
-    }
-
-    // 외부 결제 시스템과의 취소 통신을 시뮬레이션하는 메서드
-    private boolean cancelPaymentWithExternalSystem(Payment payment) {
-        // 실제 구현에서는 외부 결제 시스템과 통신
-        try {
-            Thread.sleep(1000); // 취소 처리 시뮬레이션
-            return true;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
+            return future.join();
+        } catch (CompletionException e) {
+            return PaymentProcessorResult.declined(describe(e.getCause()));
         }
     }
 
-    private boolean processRefundWithExternalSystem(Payment payment) {
-        // 실제 구현에서는 외부 결제 시스템과 통신하여 환불 처리
-        try {
-            Thread.sleep(1000); // 환불 처리 시뮬레이션
-            return true;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
+    private String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return "Payment processor timed out";
         }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
     }
 
     @Transactional(readOnly = true)
@@ -290,6 +397,43 @@ public class PaymentService {
                 .map(this::convertToDto);
     }
 
+    /**
+     * 커서 기반 목록. (user_id[, status], created_at, id) 인덱스를 커서 위치부터 limit + 1 행만 읽으므로
+     * 얼마나 뒤로 넘기든 비용이 같다.
+     *
+     * @param status null 이면 전체 상태
+     * @param after  이전 응답의 nextCursor, 첫 페이지는 null
+     */
+    @Transactional(readOnly = true)
+    public PaymentPageResponse getCurrentUserPayments(PaymentStatus status, String after, int limit) {
+        Long userId = getCurrentUserId();
+        int size = Math.max(1, Math.min(limit, MAX_CURSOR_PAGE_SIZE));
+        // 한 건 더 읽어 다음 페이지가 있는지 판단
+        Pageable firstRows = PageRequest.of(0, size + 1);
+        List<Payment> payments;
+        if (after == null) {
+            payments = status == null
+                    ? paymentRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, firstRows)
+                    : paymentRepository.findByUserIdAndStatusOrderByCreatedAtDescIdDesc(userId, status, firstRows);
+        } else {
+            PaymentCursor cursor = PaymentCursor.decode(after);
+            payments = status == null
+                    ? paymentRepository.findByUserIdAfter(userId, cursor.getCreatedAt(), cursor.getId(), firstRows)
+                    : paymentRepository.findByUserIdAndStatusAfter(userId, status, cursor.getCreatedAt(), cursor.getId(), firstRows);
+        }
+
+        String nextCursor = null;
+        if (payments.size() > size) {
+            payments = payments.subList(0, size);
+            Payment last = payments.get(size - 1);
+            nextCursor = new PaymentCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return PaymentPageResponse.builder()
+                .payments(payments.stream().map(this::convertToDto).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public PaymentDto getPaymentByOrderId(Long orderId) {
         Payment payment = paymentRepository.findByOrderId(orderId)
@@ -0,0 +1,139 @@
+package com.example.paymentservice;
+
+import com.example.commonlib.event.OrderCreatedEvent;
+import com.example.commonlib.kafka.KafkaTopics;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.repository.PaymentRepository;
+import com.example.paymentservice.service.PaymentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커넥션 풀 크기를 바꿔 가며 결제 N 건을 동시에 처리하고 초당 결제 수를 build/reports/payment-load.json 에 기록한다.
+ * 프로세서 호출 동안 커넥션을 잡지 않으므로 처리량은 풀 크기 / 프로세서 지연 에 묶이지 않아야 한다.
+ * <p>
+ * {@code -Dpayment.load.payments=2000 -Dpayment.load.processor-latency=1s} 로 규모를 바꿀 수 있다.
+ */
+@EmbeddedKafka(partitions = 3, topics = {KafkaTopics.ORDER_CREATED, KafkaTopics.PAYMENT_PROCESSED})
+class PaymentThroughputLoadTest {
+    private static final int PAYMENTS = Integer.getInteger("payment.load.payments", 200);
+    private static final Duration PROCESSOR_LATENCY =
+            DurationStyle.detectAndParse(System.getProperty("payment.load.processor-latency", "200ms"));
+    private static final int WARM_UP_PAYMENTS = 50;
+    private static final int[] POOL_SIZES = {2, 10};
+    private static final Path REPORT = Paths.get("build", "reports", "payment-load.json");
+    private static final String JWT_SECRET =
+            "c2VjcmV0LWtleS1mb3ItbWljcm9zZXJ2aWNlcy1wcm9qZWN0LWp3dC10b2tlbi1nZW5lcmF0aW9uLWFuZC12YWxpZGF0aW9u";
+
+    @Test
+    void throughputDoesNotTrackConnectionPoolSize(EmbeddedKafkaBroker broker) throws Exception {
+        List<Map<String, Object>> runs = new ArrayList<>();
+        for (int poolSize : POOL_SIZES) {
+            runs.add(run(broker.getBrokersAsString(), poolSize));
+        }
+        writeReport(runs);
+
+        double poolBound = POOL_SIZES[0] * 1000.0 / PROCESSOR_LATENCY.toMillis();
+        assertThat((double) runs.get(0).get("paymentsPerSecond"))
+                .as("payments/sec with %d connections", POOL_SIZES[0])
+                .isGreaterThan(poolBound * 3);
+    }
+
+    private static Map<String, Object> run(String brokers, int poolSize) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PaymentServiceApplication.class)
+                .properties(properties(brokers, poolSize))
+                .run()) {
+            PaymentService paymentService = context.getBean(PaymentService.class);
+            PaymentRepository paymentRepository = context.getBean(PaymentRepository.class);
+
+            // JIT 와 커넥션 풀이 준비된 뒤부터 잰다
+            pay(paymentService, -1_000_000L, WARM_UP_PAYMENTS);
+
+            long start = System.nanoTime();
+            pay(paymentService, 0, PAYMENTS);
+            long elapsedNanos = System.nanoTime() - start;
+
+            long succeeded = paymentRepository.findAll().stream()
+                    .filter(payment -> payment.getStatus() == PaymentStatus.SUCCESS)
+                    .count();
+            assertThat(succeeded).isEqualTo(WARM_UP_PAYMENTS + PAYMENTS);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("poolSize", poolSize);
+            result.put("payments", PAYMENTS);
+            result.put("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            result.put("paymentsPerSecond", PAYMENTS * 1e9 / elapsedNanos);
+            // 프로세서 호출 동안 커넥션을 잡고 있었다면 넘을 수 없는 값
+            result.put("poolBoundPaymentsPerSecond", poolSize * 1000.0 / PROCESSOR_LATENCY.toMillis());
+            return result;
+        }
+    }
+
+    private static void pay(PaymentService paymentService, long firstOrderId, int count) throws Exception {
+        List<CompletableFuture<Void>> payments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            payments.add(paymentService.processPaymentAsync(
+                    new OrderCreatedEvent(firstOrderId + i, 1L + i % 100, new BigDecimal("49.90"))));
+        }
+        CompletableFuture.allOf(payments.toArray(new CompletableFuture<?>[0])).get(2, TimeUnit.MINUTES);
+    }
+
+    private static String[] properties(String brokers, int poolSize) {
+        return new String[] {
+                // application.yml 대신 아래 설정만 사용한다
+                "spring.config.name=payment-service-load-test",
+                "spring.application.name=payment-service",
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:paymentdb_" + poolSize + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.kafka.bootstrap-servers=" + brokers,
+                "spring.kafka.producer.key-serializer=org.apache.kafka.common.serialization.StringSerializer",
+                "spring.kafka.producer.value-serializer=com.example.commonlib.kafka.codec.BinaryEventSerializer",
+                "spring.kafka.consumer.group-id=payment-group",
+                "spring.kafka.consumer.key-deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+                "spring.kafka.consumer.value-deserializer=com.example.commonlib.kafka.codec.BinaryEventDeserializer",
+                "spring.kafka.listener.missing-topics-fatal=false",
+                "outbox.enabled=true",
+                "payment.processor.type=simulator",
+                "payment.processor.simulator.latency=fixed",
+                "payment.processor.simulator.mean-latency=" + PROCESSOR_LATENCY.toMillis() + "ms",
+                "jwt.algorithm=HS512",
+                "jwt.secret=" + JWT_SECRET,
+                "id-generator.node-id=1",
+                "eureka.client.enabled=false"
+        };
+    }
+
+    private static void writeReport(List<Map<String, Object>> runs) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("processorLatencyMillis", PROCESSOR_LATENCY.toMillis());
+        report.put("runs", runs);
+
+        Files.createDirectories(REPORT.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT.toFile(), report);
+    }
+}
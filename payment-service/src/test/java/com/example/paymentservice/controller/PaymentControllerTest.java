@@ -0,0 +1,67 @@
+package com.example.paymentservice.controller;
+
+import com.example.paymentservice.dto.PaymentPageResponse;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PaymentControllerTest {
+    private PaymentService paymentService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        paymentService = mock(PaymentService.class);
+        when(paymentService.getCurrentUserPayments(any(), any(), anyInt())).thenReturn(new PaymentPageResponse());
+        when(paymentService.getCurrentUserPayments(any(Pageable.class))).thenReturn(Page.empty());
+        mockMvc = MockMvcBuilders.standaloneSetup(new PaymentController(paymentService))
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+    }
+
+    @Test
+    void routesCursorWithoutLimitToCursorPageWithDefaultSize() throws Exception {
+        mockMvc.perform(get("/api/payments").param("after", "cursor")).andExpect(status().isOk());
+
+        verify(paymentService).getCurrentUserPayments(null, "cursor", 20);
+        verify(paymentService, never()).getCurrentUserPayments(any(Pageable.class));
+    }
+
+    @Test
+    void routesCursorAndLimitToCursorPage() throws Exception {
+        mockMvc.perform(get("/api/payments").param("after", "cursor").param("limit", "5")).andExpect(status().isOk());
+
+        verify(paymentService).getCurrentUserPayments(null, "cursor", 5);
+    }
+
+    @Test
+    void routesStatusCursorWithoutLimitToCursorPage() throws Exception {
+        mockMvc.perform(get("/api/payments/status/SUCCESS").param("after", "cursor")).andExpect(status().isOk());
+
+        verify(paymentService).getCurrentUserPayments(PaymentStatus.SUCCESS, "cursor", 20);
+    }
+
+    @Test
+    void keepsOffsetPageWithoutCursorParameters() throws Exception {
+        mockMvc.perform(get("/api/payments").param("page", "1")).andExpect(status().isOk());
+
+        verify(paymentService).getCurrentUserPayments(any(Pageable.class));
+        verify(paymentService, never()).getCurrentUserPayments(any(), anyString(), anyInt());
+    }
+}
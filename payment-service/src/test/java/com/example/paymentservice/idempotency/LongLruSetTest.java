@@ -0,0 +1,90 @@
+package com.example.paymentservice.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongLruSetTest {
+
+    @Test
+    void addReportsWhetherKeyIsNew() {
+        LongLruSet set = new LongLruSet(10, 1);
+
+        assertThat(set.add(42L)).isTrue();
+        assertThat(set.add(42L)).isFalse();
+        assertThat(set.contains(42L)).isTrue();
+        assertThat(set.contains(43L)).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedKeyWhenFull() {
+        LongLruSet set = new LongLruSet(3, 1);
+        set.add(1L);
+        set.add(2L);
+        set.add(3L);
+
+        // 1 을 다시 사용했으므로 가장 오래된 키는 2
+        set.add(1L);
+        set.add(4L);
+
+        assertThat(set.contains(1L)).isTrue();
+        assertThat(set.contains(2L)).isFalse();
+        assertThat(set.contains(3L)).isTrue();
+        assertThat(set.contains(4L)).isTrue();
+        assertThat(set.size()).isEqualTo(3);
+    }
+
+    @Test
+    void removeForgetsKeyAndFreesItsSlot() {
+        LongLruSet set = new LongLruSet(2, 1);
+        set.add(1L);
+        set.add(2L);
+
+        set.remove(1L);
+        set.add(3L);
+
+        assertThat(set.contains(1L)).isFalse();
+        assertThat(set.contains(2L)).isTrue();
+        assertThat(set.contains(3L)).isTrue();
+    }
+
+    @Test
+    void matchesAccessOrderedLinkedHashMapUnderRandomOperations() {
+        int capacity = 64;
+        LongLruSet set = new LongLruSet(capacity, 1);
+        Map<Long, Boolean> reference = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+        Random random = new Random(7);
+
+        for (int i = 0; i < 100_000; i++) {
+            // 좁은 키 범위로 충돌, 재사용, 삭제 후 재삽입이 자주 일어나게 한다
+            long key = random.nextInt(200);
+            if (random.nextInt(4) == 0) {
+                set.remove(key);
+                reference.remove(key);
+            } else {
+                assertThat(set.add(key)).isEqualTo(reference.put(key, Boolean.TRUE) == null);
+            }
+        }
+
+        assertThat(set.size()).isEqualTo(reference.size());
+        for (long key = 0; key < 200; key++) {
+            assertThat(set.contains(key)).as("key %d", key).isEqualTo(reference.containsKey(key));
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThatThrownBy(() -> new LongLruSet(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
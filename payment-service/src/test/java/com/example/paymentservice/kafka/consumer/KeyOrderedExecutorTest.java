@@ -0,0 +1,79 @@
+package com.example.paymentservice.kafka.consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyOrderedExecutorTest {
+    private ExecutorService pool;
+    private KeyOrderedExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+        executor = new KeyOrderedExecutor(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void runsTasksOfTheSameKeyOneAtATimeInSubmissionOrder() throws Exception {
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> first = new CompletableFuture<>();
+
+        executor.submit("order-1", () -> {
+            order.add(1);
+            return first;
+        });
+        CompletableFuture<Void> second = executor.submit("order-1", () -> {
+            order.add(2);
+            return CompletableFuture.completedFuture(null);
+        });
+
+        // 앞 작업의 future 가 끝나기 전에는 다음 작업이 시작되지 않는다
+        Thread.sleep(100);
+        assertThat(order).containsExactly(1);
+
+        first.complete(null);
+        second.get(1, TimeUnit.SECONDS);
+        assertThat(order).containsExactly(1, 2);
+    }
+
+    @Test
+    void runsDifferentKeysConcurrently() throws Exception {
+        CompletableFuture<Void> blocked = new CompletableFuture<>();
+        executor.submit("order-1", () -> blocked);
+
+        CompletableFuture<Void> other = executor.submit("order-2", () -> CompletableFuture.completedFuture(null));
+
+        other.get(1, TimeUnit.SECONDS);
+        assertThat(blocked).isNotDone();
+        blocked.complete(null);
+    }
+
+    @Test
+    void failedTaskDoesNotBlockLaterTasksOfTheSameKey() throws Exception {
+        CompletableFuture<Void> failed = executor.submit("order-1",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("processor down")));
+        CompletableFuture<Void> thrown = executor.submit("order-1", () -> {
+            throw new IllegalStateException("bad record");
+        });
+        CompletableFuture<Void> next = executor.submit("order-1", () -> CompletableFuture.completedFuture(null));
+
+        next.get(1, TimeUnit.SECONDS);
+        assertThat(failed).isCompletedWithValue(null);
+        assertThat(thrown).isCompletedWithValue(null);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.paymentservice.kafka.consumer;
+
+import com.example.commonlib.event.OrderCreatedEvent;
+import com.example.commonlib.kafka.KafkaTopics;
+import com.example.paymentservice.config.ParallelConsumerProperties;
+import com.example.paymentservice.service.PaymentService;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ParallelOrderEventConsumerTest {
+    private static final TopicPartition PARTITION = new TopicPartition(KafkaTopics.ORDER_CREATED, 0);
+
+    private PaymentService paymentService;
+    private ConsumerRecordRecoverer recoverer;
+    private Consumer<?, ?> consumer;
+    private ParallelOrderEventConsumer parallelConsumer;
+
+    @BeforeEach
+    void setUp() {
+        paymentService = mock(PaymentService.class);
+        recoverer = mock(ConsumerRecordRecoverer.class);
+        consumer = mock(Consumer.class);
+        ParallelConsumerProperties properties = new ParallelConsumerProperties();
+        properties.setDrainTimeout(Duration.ofMillis(500));
+        parallelConsumer = new ParallelOrderEventConsumer(paymentService, properties, recoverer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelConsumer.shutdown();
+    }
+
+    @Test
+    void commitsProcessedRecordWithoutDeadLettering() throws Exception {
+        ConsumerRecord<String, OrderCreatedEvent> record = record(0, 1L);
+        when(paymentService.processPaymentAsync(record.value())).thenReturn(CompletableFuture.completedFuture(null));
+
+        parallelConsumer.handleOrderCreatedEvents(List.of(record), consumer);
+        parallelConsumer.onPartitionsRevokedBeforeCommit(consumer, List.of(PARTITION));
+
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(1)));
+        verify(recoverer, never()).accept(any(), any());
+    }
+
+    @Test
+    void commitsFailedRecordOnceDeadLettered() throws Exception {
+        ConsumerRecord<String, OrderCreatedEvent> record = record(0, 1L);
+        when(paymentService.processPaymentAsync(record.value()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("declined")));
+
+        parallelConsumer.handleOrderCreatedEvents(List.of(record), consumer);
+        verify(recoverer, timeout(1000)).accept(eq(record), isA(IllegalStateException.class));
+        parallelConsumer.onPartitionsRevokedBeforeCommit(consumer, List.of(PARTITION));
+
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(1)));
+    }
+
+    @Test
+    void stopsCommittingAtRecordThatCouldNotBeDeadLettered() throws Exception {
+        ConsumerRecord<String, OrderCreatedEvent> failed = record(0, 1L);
+        ConsumerRecord<String, OrderCreatedEvent> processed = record(1, 2L);
+        when(paymentService.processPaymentAsync(failed.value())).thenThrow(new IllegalStateException("declined"));
+        when(paymentService.processPaymentAsync(processed.value())).thenReturn(CompletableFuture.completedFuture(null));
+        doThrow(new KafkaException("DLT unavailable")).when(recoverer).accept(any(), any());
+
+        parallelConsumer.handleOrderCreatedEvents(List.of(failed, processed), consumer);
+        verify(recoverer, timeout(1000)).accept(eq(failed), any());
+        parallelConsumer.onPartitionsRevokedBeforeCommit(consumer, List.of(PARTITION));
+
+        // 0 번은 첫 배치 직후 이미 보고됐으므로 더 커밋할 진전이 없다
+        verify(consumer, never()).commitSync(anyMap());
+    }
+
+    @Test
+    void deadLettersUndeserializableRecordWithOriginalBytes() throws Exception {
+        byte[] data = "garbage".getBytes(StandardCharsets.UTF_8);
+        RecordHeaders headers = new RecordHeaders();
+        SerializationUtils.deserializationException(headers, data, new IllegalArgumentException("Unknown type id"), false);
+        ConsumerRecord<String, OrderCreatedEvent> record = new ConsumerRecord<>(KafkaTopics.ORDER_CREATED, PARTITION.partition(), 0,
+                ConsumerRecord.NO_TIMESTAMP, TimestampType.NO_TIMESTAMP_TYPE, ConsumerRecord.NULL_SIZE, ConsumerRecord.NULL_SIZE,
+                null, null, headers, Optional.empty());
+
+        parallelConsumer.handleOrderCreatedEvents(List.of(record), consumer);
+
+        ArgumentCaptor<Exception> cause = ArgumentCaptor.forClass(Exception.class);
+        verify(recoverer).accept(eq(record), cause.capture());
+        assertThat(cause.getValue()).isInstanceOfSatisfying(DeserializationException.class,
+                e -> assertThat(e.getData()).isEqualTo(data));
+        verify(consumer).commitAsync(eq(Map.of(PARTITION, new OffsetAndMetadata(1))), any());
+        verify(paymentService, never()).processPaymentAsync(any());
+    }
+
+    private static ConsumerRecord<String, OrderCreatedEvent> record(long offset, Long orderId) {
+        OrderCreatedEvent event = new OrderCreatedEvent(orderId, 42L, BigDecimal.TEN);
+        return new ConsumerRecord<>(KafkaTopics.ORDER_CREATED, PARTITION.partition(), offset, orderId.toString(), event);
+    }
+}
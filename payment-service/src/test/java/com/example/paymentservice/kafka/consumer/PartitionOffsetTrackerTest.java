@@ -0,0 +1,44 @@
+package com.example.paymentservice.kafka.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionOffsetTrackerTest {
+    private final PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+
+    @Test
+    void nothingToCommitBeforeAnyRecord() {
+        assertThat(tracker.isIdle()).isTrue();
+        assertThat(tracker.pollCommittableOffset()).isEqualTo(-1);
+    }
+
+    @Test
+    void commitsUpToLowestUnfinishedOffset() {
+        tracker.started(10);
+        tracker.started(11);
+        tracker.started(12);
+
+        // 11, 12 가 먼저 끝나도 10 이 남아 있으면 10 을 넘어 커밋하지 않는다
+        tracker.completed(11);
+        tracker.completed(12);
+        assertThat(tracker.pollCommittableOffset()).isEqualTo(10);
+
+        tracker.completed(10);
+        assertThat(tracker.isIdle()).isTrue();
+        assertThat(tracker.pollCommittableOffset()).isEqualTo(13);
+    }
+
+    @Test
+    void reportsOnlyProgress() {
+        tracker.started(5);
+        tracker.started(6);
+        tracker.completed(5);
+
+        assertThat(tracker.pollCommittableOffset()).isEqualTo(6);
+        assertThat(tracker.pollCommittableOffset()).isEqualTo(-1);
+
+        tracker.completed(6);
+        assertThat(tracker.pollCommittableOffset()).isEqualTo(7);
+    }
+}
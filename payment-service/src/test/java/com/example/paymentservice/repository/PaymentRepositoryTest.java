@@ -0,0 +1,111 @@
+package com.example.paymentservice.repository;
+
+import com.example.commonlib.config.IdGeneratorAutoConfiguration;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// application.yml 의 MySQL 방언 대신 내장 H2 에 맞는 방언을 쓴다
+@DataJpaTest(properties = {
+        "id-generator.node-id=1",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@ImportAutoConfiguration(IdGeneratorAutoConfiguration.class)
+class PaymentRepositoryTest {
+    private static final long USER_ID = 7L;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private List<Payment> expected;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 25; i++) {
+            paymentRepository.save(Payment.builder()
+                    .orderId(1000L + i)
+                    .userId(i % 5 == 4 ? USER_ID + 1 : USER_ID)
+                    .amount(new BigDecimal("49.90"))
+                    .status(i % 2 == 0 ? PaymentStatus.SUCCESS : PaymentStatus.FAILED)
+                    .build());
+        }
+        paymentRepository.flush();
+
+        // @PrePersist 가 찍은 시각 대신 세 건씩 같은 created_at 을 주어 id 로만 순서가 갈리는 경우를 만든다
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM payments ORDER BY order_id", Long.class);
+        for (int i = 0; i < ids.size(); i++) {
+            jdbcTemplate.update("UPDATE payments SET created_at = ? WHERE id = ?", BASE.plusMinutes(i / 3), ids.get(i));
+        }
+        // 영속성 컨텍스트에 남은 이전 created_at 이 조회 결과를 덮지 않도록 비운다
+        entityManager.clear();
+
+        expected = jdbcTemplate.query("SELECT id, created_at, user_id, status FROM payments",
+                (rs, row) -> Payment.builder()
+                        .id(rs.getLong("id"))
+                        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                        .userId(rs.getLong("user_id"))
+                        .status(PaymentStatus.valueOf(rs.getString("status")))
+                        .build())
+                .stream()
+                .filter(payment -> payment.getUserId() == USER_ID)
+                .sorted(Comparator.comparing(Payment::getCreatedAt).thenComparing(Payment::getId).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void keysetPagesVisitEveryPaymentOnceInOrderAcrossTies() {
+        List<Long> visited = new ArrayList<>();
+        List<Payment> page = paymentRepository.findByUserIdOrderByCreatedAtDescIdDesc(USER_ID, PageRequest.of(0, 4));
+        while (!page.isEmpty()) {
+            page.forEach(payment -> visited.add(payment.getId()));
+            Payment last = page.get(page.size() - 1);
+            page = paymentRepository.findByUserIdAfter(USER_ID, last.getCreatedAt(), last.getId(), PageRequest.of(0, 4));
+        }
+
+        assertThat(visited).containsExactlyElementsOf(ids(expected));
+    }
+
+    @Test
+    void statusKeysetPagesOnlyVisitThatStatus() {
+        List<Long> visited = new ArrayList<>();
+        List<Payment> page = paymentRepository.findByUserIdAndStatusOrderByCreatedAtDescIdDesc(
+                USER_ID, PaymentStatus.SUCCESS, PageRequest.of(0, 3));
+        while (!page.isEmpty()) {
+            page.forEach(payment -> visited.add(payment.getId()));
+            Payment last = page.get(page.size() - 1);
+            page = paymentRepository.findByUserIdAndStatusAfter(
+                    USER_ID, PaymentStatus.SUCCESS, last.getCreatedAt(), last.getId(), PageRequest.of(0, 3));
+        }
+
+        assertThat(visited).containsExactlyElementsOf(ids(expected.stream()
+                .filter(payment -> payment.getStatus() == PaymentStatus.SUCCESS)
+                .collect(Collectors.toList())));
+    }
+
+    private static List<Long> ids(List<Payment> payments) {
+        return payments.stream().map(Payment::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.paymentservice.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaymentCursorTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+        String encoded = new PaymentCursor(createdAt, 543_210_987_654L).encode();
+
+        PaymentCursor decoded = PaymentCursor.decode(encoded);
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo(543_210_987_654L);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new PaymentCursor(LocalDateTime.of(2024, 3, 1, 12, 30), Long.MAX_VALUE).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsTamperedCursorWithBadRequest() {
+        assertInvalid("not base64!");
+        assertInvalid(encode("2024-03-01T12:30"));
+        assertInvalid(encode("yesterday|1"));
+        assertInvalid(encode("2024-03-01T12:30|abc"));
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertThatThrownBy(() -> PaymentCursor.decode(cursor))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatus())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
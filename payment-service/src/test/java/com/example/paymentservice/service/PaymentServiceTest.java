@@ -0,0 +1,181 @@
+package com.example.paymentservice.service;
+
+import com.example.commonlib.event.OrderCreatedEvent;
+import com.example.commonlib.event.PaymentProcessedEvent;
+import com.example.paymentservice.idempotency.LongLruSet;
+import com.example.paymentservice.kafka.producer.PaymentEventProducer;
+import com.example.paymentservice.model.Payment;
+import com.example.paymentservice.model.PaymentStatus;
+import com.example.paymentservice.processor.PaymentCompletionExecutor;
+import com.example.paymentservice.processor.PaymentProcessor;
+import com.example.paymentservice.processor.PaymentProcessorResult;
+import com.example.paymentservice.repository.PaymentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentServiceTest {
+    private static final long ORDER_ID = 10L;
+    private static final long PAYMENT_ID = 20L;
+
+    private PaymentRepository paymentRepository;
+    private PaymentEventProducer paymentEventProducer;
+    private PaymentProcessor paymentProcessor;
+    private TransactionTemplate transactionTemplate;
+    private LongLruSet processedOrderIds;
+    private PaymentCompletionExecutor completionExecutor;
+    private PaymentService paymentService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        paymentRepository = mock(PaymentRepository.class);
+        paymentEventProducer = mock(PaymentEventProducer.class);
+        paymentProcessor = mock(PaymentProcessor.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        processedOrderIds = new LongLruSet(100, 1);
+        completionExecutor = new PaymentCompletionExecutor(1, 10, new SimpleMeterRegistry());
+        paymentService = new PaymentService(paymentRepository, paymentEventProducer, transactionTemplate,
+                paymentProcessor, processedOrderIds, completionExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        completionExecutor.shutdown();
+    }
+
+    @Test
+    void resumesPaymentLeftInProcessingWhenOrderIsRedelivered() {
+        when(paymentRepository.save(any())).thenThrow(new DataIntegrityViolationException("uk_payments_order_id"));
+        when(paymentRepository.findByOrderId(ORDER_ID)).thenReturn(Optional.of(payment(PaymentStatus.PROCESSING)));
+        when(paymentProcessor.authorize(any())).thenReturn(CompletableFuture.completedFuture(PaymentProcessorResult.approved("tx-1")));
+        when(paymentRepository.updateStatus(eq(PAYMENT_ID), eq(PaymentStatus.PROCESSING), eq(PaymentStatus.SUCCESS),
+                eq("tx-1"), any(), any())).thenReturn(1);
+
+        paymentService.processPayment(event());
+
+        ArgumentCaptor<PaymentProcessedEvent> published = ArgumentCaptor.forClass(PaymentProcessedEvent.class);
+        verify(paymentEventProducer).sendPaymentProcessedEvent(published.capture());
+        assertThat(published.getValue().getPaymentId()).isEqualTo(PAYMENT_ID);
+        assertThat(published.getValue().getStatus()).isEqualTo("SUCCESS");
+    }
+
+    @Test
+    void skipsRedeliveredOrderWhosePaymentIsFinal() {
+        when(paymentRepository.save(any())).thenThrow(new DataIntegrityViolationException("uk_payments_order_id"));
+        when(paymentRepository.findByOrderId(ORDER_ID)).thenReturn(Optional.of(payment(PaymentStatus.SUCCESS)));
+
+        paymentService.processPayment(event());
+
+        verify(paymentProcessor, never()).authorize(any());
+        verify(paymentEventProducer, never()).sendPaymentProcessedEvent(any());
+    }
+
+    @Test
+    void forgetsOrderIdWhenCompletionFailsSoRetryIsNotDropped() {
+        when(paymentRepository.save(any())).thenReturn(payment(PaymentStatus.PROCESSING));
+        when(paymentProcessor.authorize(any())).thenReturn(CompletableFuture.completedFuture(PaymentProcessorResult.approved("tx-1")));
+        when(paymentRepository.updateStatus(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        assertThatThrownBy(() -> paymentService.processPayment(event()));
+
+        assertThat(processedOrderIds.contains(ORDER_ID)).isFalse();
+    }
+
+    @Test
+    void keepsOrderIdOnceOutcomeIsRecorded() {
+        when(paymentRepository.save(any())).thenReturn(payment(PaymentStatus.PROCESSING));
+        when(paymentProcessor.authorize(any())).thenReturn(CompletableFuture.completedFuture(PaymentProcessorResult.approved("tx-1")));
+        when(paymentRepository.updateStatus(any(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        paymentService.processPayment(event());
+        paymentService.processPayment(event());
+
+        verify(paymentProcessor).authorize(any());
+        assertThat(processedOrderIds.contains(ORDER_ID)).isTrue();
+    }
+
+    @Test
+    void recordedDeclineCompletesNormallyInsteadOfGoingToRetryTopics() {
+        when(paymentRepository.save(any())).thenReturn(payment(PaymentStatus.PROCESSING));
+        when(paymentProcessor.authorize(any())).thenReturn(CompletableFuture.completedFuture(PaymentProcessorResult.declined("Card declined")));
+        when(paymentRepository.updateStatus(eq(PAYMENT_ID), eq(PaymentStatus.PROCESSING), eq(PaymentStatus.FAILED),
+                any(), eq("Card declined"), any())).thenReturn(1);
+
+        paymentService.processPayment(event());
+
+        ArgumentCaptor<PaymentProcessedEvent> published = ArgumentCaptor.forClass(PaymentProcessedEvent.class);
+        verify(paymentEventProducer).sendPaymentProcessedEvent(published.capture());
+        assertThat(published.getValue().getStatus()).isEqualTo("FAILED");
+        assertThat(processedOrderIds.contains(ORDER_ID)).isTrue();
+    }
+
+    @Test
+    @Timeout(5)
+    void waitsForCompletionCapacityBeforeCallingProcessor() {
+        // 스레드 1 + 큐 1 = 동시에 외부 호출 2 건
+        PaymentCompletionExecutor smallExecutor = new PaymentCompletionExecutor(1, 1, new SimpleMeterRegistry());
+        PaymentService service = new PaymentService(paymentRepository, paymentEventProducer, transactionTemplate,
+                paymentProcessor, processedOrderIds, smallExecutor);
+        CompletableFuture<PaymentProcessorResult> response = new CompletableFuture<>();
+        when(paymentRepository.save(any())).thenReturn(payment(PaymentStatus.PROCESSING));
+        when(paymentProcessor.authorize(any())).thenReturn(response);
+        when(paymentRepository.updateStatus(any(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        try {
+            service.processPaymentAsync(event(1L));
+            service.processPaymentAsync(event(2L));
+            CompletableFuture<Void> third = CompletableFuture.runAsync(() -> service.processPaymentAsync(event(3L)).join());
+            verify(paymentProcessor, after(200).times(2)).authorize(any());
+
+            response.complete(PaymentProcessorResult.approved("tx-1"));
+            third.join();
+            verify(paymentProcessor, times(3)).authorize(any());
+        } finally {
+            smallExecutor.shutdown();
+        }
+    }
+
+    private static OrderCreatedEvent event() {
+        return event(ORDER_ID);
+    }
+
+    private static OrderCreatedEvent event(long orderId) {
+        return new OrderCreatedEvent(orderId, 1L, BigDecimal.TEN);
+    }
+
+    private static Payment payment(PaymentStatus status) {
+        return Payment.builder()
+                .id(PAYMENT_ID)
+                .orderId(ORDER_ID)
+                .userId(1L)
+                .amount(BigDecimal.TEN)
+                .status(status)
+                .build();
+    }
+}